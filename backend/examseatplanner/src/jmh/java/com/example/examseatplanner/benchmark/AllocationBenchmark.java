@@ -0,0 +1,78 @@
+package com.example.examseatplanner.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.CheckerboardSeatAllocationEngine;
+import com.example.examseatplanner.allocation.DefaultSeatAllocationEngine;
+import com.example.examseatplanner.allocation.ParallelSeatAllocationEngine;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.allocation.SeatAllocationEngine;
+
+/**
+ * The in-memory part of {@code SeatPlanService.generateAndSaveSeatingPlan}: bucketing the
+ * students into a roster and allocating seats. {@code rosterAndAllocate} is the full step;
+ * {@code allocate} reuses one roster to isolate the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllocationBenchmark {
+
+    @Param({"1000", "10000", "100000", "500000"})
+    int students;
+
+    @Param({"SEQUENTIAL", "PARALLEL", "CHECKERBOARD"})
+    AllocationMode mode;
+
+    private SyntheticExam exam;
+    private Roster roster;
+    private SeatAllocationEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exam = new SyntheticExam(students, 42);
+        roster = exam.roster();
+        engine = switch (mode) {
+            case SEQUENTIAL -> new DefaultSeatAllocationEngine();
+            case PARALLEL -> new ParallelSeatAllocationEngine(0);
+            case CHECKERBOARD -> new CheckerboardSeatAllocationEngine();
+            default -> throw new IllegalArgumentException("Not benchmarked: " + mode);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (engine instanceof ParallelSeatAllocationEngine parallel) {
+            parallel.shutdown();
+        }
+    }
+
+    @Benchmark
+    public SeatAllocation rosterAndAllocate() {
+        return engine.allocate(exam.roster(), exam.rooms);
+    }
+
+    @Benchmark
+    public SeatAllocation allocate() {
+        return engine.allocate(roster, exam.rooms);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.examseatplanner.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.examseatplanner.allocation.DefaultSeatAllocationEngine;
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.dto.RoomPlanDTO;
+import com.example.examseatplanner.mapper.PackedRoomPlanMapper;
+import com.example.examseatplanner.mapper.SeatPlanMapper;
+import com.example.examseatplanner.model.PackedRoomPlan;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The read side of a saved plan, minus the database: mapping rows to DTOs, building the
+ * per-room grids that {@code getSavedSeatingPlanGroupedByRoom} returns from row and packed
+ * storage, and serializing those grids with Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomPlanBenchmark {
+
+    @Param({"1000", "10000", "100000", "500000"})
+    int students;
+
+    private List<SeatingPlan> rows;
+    private List<PackedRoomPlan> packed;
+    private List<RoomPlanDTO> roomPlans;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticExam exam = new SyntheticExam(students, 42);
+        SeatAllocation allocation = new DefaultSeatAllocationEngine().allocate(exam.roster(), exam.rooms);
+        rows = SyntheticExam.rows(1, allocation);
+        roomPlans = SeatPlanMapper.toRoomPlans(rows);
+
+        packed = new ArrayList<>();
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            RoomLayout room = allocation.room(r);
+            String[] programCodes = new String[room.capacity()];
+            int[] semesters = new int[room.capacity()];
+            int[] rolls = new int[room.capacity()];
+            for (int seat = 0; seat < room.capacity(); seat++) {
+                int student = allocation.studentAt(allocation.roomStart(r) + seat);
+                if (student == SeatAllocation.EMPTY) continue;
+                programCodes[seat] = Integer.toString(allocation.roster().program(student));
+                semesters[seat] = allocation.roster().semester(student);
+                rolls[seat] = allocation.roster().roll(student);
+            }
+            packed.add(PackedRoomPlanMapper.toEntity(1, room, programCodes, semesters, rolls));
+        }
+    }
+
+    @Benchmark
+    public void toDTO(Blackhole blackhole) {
+        for (SeatingPlan row : rows) {
+            blackhole.consume(SeatPlanMapper.toDTO(row));
+        }
+    }
+
+    @Benchmark
+    public List<RoomPlanDTO> groupRows() {
+        return SeatPlanMapper.toRoomPlans(rows);
+    }
+
+    @Benchmark
+    public List<RoomPlanDTO> groupPacked() {
+        return packed.stream()
+                .map(p -> SeatPlanMapper.toRoomPlan(p.getRoomNo(), PackedRoomPlanMapper.toDTOs(p)))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roomPlans);
+    }
+}
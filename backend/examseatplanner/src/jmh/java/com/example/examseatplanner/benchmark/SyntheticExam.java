@@ -0,0 +1,71 @@
+package com.example.examseatplanner.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.RosterIndex;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.dto.StudentDTO;
+import com.example.examseatplanner.model.SeatingPlan;
+
+/**
+ * Seeded exam data for the benchmarks: students spread unevenly over program-semester
+ * groups, and rooms of mixed shapes with about a fifth more seats than students.
+ */
+final class SyntheticExam {
+
+    private static final int PROGRAMS = 6;
+
+    final List<Integer> programCodes = new ArrayList<>();
+    final List<StudentDTO> students;
+    final List<RoomLayout> rooms;
+
+    SyntheticExam(int studentCount, long seed) {
+        Random random = new Random(seed);
+        for (int p = 0; p < PROGRAMS; p++) {
+            programCodes.add(1001 + p);
+        }
+
+        students = new ArrayList<>(studentCount);
+        int[] rolls = new int[PROGRAMS * 8];
+        for (int i = 0; i < studentCount; i++) {
+            // skewed towards the first groups, like real intakes
+            int group = Math.min(rolls.length - 1, (int) Math.abs(random.nextGaussian() * rolls.length / 3));
+            students.add(new StudentDTO(programCodes.get(group % PROGRAMS), group / PROGRAMS + 1, ++rolls[group]));
+        }
+
+        rooms = new ArrayList<>();
+        int seats = 0;
+        while (seats < studentCount * 6 / 5) {
+            RoomLayout room = new RoomLayout(100 + rooms.size(),
+                    5 + random.nextInt(26), 2 + random.nextInt(5), 2 + random.nextInt(3));
+            rooms.add(room);
+            seats += room.capacity();
+        }
+    }
+
+    Roster roster() {
+        return RosterIndex.build(programCodes, students).roster();
+    }
+
+    static List<SeatingPlan> rows(Integer examId, SeatAllocation allocation) {
+        Roster roster = allocation.roster();
+        List<SeatingPlan> rows = new ArrayList<>(allocation.placed());
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            RoomLayout room = allocation.room(r);
+            for (int seat = allocation.roomStart(r); seat < allocation.roomEnd(r); seat++) {
+                int student = allocation.studentAt(seat);
+                if (student == SeatAllocation.EMPTY) continue;
+                int local = seat - allocation.roomStart(r);
+                rows.add(new SeatingPlan(rows.size() + 1, examId, room.roomNo().toString(),
+                        room.rowOf(local) + 1, room.columnOf(local) + 1,
+                        Integer.toString(roster.program(student)), roster.semester(student), roster.roll(student),
+                        room.benchSeatOf(local) + 1));
+            }
+        }
+        return rows;
+    }
+}
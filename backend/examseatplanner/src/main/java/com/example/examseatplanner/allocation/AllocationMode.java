@@ -0,0 +1,8 @@
+package com.example.examseatplanner.allocation;
+
+public enum AllocationMode {
+    SEQUENTIAL,
+    PARALLEL,
+    CHECKERBOARD,
+    OPTIMIZED
+}
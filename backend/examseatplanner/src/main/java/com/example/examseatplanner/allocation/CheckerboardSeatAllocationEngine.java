@@ -0,0 +1,185 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Never seats two students of the same (program, semester) next to each other, in front
+ * of or behind each other. A room is a grid of rows by (column, bench seat) positions,
+ * coloured by {@code (x + row) mod k} so cells of one colour never touch. With two colours
+ * this is a checkerboard; more colours make smaller classes, which fit three or more
+ * similar groups better. Every k from two up to the number of groups is tried and the one
+ * seating the most students is used. Each group is given one colour, largest groups first
+ * into the colour with the most free cells, and each colour's cells are filled in
+ * allocation order. Students that do not fit into their group's colour are left unplaced
+ * rather than seated next to each other.
+ */
+@Component
+public class CheckerboardSeatAllocationEngine implements SeatAllocationEngine {
+
+    private static final int MAX_COLOURS = 8;
+
+    @Override
+    public AllocationMode mode() {
+        return AllocationMode.CHECKERBOARD;
+    }
+
+    @Override
+    public SeatAllocation allocate(Roster roster, List<RoomLayout> rooms) {
+        int[] roomOffsets = SeatAllocation.roomOffsets(rooms);
+        int[] seats = new int[roomOffsets[rooms.size()]];
+        Arrays.fill(seats, SeatAllocation.EMPTY);
+
+        Groups groups = Groups.of(roster);
+        int colours = 2;
+        int[] free = freeCells(rooms, colours);
+        int[] colour = groups.colour(free);
+        int fitting = groups.fitting(colour, free);
+        for (int k = 3; k <= Math.min(groups.distinct(), MAX_COLOURS); k++) {
+            free = freeCells(rooms, k);
+            int[] candidate = groups.colour(free);
+            int candidateFitting = groups.fitting(candidate, free);
+            if (candidateFitting > fitting) {
+                colours = k;
+                colour = candidate;
+                fitting = candidateFitting;
+            }
+        }
+
+        int[][] queues = groups.queues(colour, colours);
+        int[] queueAt = new int[colours];
+        int[] head = new int[colours];
+        for (int c = 0; c < colours; c++) {
+            head[c] = queues[c].length > 0 ? roster.groupStart(queues[c][0]) : 0;
+        }
+
+        int placed = 0;
+        for (int r = 0; r < rooms.size(); r++) {
+            RoomLayout room = rooms.get(r);
+            int position = roomOffsets[r];
+            for (int seat = 0; seat < room.capacity(); seat++, position++) {
+                int c = colourOf(room, seat, colours);
+                int[] queue = queues[c];
+                while (queueAt[c] < queue.length && head[c] == roster.groupEnd(queue[queueAt[c]])) {
+                    if (++queueAt[c] < queue.length) {
+                        head[c] = roster.groupStart(queue[queueAt[c]]);
+                    }
+                }
+                if (queueAt[c] == queue.length) {
+                    continue;
+                }
+                seats[position] = head[c]++;
+                placed++;
+            }
+        }
+
+        return new SeatAllocation(roster, rooms, roomOffsets, seats, placed);
+    }
+
+    static int colourOf(RoomLayout room, int seat, int colours) {
+        int x = room.columnOf(seat) * room.seatsPerBench() + room.benchSeatOf(seat);
+        return (x + room.rowOf(seat)) % colours;
+    }
+
+    private static int[] freeCells(List<RoomLayout> rooms, int colours) {
+        int[] free = new int[colours];
+        for (RoomLayout room : rooms) {
+            int width = room.columns() * room.seatsPerBench();
+            for (int row = 0; row < room.rows(); row++) {
+                // a row holds width / colours cells of every colour, plus one more of the first width % colours
+                for (int c = 0; c < colours; c++) {
+                    int first = Math.floorMod(c - row, colours);
+                    free[c] += first < width ? (width - 1 - first) / colours + 1 : 0;
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * The roster's groups by size. Groups sharing a program and semester are sized and
+     * coloured together so they can never meet across colours.
+     */
+    private record Groups(long[] keys, int[] lengths, Map<Long, Integer> sizes, Integer[] bySize) {
+
+        static Groups of(Roster roster) {
+            int groups = roster.groupCount();
+            Map<Long, Integer> sizes = new HashMap<>();
+            long[] keys = new long[groups];
+            int[] lengths = new int[groups];
+            for (int g = 0; g < groups; g++) {
+                int first = roster.groupStart(g);
+                keys[g] = first == roster.groupEnd(g) ? -1 - g
+                        : (long) roster.program(first) << 32 | roster.semester(first);
+                lengths[g] = roster.groupEnd(g) - first;
+                sizes.merge(keys[g], lengths[g], Integer::sum);
+            }
+
+            Integer[] bySize = IntStream.range(0, groups).boxed().toArray(Integer[]::new);
+            Arrays.sort(bySize, Comparator.<Integer>comparingInt(g -> sizes.get(keys[g])).reversed()
+                    .thenComparingInt(g -> g));
+            return new Groups(keys, lengths, sizes, bySize);
+        }
+
+        int distinct() {
+            return sizes.size();
+        }
+
+        /** Colour of every group, given the free cells of each colour. */
+        int[] colour(int[] free) {
+            int[] left = free.clone();
+            Map<Long, Integer> colourOfKey = new HashMap<>();
+            int[] colour = new int[keys.length];
+            for (int g : bySize) {
+                Integer c = colourOfKey.get(keys[g]);
+                if (c == null) {
+                    c = 0;
+                    for (int other = 1; other < left.length; other++) {
+                        if (left[other] > left[c]) {
+                            c = other;
+                        }
+                    }
+                    colourOfKey.put(keys[g], c);
+                    left[c] -= Math.min(left[c], sizes.get(keys[g]));
+                }
+                colour[g] = c;
+            }
+            return colour;
+        }
+
+        /** Students that get a seat under this colouring. */
+        int fitting(int[] colour, int[] free) {
+            int[] wanted = new int[free.length];
+            for (int g : bySize) {
+                wanted[colour[g]] += lengths[g];
+            }
+            int fitting = 0;
+            for (int c = 0; c < free.length; c++) {
+                fitting += Math.min(wanted[c], free[c]);
+            }
+            return fitting;
+        }
+
+        int[][] queues(int[] colour, int colours) {
+            int[] counts = new int[colours];
+            for (int g : bySize) {
+                counts[colour[g]]++;
+            }
+            int[][] queues = new int[colours][];
+            for (int c = 0; c < colours; c++) {
+                queues[c] = new int[counts[c]];
+            }
+            int[] at = new int[colours];
+            for (int g : bySize) {
+                queues[colour[g]][at[colour[g]]++] = g;
+            }
+            return queues;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills rooms in order, column by column and row by row. Every bench seat position is fed
+ * by one roster group; when that group runs dry the position takes the next unused group.
+ */
+@Component
+public class DefaultSeatAllocationEngine implements SeatAllocationEngine {
+
+    private static final int NO_GROUP = -1;
+
+    @Override
+    public AllocationMode mode() {
+        return AllocationMode.SEQUENTIAL;
+    }
+
+    @Override
+    public SeatAllocation allocate(Roster roster, List<RoomLayout> rooms) {
+        return allocate(roster, rooms, rooms.stream().mapToInt(RoomLayout::capacity).toArray());
+    }
+
+    /** Same fill, but room {@code r} takes at most {@code quotas[r]} students. */
+    SeatAllocation allocate(Roster roster, List<RoomLayout> rooms, int[] quotas) {
+        int groups = roster.groupCount();
+        int[] head = new int[groups];
+        int[] end = new int[groups];
+        for (int g = 0; g < groups; g++) {
+            head[g] = roster.groupStart(g);
+            end[g] = roster.groupEnd(g);
+        }
+
+        int[] roomOffsets = SeatAllocation.roomOffsets(rooms);
+        int[] seats = new int[roomOffsets[rooms.size()]];
+        Arrays.fill(seats, SeatAllocation.EMPTY);
+
+        int maxSeatsPerBench = rooms.stream().mapToInt(RoomLayout::seatsPerBench).max().orElse(0);
+        int[] benchGroup = new int[maxSeatsPerBench];
+        int placed = 0;
+
+        for (int r = 0; r < rooms.size(); r++) {
+            RoomLayout room = rooms.get(r);
+            int seatsPerBench = room.seatsPerBench();
+            int benches = room.rows() * room.columns();
+
+            int nextGroup = 0;
+            for (int seat = 0; seat < seatsPerBench; seat++) {
+                benchGroup[seat] = nextGroup < groups ? nextGroup++ : NO_GROUP;
+            }
+
+            int position = roomOffsets[r];
+            int quotaLeft = quotas[r];
+            for (int bench = 0; bench < benches && quotaLeft > 0; bench++) {
+                for (int seat = 0; seat < seatsPerBench && quotaLeft > 0; seat++, position++) {
+                    int g = benchGroup[seat];
+                    if (g == NO_GROUP || head[g] == end[g]) {
+                        if (nextGroup == groups) {
+                            continue;
+                        }
+                        g = nextGroup++;
+                        benchGroup[seat] = g;
+                    }
+                    if (head[g] == end[g]) {
+                        continue;
+                    }
+                    seats[position] = head[g]++;
+                    placed++;
+                    quotaLeft--;
+                }
+            }
+        }
+
+        return new SeatAllocation(roster, rooms, roomOffsets, seats, placed);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.examseatplanner.allocation;
+
+/** Receives each improvement an optimizing engine finds, on the allocating thread. */
+public interface ObjectiveListener {
+
+    ObjectiveListener NONE = new ObjectiveListener() {};
+
+    default void improved(ObjectivePoint point) {}
+}
@@ -0,0 +1,15 @@
+package com.example.examseatplanner.allocation;
+
+/**
+ * One improvement found by the room optimizer: rooms holding students, empty seats left in
+ * those rooms, and the gap between the fullest and emptiest of them as a fill fraction.
+ * {@code spareSeats} is non-zero only for the plan actually seated after the rooms had to
+ * be re-chosen for that many seats beyond the roster.
+ */
+public record ObjectivePoint(
+        long elapsedMicros,
+        int roomsUsed,
+        int emptySeats,
+        double fillSpread,
+        int spareSeats
+) {}
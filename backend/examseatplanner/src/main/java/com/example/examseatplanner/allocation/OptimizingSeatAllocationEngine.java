@@ -0,0 +1,95 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seats an exam in as few rooms as possible, with the chosen rooms filled about equally.
+ * {@link RoomSelectionOptimizer} picks the rooms and quotas within {@code budget-ms}; the
+ * rooms are then filled like {@link DefaultSeatAllocationEngine}, front benches first.
+ *
+ * <p>That fill leaves bench positions empty once their group runs dry, so quotas sized to
+ * the roster can fall short. The rooms are then chosen again for the roster plus spare
+ * seats, doubling the spare each round, and the plan actually seated is reported to the
+ * listener with its spare seats.
+ */
+@Component
+public class OptimizingSeatAllocationEngine implements SeatAllocationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimizingSeatAllocationEngine.class);
+
+    private static final long SEED = 42;
+
+    private final DefaultSeatAllocationEngine fill;
+    private final long budgetMillis;
+
+    public OptimizingSeatAllocationEngine(DefaultSeatAllocationEngine fill,
+                                          @Value("${seatplan.optimizer.budget-ms:200}") long budgetMillis) {
+        this.fill = fill;
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public AllocationMode mode() {
+        return AllocationMode.OPTIMIZED;
+    }
+
+    @Override
+    public SeatAllocation allocate(Roster roster, List<RoomLayout> rooms) {
+        return allocate(roster, rooms, ObjectiveListener.NONE);
+    }
+
+    @Override
+    public SeatAllocation allocate(Roster roster, List<RoomLayout> rooms, ObjectiveListener listener) {
+        long started = System.nanoTime();
+        int students = roster.size();
+        int seats = rooms.stream().mapToInt(RoomLayout::capacity).sum();
+        SeatAllocation allocation = fill.allocate(roster, rooms,
+                new RoomSelectionOptimizer(budgetMillis, SEED).optimize(students, rooms, listener));
+
+        int spare = 0;
+        while (allocation.unplaced() > 0 && students + spare < seats) {
+            spare = Math.min(seats - students, Math.max(2 * spare, allocation.unplaced()));
+            int[] quotas = new RoomSelectionOptimizer(budgetMillis, SEED)
+                    .optimize(students + spare, rooms, ObjectiveListener.NONE);
+            SeatAllocation retry = fill.allocate(roster, rooms, quotas);
+            if (retry.placed() > allocation.placed()) {
+                allocation = retry;
+            }
+        }
+        if (spare > 0) {
+            ObjectivePoint seated = point(started, allocation, spare);
+            logger.info("Room quotas for {} students fell short; chose rooms for {} spare seats: {} rooms, {} placed",
+                    students, spare, seated.roomsUsed(), allocation.placed());
+            listener.improved(seated);
+        }
+        return allocation;
+    }
+
+    private static ObjectivePoint point(long started, SeatAllocation allocation, int spare) {
+        int rooms = 0;
+        int empty = 0;
+        double fullest = 0;
+        double emptiest = 1;
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            int taken = 0;
+            for (int seat = allocation.roomStart(r); seat < allocation.roomEnd(r); seat++) {
+                if (allocation.studentAt(seat) != SeatAllocation.EMPTY) {
+                    taken++;
+                }
+            }
+            if (taken == 0) continue;
+            int capacity = allocation.room(r).capacity();
+            rooms++;
+            empty += capacity - taken;
+            fullest = Math.max(fullest, (double) taken / capacity);
+            emptiest = Math.min(emptiest, (double) taken / capacity);
+        }
+        return new ObjectivePoint((System.nanoTime() - started) / 1_000, rooms, empty,
+                rooms == 0 ? 0 : fullest - emptiest, spare);
+    }
+}
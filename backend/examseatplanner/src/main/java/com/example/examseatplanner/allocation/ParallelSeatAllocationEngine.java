@@ -0,0 +1,231 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Produces the same plan as {@link DefaultSeatAllocationEngine} in two steps. A cheap
+ * sequential pass works out which slice of every group each room takes, skipping over
+ * runs of benches where no bench seat switches group. The rooms are then filled from
+ * those slices concurrently, each at its prefix-sum offset in the shared seat array.
+ */
+@Component
+public class ParallelSeatAllocationEngine implements SeatAllocationEngine {
+
+    private static final int NO_GROUP = -1;
+
+    // seat, first bench, first student, student count
+    private static final int SEGMENT_SIZE = 4;
+
+    private final ForkJoinPool pool;
+
+    public ParallelSeatAllocationEngine(
+            @Value("${seatplan.allocation.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public AllocationMode mode() {
+        return AllocationMode.PARALLEL;
+    }
+
+    @Override
+    public SeatAllocation allocate(Roster roster, List<RoomLayout> rooms) {
+        int[] roomOffsets = SeatAllocation.roomOffsets(rooms);
+        int[] seats = new int[roomOffsets[rooms.size()]];
+
+        Slices slices = plan(roster, rooms);
+        FillRooms fill = new FillRooms(rooms, roomOffsets, slices, seats, 0, rooms.size());
+        if (rooms.size() > 1) {
+            pool.invoke(fill);
+        } else {
+            fill.compute();
+        }
+
+        return new SeatAllocation(roster, rooms, roomOffsets, seats, slices.placed);
+    }
+
+    private Slices plan(Roster roster, List<RoomLayout> rooms) {
+        int groups = roster.groupCount();
+        int[] head = new int[groups];
+        int[] end = new int[groups];
+        for (int g = 0; g < groups; g++) {
+            head[g] = roster.groupStart(g);
+            end[g] = roster.groupEnd(g);
+        }
+
+        int maxSeatsPerBench = rooms.stream().mapToInt(RoomLayout::seatsPerBench).max().orElse(0);
+        int[] benchGroup = new int[maxSeatsPerBench];
+        int[] openBench = new int[maxSeatsPerBench];
+        int[] openStudent = new int[maxSeatsPerBench];
+
+        Slices slices = new Slices(rooms.size(), maxSeatsPerBench + groups);
+
+        for (int r = 0; r < rooms.size(); r++) {
+            RoomLayout room = rooms.get(r);
+            int seatsPerBench = room.seatsPerBench();
+            int benches = room.rows() * room.columns();
+
+            int nextGroup = 0;
+            for (int seat = 0; seat < seatsPerBench; seat++) {
+                int g = nextGroup < groups ? nextGroup++ : NO_GROUP;
+                benchGroup[seat] = g;
+                openBench[seat] = 0;
+                openStudent[seat] = g == NO_GROUP ? 0 : head[g];
+            }
+
+            int bench = 0;
+            while (bench < benches) {
+                boolean switching = false;
+                boolean active = false;
+                int run = benches - bench;
+                for (int seat = 0; seat < seatsPerBench; seat++) {
+                    int g = benchGroup[seat];
+                    if (g == NO_GROUP || head[g] == end[g]) {
+                        if (nextGroup < groups) {
+                            switching = true;
+                            break;
+                        }
+                        continue;
+                    }
+                    active = true;
+                    run = Math.min(run, end[g] - head[g]);
+                }
+
+                if (switching) {
+                    for (int seat = 0; seat < seatsPerBench; seat++) {
+                        int g = benchGroup[seat];
+                        if (g == NO_GROUP || head[g] == end[g]) {
+                            if (nextGroup == groups) {
+                                continue;
+                            }
+                            if (g != NO_GROUP) {
+                                slices.add(seat, openBench[seat], openStudent[seat], head[g] - openStudent[seat]);
+                            }
+                            g = nextGroup++;
+                            benchGroup[seat] = g;
+                            openBench[seat] = bench;
+                            openStudent[seat] = head[g];
+                        }
+                        if (head[g] != end[g]) {
+                            head[g]++;
+                        }
+                    }
+                    bench++;
+                } else if (active) {
+                    for (int seat = 0; seat < seatsPerBench; seat++) {
+                        int g = benchGroup[seat];
+                        if (g != NO_GROUP && head[g] != end[g]) {
+                            head[g] += run;
+                        }
+                    }
+                    bench += run;
+                } else {
+                    break;
+                }
+            }
+
+            for (int seat = 0; seat < seatsPerBench; seat++) {
+                int g = benchGroup[seat];
+                if (g != NO_GROUP) {
+                    slices.add(seat, openBench[seat], openStudent[seat], head[g] - openStudent[seat]);
+                }
+            }
+            slices.endRoom();
+        }
+        return slices;
+    }
+
+    private static final class Slices {
+
+        private int[] segments;
+        private final int[] roomSegments;
+        private int size;
+        private int rooms;
+        private int placed;
+
+        private Slices(int rooms, int segmentsPerRoom) {
+            this.segments = new int[Math.max(rooms * segmentsPerRoom, 1) * SEGMENT_SIZE];
+            this.roomSegments = new int[rooms + 1];
+        }
+
+        private void add(int seat, int bench, int student, int count) {
+            if (count == 0) {
+                return;
+            }
+            if ((size + 1) * SEGMENT_SIZE > segments.length) {
+                segments = Arrays.copyOf(segments, segments.length * 2);
+            }
+            int at = size++ * SEGMENT_SIZE;
+            segments[at] = seat;
+            segments[at + 1] = bench;
+            segments[at + 2] = student;
+            segments[at + 3] = count;
+            placed += count;
+        }
+
+        private void endRoom() {
+            roomSegments[++rooms] = size;
+        }
+    }
+
+    private static final class FillRooms extends RecursiveAction {
+
+        private final List<RoomLayout> rooms;
+        private final int[] roomOffsets;
+        private final Slices slices;
+        private final int[] seats;
+        private final int from;
+        private final int to;
+
+        private FillRooms(List<RoomLayout> rooms, int[] roomOffsets, Slices slices, int[] seats, int from, int to) {
+            this.rooms = rooms;
+            this.roomOffsets = roomOffsets;
+            this.slices = slices;
+            this.seats = seats;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new FillRooms(rooms, roomOffsets, slices, seats, from, mid),
+                        new FillRooms(rooms, roomOffsets, slices, seats, mid, to));
+                return;
+            }
+            for (int r = from; r < to; r++) {
+                fillRoom(r);
+            }
+        }
+
+        private void fillRoom(int r) {
+            int base = roomOffsets[r];
+            int seatsPerBench = rooms.get(r).seatsPerBench();
+            Arrays.fill(seats, base, roomOffsets[r + 1], SeatAllocation.EMPTY);
+
+            int[] segments = slices.segments;
+            for (int s = slices.roomSegments[r]; s < slices.roomSegments[r + 1]; s++) {
+                int at = s * SEGMENT_SIZE;
+                int position = base + segments[at + 1] * seatsPerBench + segments[at];
+                int student = segments[at + 2];
+                for (int i = 0; i < segments[at + 3]; i++, position += seatsPerBench) {
+                    seats[position] = student + i;
+                }
+            }
+        }
+    }
+}
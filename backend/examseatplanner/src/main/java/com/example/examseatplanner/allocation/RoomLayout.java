@@ -0,0 +1,29 @@
+package com.example.examseatplanner.allocation;
+
+public record RoomLayout(
+        Integer roomNo,
+        int rows,
+        int columns,
+        int seatsPerBench
+) {
+
+    public int capacity() {
+        return rows * columns * seatsPerBench;
+    }
+
+    public int rowOf(int seat) {
+        return (seat / seatsPerBench) % rows;
+    }
+
+    public int columnOf(int seat) {
+        return seat / (seatsPerBench * rows);
+    }
+
+    public int benchSeatOf(int seat) {
+        return seat % seatsPerBench;
+    }
+
+    public int seatAt(int row, int column, int benchSeat) {
+        return (column * rows + row) * seatsPerBench + benchSeat;
+    }
+}
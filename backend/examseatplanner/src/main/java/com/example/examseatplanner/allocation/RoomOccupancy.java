@@ -0,0 +1,208 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Taken seats of one room in a stored plan: one bit per seat, in allocation order, plus
+ * the student sitting there. Students are packed as {@code program << 32 | semester << 28
+ * | roll}, so everything above the roll bits identifies the student's group.
+ *
+ * <p>Seat searches do not walk the free seats. The room keeps the benches that are full
+ * and, per group seated in it, the benches closed to that group (full or holding one of
+ * its students), each with a cursor below which every bench is closed. A search is a
+ * {@link BitSet#nextClearBit} from the cursor; placing and releasing a seat update one
+ * bit per group.
+ */
+public final class RoomOccupancy {
+
+    public static final long FREE = -1L;
+    public static final int NO_SEAT = -1;
+
+    private static final int SEMESTER_SHIFT = 28;
+    private static final int ROLL_MASK = (1 << SEMESTER_SHIFT) - 1;
+
+    private RoomLayout layout;
+    private BitSet taken;
+    private long[] occupants;
+    private Benches full;
+    private Map<Long, Benches> closedToGroup;
+
+    public RoomOccupancy(RoomLayout layout) {
+        reset(layout);
+    }
+
+    private void reset(RoomLayout layout) {
+        this.layout = layout;
+        this.taken = new BitSet(layout.capacity());
+        this.occupants = new long[layout.capacity()];
+        Arrays.fill(occupants, FREE);
+        this.full = new Benches(new BitSet(benchCount()));
+        this.closedToGroup = new HashMap<>();
+    }
+
+    public static long student(int program, int semester, int roll) {
+        return (long) program << 32 | (long) semester << SEMESTER_SHIFT | roll;
+    }
+
+    public static int program(long student) {
+        return (int) (student >>> 32);
+    }
+
+    public static int semester(long student) {
+        return (int) (student >>> SEMESTER_SHIFT) & 0xF;
+    }
+
+    public static int roll(long student) {
+        return (int) student & ROLL_MASK;
+    }
+
+    public RoomLayout layout() {
+        return layout;
+    }
+
+    public long occupant(int seat) {
+        return occupants[seat];
+    }
+
+    public void place(int seat, long student) {
+        if (taken.get(seat)) {
+            throw new IllegalStateException("Seat " + seat + " of room " + layout.roomNo() + " is taken");
+        }
+        taken.set(seat);
+        occupants[seat] = student;
+
+        int bench = seat / layout.seatsPerBench();
+        closedToGroup.computeIfAbsent(student >>> SEMESTER_SHIFT, g -> full.copy()).close(bench);
+        if (taken.nextClearBit(firstSeat(bench)) >= firstSeat(bench + 1)) {
+            full.close(bench);
+            for (Benches closed : closedToGroup.values()) {
+                closed.close(bench);
+            }
+        }
+    }
+
+    public long release(int seat) {
+        long student = occupants[seat];
+        taken.clear(seat);
+        occupants[seat] = FREE;
+
+        int bench = seat / layout.seatsPerBench();
+        if (full.isClosed(bench)) {
+            full.open(bench);
+            for (Map.Entry<Long, Benches> entry : closedToGroup.entrySet()) {
+                if (!holdsGroup(bench, entry.getKey())) {
+                    entry.getValue().open(bench);
+                }
+            }
+        } else {
+            long group = student >>> SEMESTER_SHIFT;
+            if (!holdsGroup(bench, group)) {
+                closedToGroup.get(group).open(bench);
+            }
+        }
+        return student;
+    }
+
+    /**
+     * First free seat in allocation order whose bench mates all belong to other groups,
+     * or {@link #NO_SEAT}.
+     */
+    public int findSeat(long student) {
+        return firstFreeSeat(closedToGroup.getOrDefault(student >>> SEMESTER_SHIFT, full));
+    }
+
+    public int firstFreeSeat() {
+        return firstFreeSeat(full);
+    }
+
+    private int firstFreeSeat(Benches closed) {
+        int bench = closed.firstOpen();
+        return bench < benchCount() ? taken.nextClearBit(firstSeat(bench)) : NO_SEAT;
+    }
+
+    public int nextTakenSeat(int from) {
+        int seat = taken.nextSetBit(from);
+        return seat < 0 ? NO_SEAT : seat;
+    }
+
+    private int benchCount() {
+        return layout.rows() * layout.columns();
+    }
+
+    private int firstSeat(int bench) {
+        return bench * layout.seatsPerBench();
+    }
+
+    private boolean holdsGroup(int bench, long group) {
+        for (int seat = taken.nextSetBit(firstSeat(bench)); seat >= 0 && seat < firstSeat(bench + 1);
+                seat = taken.nextSetBit(seat + 1)) {
+            if (occupants[seat] >>> SEMESTER_SHIFT == group) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Switches to a new geometry. Students whose row, column and bench seat still exist keep
+     * them; the others are dropped and returned, in their old seat order, for re-placement.
+     */
+    public long[] resize(RoomLayout newLayout) {
+        RoomLayout oldLayout = layout;
+        BitSet oldTaken = taken;
+        long[] oldOccupants = occupants;
+        reset(newLayout);
+        long[] displaced = new long[oldTaken.cardinality()];
+        int count = 0;
+
+        for (int seat = oldTaken.nextSetBit(0); seat >= 0; seat = oldTaken.nextSetBit(seat + 1)) {
+            int row = oldLayout.rowOf(seat);
+            int column = oldLayout.columnOf(seat);
+            int benchSeat = oldLayout.benchSeatOf(seat);
+            if (row < newLayout.rows() && column < newLayout.columns() && benchSeat < newLayout.seatsPerBench()) {
+                place(newLayout.seatAt(row, column, benchSeat), oldOccupants[seat]);
+            } else {
+                displaced[count++] = oldOccupants[seat];
+            }
+        }
+        return Arrays.copyOf(displaced, count);
+    }
+
+    /** Benches closed to a search; every bench below {@code cursor} is closed. */
+    private static final class Benches {
+
+        private final BitSet closed;
+        private int cursor;
+
+        private Benches(BitSet closed) {
+            this.closed = closed;
+        }
+
+        private Benches copy() {
+            Benches copy = new Benches((BitSet) closed.clone());
+            copy.cursor = cursor;
+            return copy;
+        }
+
+        private boolean isClosed(int bench) {
+            return closed.get(bench);
+        }
+
+        private int firstOpen() {
+            cursor = closed.nextClearBit(cursor);
+            return cursor;
+        }
+
+        private void close(int bench) {
+            closed.set(bench);
+        }
+
+        private void open(int bench) {
+            closed.clear(bench);
+            cursor = Math.min(cursor, bench);
+        }
+    }
+}
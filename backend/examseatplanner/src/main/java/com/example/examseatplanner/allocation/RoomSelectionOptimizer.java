@@ -0,0 +1,163 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Decides which of an exam's rooms to use and how many students each one takes. Fewer rooms
+ * come first, then fewer empty seats in the rooms used. Students are split over the chosen
+ * rooms in proportion to capacity, so every room ends up about equally full.
+ *
+ * <p>Taking the largest rooms first already gives the fewest rooms. A swap search then trades
+ * a chosen room for an unused one while the seats still suffice, keeping the best selection,
+ * until the budget runs out, no seat is left empty, or random restarts stop helping.
+ */
+public final class RoomSelectionOptimizer {
+
+    private static final int MIN_STALE_ROUNDS = 16;
+
+    private final long budgetNanos;
+    private final Random random;
+
+    public RoomSelectionOptimizer(long budgetMillis, long seed) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.random = new Random(seed);
+    }
+
+    /** Returns a student quota per room, in the order of {@code rooms}; unused rooms get 0. */
+    public int[] optimize(int students, List<RoomLayout> rooms, ObjectiveListener listener) {
+        long started = System.nanoTime();
+        int[] capacity = rooms.stream().mapToInt(RoomLayout::capacity).toArray();
+        int m = capacity.length;
+
+        Integer[] bySize = IntStream.range(0, m).boxed().toArray(Integer[]::new);
+        Arrays.sort(bySize, Comparator.<Integer>comparingInt(r -> capacity[r]).reversed());
+        boolean[] used = new boolean[m];
+        int seats = 0;
+        int count = 0;
+        for (int r : bySize) {
+            if (seats >= students) break;
+            used[r] = true;
+            seats += capacity[r];
+            count++;
+        }
+        if (seats < students) {
+            return capacity;
+        }
+
+        boolean[] best = used.clone();
+        int bestSlack = seats - students;
+        listener.improved(point(started, students, capacity, best));
+
+        int[] in = new int[count];
+        int[] out = new int[m - count];
+        int slack = bestSlack;
+        int stale = 0;
+        int staleLimit = Math.max(MIN_STALE_ROUNDS, m * m);
+        while (bestSlack > 0 && out.length > 0 && stale < staleLimit
+                && System.nanoTime() - started < budgetNanos) {
+            split(used, in, out);
+
+            int swapIn = -1;
+            int swapOut = -1;
+            int swapSlack = slack;
+            for (int i : in) {
+                for (int o : out) {
+                    int next = slack - capacity[i] + capacity[o];
+                    if (next >= 0 && next < swapSlack) {
+                        swapSlack = next;
+                        swapIn = i;
+                        swapOut = o;
+                    }
+                }
+            }
+
+            if (swapIn < 0) {
+                // Local optimum: take a random swap that keeps enough seats and search on from there.
+                stale++;
+                int i = in[random.nextInt(in.length)];
+                int o = out[random.nextInt(out.length)];
+                if (slack - capacity[i] + capacity[o] < 0) {
+                    continue;
+                }
+                swapIn = i;
+                swapOut = o;
+                swapSlack = slack - capacity[i] + capacity[o];
+            }
+            used[swapIn] = false;
+            used[swapOut] = true;
+            slack = swapSlack;
+
+            if (slack < bestSlack) {
+                bestSlack = slack;
+                best = used.clone();
+                stale = 0;
+                listener.improved(point(started, students, capacity, best));
+            }
+        }
+
+        return quotas(students, capacity, best);
+    }
+
+    private static void split(boolean[] used, int[] in, int[] out) {
+        int i = 0;
+        int o = 0;
+        for (int r = 0; r < used.length; r++) {
+            if (used[r]) {
+                in[i++] = r;
+            } else {
+                out[o++] = r;
+            }
+        }
+    }
+
+    /** Largest-remainder split of the students in proportion to the capacity of each used room. */
+    static int[] quotas(int students, int[] capacity, boolean[] used) {
+        int m = capacity.length;
+        long seats = 0;
+        for (int r = 0; r < m; r++) {
+            if (used[r]) seats += capacity[r];
+        }
+        int[] quotas = new int[m];
+        long[] remainders = new long[m];
+        int assigned = 0;
+        for (int r = 0; r < m; r++) {
+            if (!used[r]) continue;
+            long share = (long) students * capacity[r];
+            quotas[r] = (int) (share / seats);
+            remainders[r] = share % seats;
+            assigned += quotas[r];
+        }
+        Integer[] byRemainder = IntStream.range(0, m).boxed().toArray(Integer[]::new);
+        Arrays.sort(byRemainder, Comparator.<Integer>comparingLong(r -> remainders[r]).reversed());
+        for (int k = 0; assigned < students && k < m; k++) {
+            int r = byRemainder[k];
+            if (used[r] && quotas[r] < capacity[r]) {
+                quotas[r]++;
+                assigned++;
+            }
+        }
+        return quotas;
+    }
+
+    private static ObjectivePoint point(long started, int students, int[] capacity, boolean[] used) {
+        int[] quotas = quotas(students, capacity, used);
+        int rooms = 0;
+        int empty = 0;
+        double fullest = 0;
+        double emptiest = 1;
+        for (int r = 0; r < capacity.length; r++) {
+            if (!used[r]) continue;
+            rooms++;
+            empty += capacity[r] - quotas[r];
+            double fill = (double) quotas[r] / capacity[r];
+            fullest = Math.max(fullest, fill);
+            emptiest = Math.min(emptiest, fill);
+        }
+        return new ObjectivePoint((System.nanoTime() - started) / 1_000, rooms, empty,
+                rooms == 0 ? 0 : fullest - emptiest, 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+
+/**
+ * Students of an exam packed as (program, semester, roll) triples in one int array.
+ * Students of the same group sit in a contiguous range described by {@code groupOffsets}.
+ */
+public final class Roster {
+
+    public static final int STRIDE = 3;
+
+    private final int[] students;
+    private final int[] groupOffsets;
+
+    public Roster(int[] students, int[] groupOffsets) {
+        if (groupOffsets.length == 0 || groupOffsets[0] != 0) {
+            throw new IllegalArgumentException("Group offsets must start at 0");
+        }
+        if (students.length < groupOffsets[groupOffsets.length - 1] * STRIDE) {
+            throw new IllegalArgumentException("Roster is shorter than its group offsets");
+        }
+        this.students = students;
+        this.groupOffsets = groupOffsets;
+    }
+
+    public static Builder builder(int expectedStudents) {
+        return new Builder(expectedStudents);
+    }
+
+    public int size() {
+        return groupOffsets[groupOffsets.length - 1];
+    }
+
+    public int groupCount() {
+        return groupOffsets.length - 1;
+    }
+
+    public int groupStart(int group) {
+        return groupOffsets[group];
+    }
+
+    public int groupEnd(int group) {
+        return groupOffsets[group + 1];
+    }
+
+    public int program(int student) {
+        return students[student * STRIDE];
+    }
+
+    public int semester(int student) {
+        return students[student * STRIDE + 1];
+    }
+
+    public int roll(int student) {
+        return students[student * STRIDE + 2];
+    }
+
+    public static final class Builder {
+
+        private int[] students;
+        private int[] groupOffsets = new int[8];
+        private int size;
+        private int groups;
+
+        private Builder(int expectedStudents) {
+            this.students = new int[Math.max(expectedStudents, 1) * STRIDE];
+        }
+
+        public Builder add(int program, int semester, int roll) {
+            if ((size + 1) * STRIDE > students.length) {
+                students = Arrays.copyOf(students, students.length * 2);
+            }
+            int i = size++ * STRIDE;
+            students[i] = program;
+            students[i + 1] = semester;
+            students[i + 2] = roll;
+            return this;
+        }
+
+        public Builder endGroup() {
+            if (groups + 2 > groupOffsets.length) {
+                groupOffsets = Arrays.copyOf(groupOffsets, groupOffsets.length * 2);
+            }
+            groupOffsets[++groups] = size;
+            return this;
+        }
+
+        public Roster build() {
+            return new Roster(students, Arrays.copyOf(groupOffsets, groups + 1));
+        }
+    }
+}
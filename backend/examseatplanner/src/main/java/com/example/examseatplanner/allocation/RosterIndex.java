@@ -0,0 +1,121 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.examseatplanner.dto.StudentDTO;
+import com.example.examseatplanner.model.Student;
+
+/**
+ * Buckets students by (programCode, semester) with a counting sort: one pass to count,
+ * one pass to scatter. Groups follow the given program order, then semester order, and
+ * empty buckets are dropped.
+ */
+public final class RosterIndex {
+
+    private static final int SEMESTERS = Student.Semester.values().length;
+
+    private final Roster roster;
+    private final Map<Integer, Integer> programIndex;
+    private final int[] bucketGroups;
+    private final int[] groupPrograms;
+    private final int[] groupSemesters;
+
+    private RosterIndex(Roster roster, Map<Integer, Integer> programIndex, int[] bucketGroups,
+                        int[] groupPrograms, int[] groupSemesters) {
+        this.roster = roster;
+        this.programIndex = programIndex;
+        this.bucketGroups = bucketGroups;
+        this.groupPrograms = groupPrograms;
+        this.groupSemesters = groupSemesters;
+    }
+
+    public static RosterIndex build(List<Integer> programCodes, List<StudentDTO> students) {
+        Map<Integer, Integer> programIndex = new HashMap<>(programCodes.size() * 2);
+        for (Integer programCode : programCodes) {
+            programIndex.putIfAbsent(programCode, programIndex.size());
+        }
+
+        int buckets = programIndex.size() * SEMESTERS;
+        int[] counts = new int[buckets];
+        int[] studentBuckets = new int[students.size()];
+        for (int i = 0; i < students.size(); i++) {
+            StudentDTO s = students.get(i);
+            Integer program = programIndex.get(s.programCode());
+            if (program == null || s.semester() < 1 || s.semester() > SEMESTERS) {
+                studentBuckets[i] = -1;
+                continue;
+            }
+            int bucket = program * SEMESTERS + s.semester() - 1;
+            studentBuckets[i] = bucket;
+            counts[bucket]++;
+        }
+
+        int[] bucketGroups = new int[buckets];
+        int[] bucketCursor = new int[buckets];
+        int[] groupOffsets = new int[buckets + 1];
+        int[] groupPrograms = new int[buckets];
+        int[] groupSemesters = new int[buckets];
+        int groups = 0;
+        int[] programCodeAt = new int[programIndex.size()];
+        programIndex.forEach((code, index) -> programCodeAt[index] = code);
+
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            if (counts[bucket] == 0) {
+                bucketGroups[bucket] = -1;
+                continue;
+            }
+            bucketGroups[bucket] = groups;
+            bucketCursor[bucket] = groupOffsets[groups];
+            groupPrograms[groups] = programCodeAt[bucket / SEMESTERS];
+            groupSemesters[groups] = bucket % SEMESTERS + 1;
+            groupOffsets[groups + 1] = groupOffsets[groups] + counts[bucket];
+            groups++;
+        }
+
+        int[] packed = new int[groupOffsets[groups] * Roster.STRIDE];
+        for (int i = 0; i < students.size(); i++) {
+            int bucket = studentBuckets[i];
+            if (bucket < 0) continue;
+            StudentDTO s = students.get(i);
+            int at = bucketCursor[bucket]++ * Roster.STRIDE;
+            packed[at] = s.programCode();
+            packed[at + 1] = s.semester();
+            packed[at + 2] = s.roll();
+        }
+
+        Roster roster = new Roster(packed, Arrays.copyOf(groupOffsets, groups + 1));
+        return new RosterIndex(roster, programIndex, bucketGroups,
+                Arrays.copyOf(groupPrograms, groups), Arrays.copyOf(groupSemesters, groups));
+    }
+
+    public Roster roster() {
+        return roster;
+    }
+
+    public int groupCount() {
+        return groupPrograms.length;
+    }
+
+    public int groupOf(int programCode, int semester) {
+        Integer program = programIndex.get(programCode);
+        if (program == null || semester < 1 || semester > SEMESTERS) {
+            return -1;
+        }
+        return bucketGroups[program * SEMESTERS + semester - 1];
+    }
+
+    public int groupProgram(int group) {
+        return groupPrograms[group];
+    }
+
+    public int groupSemester(int group) {
+        return groupSemesters[group];
+    }
+
+    public int groupSize(int group) {
+        return roster.groupEnd(group) - roster.groupStart(group);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.List;
+
+/**
+ * Result of an allocation run. Seats of all rooms are laid out back to back in one array,
+ * column by column, row by row, bench seat by bench seat. Each entry holds the roster
+ * index of the student sitting there or {@link #EMPTY}.
+ */
+public final class SeatAllocation {
+
+    public static final int EMPTY = -1;
+
+    private final Roster roster;
+    private final List<RoomLayout> rooms;
+    private final int[] roomOffsets;
+    private final int[] seats;
+    private final int placed;
+
+    public SeatAllocation(Roster roster, List<RoomLayout> rooms, int[] roomOffsets, int[] seats, int placed) {
+        this.roster = roster;
+        this.rooms = rooms;
+        this.roomOffsets = roomOffsets;
+        this.seats = seats;
+        this.placed = placed;
+    }
+
+    public static int[] roomOffsets(List<RoomLayout> rooms) {
+        int[] offsets = new int[rooms.size() + 1];
+        for (int r = 0; r < rooms.size(); r++) {
+            offsets[r + 1] = offsets[r] + rooms.get(r).capacity();
+        }
+        return offsets;
+    }
+
+    public Roster roster() {
+        return roster;
+    }
+
+    public List<RoomLayout> rooms() {
+        return rooms;
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public RoomLayout room(int room) {
+        return rooms.get(room);
+    }
+
+    public int roomStart(int room) {
+        return roomOffsets[room];
+    }
+
+    public int roomEnd(int room) {
+        return roomOffsets[room + 1];
+    }
+
+    public int seatCount() {
+        return seats.length;
+    }
+
+    public int studentAt(int seat) {
+        return seats[seat];
+    }
+
+    public int placed() {
+        return placed;
+    }
+
+    public int unplaced() {
+        return roster.size() - placed;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.List;
+
+public interface SeatAllocationEngine {
+
+    AllocationMode mode();
+
+    SeatAllocation allocate(Roster roster, List<RoomLayout> rooms);
+
+    default SeatAllocation allocate(Roster roster, List<RoomLayout> rooms, ObjectiveListener listener) {
+        return allocate(roster, rooms);
+    }
+}
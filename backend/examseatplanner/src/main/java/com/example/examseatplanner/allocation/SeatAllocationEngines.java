@@ -0,0 +1,35 @@
+package com.example.examseatplanner.allocation;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeatAllocationEngines {
+
+    private final Map<AllocationMode, SeatAllocationEngine> engines = new EnumMap<>(AllocationMode.class);
+    private final AllocationMode defaultMode;
+
+    public SeatAllocationEngines(List<SeatAllocationEngine> engines,
+                                 @Value("${seatplan.allocation.mode:SEQUENTIAL}") AllocationMode defaultMode) {
+        for (SeatAllocationEngine engine : engines) {
+            this.engines.put(engine.mode(), engine);
+        }
+        this.defaultMode = defaultMode;
+    }
+
+    public AllocationMode defaultMode() {
+        return defaultMode;
+    }
+
+    public SeatAllocationEngine get(AllocationMode mode) {
+        SeatAllocationEngine engine = engines.get(mode == null ? defaultMode : mode);
+        if (engine == null) {
+            throw new IllegalArgumentException("No seat allocation engine for mode " + mode);
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.examseatplanner.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+
+/**
+ * Version of each exam's saved plan, bumped after every committed change. Versions start
+ * from the boot time, so tags handed out by an earlier process never match.
+ */
+@Component
+public class PlanVersions {
+
+    private final long bootVersion = System.currentTimeMillis();
+    private final AtomicLong counter = new AtomicLong(bootVersion);
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+
+    public long get(Integer examId) {
+        return versions.getOrDefault(examId, bootVersion);
+    }
+
+    public String etag(Integer examId) {
+        return "\"" + examId + "-" + get(examId) + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatPlanChanged(SeatPlanChangedEvent event) {
+        versions.put(event.examId(), counter.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        versions.put(event.examId(), counter.incrementAndGet());
+    }
+}
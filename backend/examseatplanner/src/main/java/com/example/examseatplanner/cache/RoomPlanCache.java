@@ -0,0 +1,115 @@
+package com.example.examseatplanner.cache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.dto.CacheStatsDTO;
+import com.example.examseatplanner.dto.RoomPlanDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.RoomUpdatedEvent;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+
+/**
+ * Rendered room plans per exam, evicted least-recently-used beyond {@code max-entries}
+ * and expired after {@code ttl-seconds}. Invalidation listens for events after the
+ * publishing transaction commits. A load that overlaps an invalidation is not cached.
+ */
+@Component
+public class RoomPlanCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Integer, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long invalidations;
+
+    public RoomPlanCache(@Value("${seatplan.cache.max-entries:256}") int maxEntries,
+                         @Value("${seatplan.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > RoomPlanCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public List<RoomPlanDTO> get(Integer examId, Function<Integer, List<RoomPlanDTO>> loader) {
+        long seenInvalidations;
+        synchronized (this) {
+            Entry entry = entries.get(examId);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return entry.plans();
+            }
+            if (entry != null) {
+                entries.remove(examId);
+                evictions.increment();
+            }
+            seenInvalidations = invalidations;
+        }
+
+        misses.increment();
+        List<RoomPlanDTO> plans = loader.apply(examId);
+        Set<String> rooms = plans.stream().map(RoomPlanDTO::getRoomNo).collect(Collectors.toSet());
+
+        synchronized (this) {
+            if (seenInvalidations == invalidations && maxEntries > 0) {
+                entries.put(examId, new Entry(plans, rooms, System.nanoTime()));
+            }
+        }
+        return plans;
+    }
+
+    public synchronized void invalidate(Integer examId) {
+        invalidations++;
+        entries.remove(examId);
+    }
+
+    public synchronized void invalidateRoom(Integer roomNo) {
+        invalidations++;
+        String room = roomNo.toString();
+        entries.values().removeIf(entry -> entry.rooms().contains(room));
+    }
+
+    public synchronized CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new CacheStatsDTO(hitCount, missCount, evictions.sum(), entries.size(),
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatPlanChanged(SeatPlanChangedEvent event) {
+        invalidate(event.examId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        invalidate(event.examId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomUpdated(RoomUpdatedEvent event) {
+        invalidateRoom(event.roomNo());
+    }
+
+    private record Entry(List<RoomPlanDTO> plans, Set<String> rooms, long loadedAt) {}
+}
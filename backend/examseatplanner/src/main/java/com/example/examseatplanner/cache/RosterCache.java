@@ -0,0 +1,71 @@
+package com.example.examseatplanner.cache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.dto.CacheStatsDTO;
+import com.example.examseatplanner.dto.StudentDTO;
+import com.example.examseatplanner.event.StudentsChangedEvent;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.StudentRepository;
+
+/**
+ * Students of each (program, semester), kept for dry runs, in the same order generation
+ * reads them. A group is dropped after a change to it commits; the drop waits for a load
+ * of the same group that is still running, so a stale load is never kept.
+ */
+@Component
+public class RosterCache {
+
+    private final StudentRepository studentRepository;
+    private final Map<Long, List<StudentDTO>> groups = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RosterCache(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    public List<StudentDTO> students(Integer programCode, int semester) {
+        requests.increment();
+        return groups.computeIfAbsent(key(programCode, semester), k -> load(programCode, semester));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsChanged(StudentsChangedEvent event) {
+        if (event.programCode() == null || event.semester() == null) {
+            evictions.add(groups.size());
+            groups.clear();
+        } else if (groups.remove(key(event.programCode(), event.semester().ordinal() + 1)) != null) {
+            evictions.increment();
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        long requestCount = requests.sum();
+        long missCount = misses.sum();
+        long hitCount = Math.max(0, requestCount - missCount);
+        return new CacheStatsDTO(hitCount, missCount, evictions.sum(), groups.size(),
+                requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+    }
+
+    private List<StudentDTO> load(Integer programCode, int semester) {
+        misses.increment();
+        return studentRepository.findByProgramCodeAndSemester(programCode, Student.Semester.values()[semester - 1])
+                .stream()
+                .sorted(Comparator.comparing(Student::getStudentId))
+                .map(s -> new StudentDTO(programCode, semester, s.getRoll()))
+                .toList();
+    }
+
+    private static long key(Integer programCode, int semester) {
+        return (long) programCode << 8 | semester;
+    }
+}
@@ -13,14 +13,16 @@ public class DataInitializer implements CommandLineRunner {
 
 //    private final RoomRepository roomRepository;
     private final ProgramRepository programRepository;
+    private final EnrollmentCountRepository enrollmentCountRepository;
 //    private final StudentRepository studentRepository;
 //    private final ExamRepository examRepository;
 //    private final SeatAllocationService seatAllocationService;
 //    private final SeatAllocationDTOService dtoService;
 //    private final SeatRepository seatRepository;
 //
-    public DataInitializer(ProgramRepository programRepository){
+    public DataInitializer(ProgramRepository programRepository, EnrollmentCountRepository enrollmentCountRepository){
         this.programRepository = programRepository;
+        this.enrollmentCountRepository = enrollmentCountRepository;
     }
 //    public DataInitializer(
 //            RoomRepository roomRepository,
@@ -86,6 +88,7 @@ public class DataInitializer implements CommandLineRunner {
         Program bit = new Program("Bachelor in Information Technology", 1004);
 ///
         List<Program> programs = programRepository.saveAll(List.of(bim, bba, bscs, bit));
+        enrollmentCountRepository.seed(programs.stream().map(Program::getProgramCode).toList());
         System.out.printf("✅ Created %d programs%n", programs.size());
 //
 //        // 3. Create Students (reduce numbers to fit capacity)
@@ -1,9 +1,9 @@
 package com.example.examseatplanner.controller;
 
 import com.example.examseatplanner.dto.BulkExamRequestDTO;
+import com.example.examseatplanner.dto.BulkExamResultDTO;
 import com.example.examseatplanner.dto.ExamRequestDTO;
 import com.example.examseatplanner.dto.ExamResponseDTO;
-import com.example.examseatplanner.exception.NoStudentException;
 import com.example.examseatplanner.model.Exam;
 import com.example.examseatplanner.model.Program;
 import com.example.examseatplanner.repository.ExamRepository;
@@ -16,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -55,23 +54,10 @@ public class ExamController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<List<ExamResponseDTO>> createBulkExams(
+    public ResponseEntity<BulkExamResultDTO> createBulkExams(
             @Valid @RequestBody BulkExamRequestDTO request) {
-
-        List<ExamResponseDTO> createdExams = new ArrayList<>();
-
-        for (ExamRequestDTO exam : request.exams()) {
-            try {
-                ExamResponseDTO responseDTO = examService.createExamFromDto(exam);
-                createdExams.add(responseDTO);
-            } catch (NoStudentException e) {
-               throw new NoStudentException(e.getMessage());
-            }catch (RuntimeException e){
-                throw new RuntimeException(e.getMessage());
-            }
-        }
-
-        return ResponseEntity.ok(createdExams);
+        BulkExamResultDTO result = examService.createExams(request.exams());
+        return result.created() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
     }
 
      @GetMapping("/booked-rooms")
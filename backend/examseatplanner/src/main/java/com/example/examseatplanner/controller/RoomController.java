@@ -6,9 +6,11 @@ import com.example.examseatplanner.service.RoomService;
 
 import jakarta.validation.Valid;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 
@@ -71,6 +73,14 @@ public class RoomController {
     }
     
 
+    @GetMapping("/free")
+    public List<RoomResponseDTO> getFreeRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<Integer> roomNumbers) {
+        return roomService.getFreeRooms(startDate, endDate, roomNumbers);
+    }
+
     @GetMapping("/search")
     public List<RoomResponseDTO> getRoomsWithMinCapacity(@RequestParam int minCapacity) {
         return roomService.getRoomsWithMinCapacity(minCapacity);
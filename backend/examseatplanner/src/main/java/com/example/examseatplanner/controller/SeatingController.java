@@ -1,21 +1,37 @@
 package com.example.examseatplanner.controller;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.dto.CacheStatsDTO;
 import com.example.examseatplanner.dto.RoomPlanDTO;
+import com.example.examseatplanner.dto.SeatPlanGenerationDTO;
+import com.example.examseatplanner.dto.SeatPlanJobDTO;
 import com.example.examseatplanner.dto.SeatAssignmentDTO;
+import com.example.examseatplanner.dto.SimulationRequestDTO;
+import com.example.examseatplanner.job.SeatPlanJobService;
+import com.example.examseatplanner.service.SeatPlanBatchService;
 import com.example.examseatplanner.service.SeatPlanService;
+import com.example.examseatplanner.service.SeatPlanSimulationService;
+
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/seating")
@@ -24,17 +40,81 @@ public class SeatingController {
     @Autowired
     private SeatPlanService seatPlanService;
 
+    @Autowired
+    private SeatPlanJobService seatPlanJobService;
+
+    @Autowired
+    private SeatPlanBatchService seatPlanBatchService;
+
+    @Autowired
+    private SeatPlanSimulationService seatPlanSimulationService;
+
    @PostMapping("/generate/{examId}")
-    public ResponseEntity<String> generateAndSavePlan(@PathVariable Integer examId) {
+    public ResponseEntity<?> generateAndSavePlan(@PathVariable Integer examId,
+                                                 @RequestParam(required = false) AllocationMode mode,
+                                                 @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            SeatPlanJobDTO job = seatPlanJobService.submit(examId, mode);
+            return ResponseEntity.accepted()
+                                 .location(URI.create("/api/seating/jobs/" + job.id()))
+                                 .body(job);
+        }
         try {
-            seatPlanService.generateAndSaveSeatingPlan(examId);
-            return ResponseEntity.ok("Successfully generated seat plan");
+            SeatPlanGenerationDTO result = mode == null
+                    ? seatPlanService.generateAndSaveSeatingPlan(examId)
+                    : seatPlanService.generateAndSaveSeatingPlan(examId, mode);
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                  .body("Error generating plan: " + e.getMessage());
         }
     }
 
+    @PostMapping("/generate")
+    public ResponseEntity<?> generateForDateRange(@RequestParam LocalDate startDate,
+                                                  @RequestParam LocalDate endDate,
+                                                  @RequestParam(required = false) AllocationMode mode) {
+        try {
+            return ResponseEntity.ok(seatPlanBatchService.generateForDateRange(startDate, endDate, mode));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                 .body("Error generating plans: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/simulate")
+    public ResponseEntity<?> simulate(@Valid @RequestBody SimulationRequestDTO request) {
+        try {
+            return ResponseEntity.ok(seatPlanSimulationService.simulate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        return seatPlanJobService.get(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("Job not found: " + jobId));
+    }
+
+    @PostMapping("/{examId}/pack")
+    public ResponseEntity<String> packPlan(@PathVariable Integer examId) {
+        try {
+            int rooms = seatPlanService.packSeatingPlan(examId);
+            return ResponseEntity.ok("Packed seat plan of " + rooms + " rooms");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                 .body("Error packing plan: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(seatPlanService.getRoomPlanCacheStats());
+    }
+
     @GetMapping("/{examId}")
     public ResponseEntity<?> getSavedPlan(@PathVariable Integer examId) {
         try {
@@ -46,6 +126,32 @@ public class SeatingController {
         }
     }
 
+    @GetMapping("/{examId}/rooms/{roomNo}")
+    public ResponseEntity<?> getSavedRoomPlan(@PathVariable Integer examId,
+                                              @PathVariable String roomNo,
+                                              WebRequest request) {
+        // Read the version before the plan so a concurrent change can only leave a stale tag.
+        String etag = seatPlanService.getSeatingPlanETag(examId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return seatPlanService.getSavedRoomPlan(examId, roomNo)
+                .<ResponseEntity<?>>map(room -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .body(room))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("Room " + roomNo + " has no seats in the plan of exam " + examId));
+    }
+
+    @GetMapping(value = "/{examId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSavedPlan(@PathVariable Integer examId) {
+        StreamingResponseBody body = out -> seatPlanService.writeSeatingPlanNdjson(examId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<?> searchStudentSeat(
             @RequestParam LocalDate startDate,
@@ -1,8 +1,8 @@
 package com.example.examseatplanner.controller;
 
+import com.example.examseatplanner.dto.StudentCreationResultDTO;
 import com.example.examseatplanner.dto.StudentRequestDTO;
 import com.example.examseatplanner.dto.StudentResponseDTO;
-import com.example.examseatplanner.exception.StudentAlreadyExistException;
 import com.example.examseatplanner.model.Student;
 import com.example.examseatplanner.service.StudentService;
 import jakarta.validation.Valid;
@@ -64,23 +64,16 @@ public class StudentController {
     public ResponseEntity<?> createStudentsBulk(@RequestBody List<StudentRequestDTO> students) {
         List<Map<String, Object>> results = new ArrayList<>();
 
-        for (StudentRequestDTO dto : students) {
+        for (StudentCreationResultDTO created : studentService.createStudents(students)) {
+            StudentRequestDTO dto = created.request();
             Map<String, Object> result = new HashMap<>();
             result.put("programCode", dto.programCode());
             result.put("semester", dto.semester());
             result.put("roll", dto.roll());
-
-            try {
-                StudentResponseDTO saved = studentService.createStudent(dto);
-                result.put("status", "success");
-                result.put("message", "Student created successfully");
-                result.put("studentId", saved.studentId());
-            } catch (StudentAlreadyExistException e) {
-                result.put("status", "error");
-                result.put("message", "Student already exists");
-            } catch (Exception e) {
-                result.put("status", "error");
-                result.put("message", e.getMessage());
+            result.put("status", created.created() ? "success" : "error");
+            result.put("message", created.message());
+            if (created.created()) {
+                result.put("studentId", created.studentId());
             }
 
             results.add(result);
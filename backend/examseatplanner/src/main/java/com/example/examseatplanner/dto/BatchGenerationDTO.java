@@ -0,0 +1,11 @@
+package com.example.examseatplanner.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BatchGenerationDTO(
+        LocalDate startDate,
+        LocalDate endDate,
+        List<ExamBatchResultDTO> exams,
+        List<RoomConflictDTO> conflicts
+) {}
@@ -0,0 +1,8 @@
+package com.example.examseatplanner.dto;
+
+import java.util.List;
+
+public record BulkExamResultDTO(
+        boolean created,
+        List<ExamCreationResultDTO> exams
+) {}
@@ -0,0 +1,9 @@
+package com.example.examseatplanner.dto;
+
+public record CacheStatsDTO(
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        double hitRate
+) {}
@@ -0,0 +1,9 @@
+package com.example.examseatplanner.dto;
+
+public record ExamBatchResultDTO(
+        Integer examId,
+        ExamBatchStatus status,
+        int placed,
+        int unplaced,
+        SeatPlanChangesDTO changes
+) {}
@@ -0,0 +1,7 @@
+package com.example.examseatplanner.dto;
+
+public enum ExamBatchStatus {
+    GENERATED,
+    PARTIAL,
+    ROOM_CONFLICT
+}
@@ -0,0 +1,8 @@
+package com.example.examseatplanner.dto;
+
+public record ExamCreationResultDTO(
+        int index,
+        ExamCreationStatus status,
+        String message,
+        ExamResponseDTO exam
+) {}
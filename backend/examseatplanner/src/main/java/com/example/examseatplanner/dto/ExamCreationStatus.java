@@ -0,0 +1,10 @@
+package com.example.examseatplanner.dto;
+
+public enum ExamCreationStatus {
+    CREATED,
+    VALID,
+    INVALID,
+    NO_STUDENTS,
+    EXCEEDS_CAPACITY,
+    STUDENT_CONFLICT
+}
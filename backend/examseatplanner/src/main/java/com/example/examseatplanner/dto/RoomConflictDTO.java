@@ -0,0 +1,7 @@
+package com.example.examseatplanner.dto;
+
+public record RoomConflictDTO(
+        Integer roomNo,
+        Integer examId,
+        Integer otherExamId
+) {}
@@ -0,0 +1,8 @@
+package com.example.examseatplanner.dto;
+
+public record RoomUtilizationDTO(
+        Integer roomNo,
+        int capacity,
+        int placed,
+        double fill
+) {}
@@ -0,0 +1,8 @@
+package com.example.examseatplanner.dto;
+
+public record SeatPlanChangesDTO(
+        int inserted,
+        int updated,
+        int deleted,
+        int unchanged
+) {}
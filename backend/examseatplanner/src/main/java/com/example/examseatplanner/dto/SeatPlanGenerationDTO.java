@@ -0,0 +1,7 @@
+package com.example.examseatplanner.dto;
+
+public record SeatPlanGenerationDTO(
+        int placed,
+        int unplaced,
+        SeatPlanChangesDTO changes
+) {}
@@ -0,0 +1,22 @@
+package com.example.examseatplanner.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.ObjectivePoint;
+import com.example.examseatplanner.job.JobPhase;
+
+public record SeatPlanJobDTO(
+        String id,
+        Integer examId,
+        AllocationMode mode,
+        JobPhase phase,
+        int placed,
+        int unplaced,
+        SeatPlanChangesDTO changes,
+        String error,
+        Map<JobPhase, Long> phaseMillis,
+        long elapsedMillis,
+        List<ObjectivePoint> objective
+) {}
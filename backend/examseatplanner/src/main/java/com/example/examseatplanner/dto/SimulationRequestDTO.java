@@ -0,0 +1,22 @@
+package com.example.examseatplanner.dto;
+
+import java.util.List;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+public record SimulationRequestDTO(
+        @NotEmpty(message = "Program semester list must not be empty")
+        @Valid
+        List<ProgramSemesterDTO> programSemesters,
+
+        @NotEmpty(message = "Room list must not be empty")
+        List<@NotNull(message = "Room number cannot be null") Integer> roomNumbers,
+
+        AllocationMode mode,
+
+        boolean includeGrid
+) {}
@@ -0,0 +1,24 @@
+package com.example.examseatplanner.dto;
+
+import java.util.List;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+
+/**
+ * Outcome of a dry run. {@code sideBySide} and {@code frontToBack} count neighbouring seat
+ * pairs held by the same program and semester; {@code grid} is only filled on request.
+ */
+public record SimulationResultDTO(
+        AllocationMode mode,
+        int students,
+        int placed,
+        int unplaced,
+        int seats,
+        int roomsUsed,
+        double utilization,
+        List<RoomUtilizationDTO> rooms,
+        int sideBySide,
+        int frontToBack,
+        long elapsedMicros,
+        List<RoomPlanDTO> grid
+) {}
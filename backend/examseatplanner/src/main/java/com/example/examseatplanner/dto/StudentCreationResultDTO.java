@@ -0,0 +1,8 @@
+package com.example.examseatplanner.dto;
+
+public record StudentCreationResultDTO(
+        StudentRequestDTO request,
+        boolean created,
+        String message,
+        Integer studentId
+) {}
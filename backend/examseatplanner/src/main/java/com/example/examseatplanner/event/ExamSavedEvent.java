@@ -0,0 +1,10 @@
+package com.example.examseatplanner.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+
+/** An exam was created or updated; carries what the in-memory indexes need without a reload. */
+public record ExamSavedEvent(Integer examId, LocalDate startDate, LocalDate endDate, List<Integer> roomNumbers,
+                             List<ProgramSemesterDTO> programSemesters) {}
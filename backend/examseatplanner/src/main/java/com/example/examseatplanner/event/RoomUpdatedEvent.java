@@ -0,0 +1,3 @@
+package com.example.examseatplanner.event;
+
+public record RoomUpdatedEvent(Integer roomNo) {}
@@ -0,0 +1,12 @@
+package com.example.examseatplanner.event;
+
+/**
+ * Published when an exam's stored plan changes. {@code incremental} marks changes made
+ * seat by seat by the {@code IncrementalSeatPlanner} rather than by a full generation.
+ */
+public record SeatPlanChangedEvent(Integer examId, boolean incremental) {
+
+    public SeatPlanChangedEvent(Integer examId) {
+        this(examId, false);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.examseatplanner.event;
+
+import com.example.examseatplanner.model.Student;
+
+/** Students of one (program, semester) were added or removed; both null means any group. */
+public record StudentsChangedEvent(Integer programCode, Student.Semester semester) {}
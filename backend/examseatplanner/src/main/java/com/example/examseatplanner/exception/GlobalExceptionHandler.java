@@ -91,4 +91,13 @@ public class GlobalExceptionHandler {
             return ResponseEntity.badRequest().body(errors);
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler(SeatPlanJobConflictException.class)
+    public ResponseEntity<Map<String,String>> handleSeatPlanJobConflictException(
+        SeatPlanJobConflictException ex){
+            logger.warn("Seat plan job rejected {}",ex.getMessage());
+            Map<String,String> errors = new HashMap<>();
+            errors.put("message", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.example.examseatplanner.exception;
+
+public class SeatPlanJobConflictException extends RuntimeException{
+
+    public SeatPlanJobConflictException(String message){
+        super(message);
+    }
+}
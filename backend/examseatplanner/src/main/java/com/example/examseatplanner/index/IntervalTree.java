@@ -0,0 +1,117 @@
+package com.example.examseatplanner.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable centred interval tree over closed intervals. Each node holds the intervals
+ * containing its centre, sorted by start and by end; the centre is the median start, so
+ * every node is non-empty and the depth is logarithmic. A query walks the two boundary
+ * paths and otherwise only visits nodes that report an interval: O(log n + k).
+ */
+public final class IntervalTree {
+
+    public record Interval(int id, long start, long end) {}
+
+    private static final IntervalTree EMPTY = new IntervalTree(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private IntervalTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static IntervalTree build(Collection<Interval> intervals) {
+        if (intervals.isEmpty()) {
+            return EMPTY;
+        }
+        Interval[] byStart = intervals.toArray(Interval[]::new);
+        Arrays.sort(byStart, Comparator.comparingLong(Interval::start));
+        return new IntervalTree(node(Arrays.asList(byStart)), byStart.length);
+    }
+
+    /** Builds one node from intervals already sorted by start. */
+    private static Node node(List<Interval> byStart) {
+        if (byStart.isEmpty()) {
+            return null;
+        }
+        long center = byStart.get(byStart.size() / 2).start();
+        List<Interval> left = new ArrayList<>();
+        List<Interval> here = new ArrayList<>();
+        List<Interval> right = new ArrayList<>();
+        for (Interval interval : byStart) {
+            if (interval.end() < center) {
+                left.add(interval);
+            } else if (interval.start() > center) {
+                right.add(interval);
+            } else {
+                here.add(interval);
+            }
+        }
+        Interval[] starts = here.toArray(Interval[]::new);
+        Interval[] ends = starts.clone();
+        Arrays.sort(ends, Comparator.comparingLong(Interval::end).reversed());
+        return new Node(center, starts, ends, node(left), node(right));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean overlaps(long from, long to) {
+        Node node = root;
+        while (node != null) {
+            if (to < node.center) {
+                if (node.byStart[0].start() <= to) {
+                    return true;
+                }
+                node = node.left;
+            } else if (from > node.center) {
+                if (node.byEnd[0].end() >= from) {
+                    return true;
+                }
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Passes the id of every interval overlapping {@code [from, to]} to {@code action}. */
+    public void forEachOverlap(long from, long to, IntConsumer action) {
+        forEachOverlap(root, from, to, action);
+    }
+
+    private static void forEachOverlap(Node node, long from, long to, IntConsumer action) {
+        while (node != null) {
+            if (to < node.center) {
+                for (Interval interval : node.byStart) {
+                    if (interval.start() > to) break;
+                    action.accept(interval.id());
+                }
+                node = node.left;
+            } else if (from > node.center) {
+                for (Interval interval : node.byEnd) {
+                    if (interval.end() < from) break;
+                    action.accept(interval.id());
+                }
+                node = node.right;
+            } else {
+                for (Interval interval : node.byStart) {
+                    action.accept(interval.id());
+                }
+                forEachOverlap(node.left, from, to, action);
+                node = node.right;
+            }
+        }
+    }
+
+    private record Node(long center, Interval[] byStart, Interval[] byEnd, Node left, Node right) {}
+}
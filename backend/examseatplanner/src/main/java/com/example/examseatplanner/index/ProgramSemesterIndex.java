@@ -0,0 +1,159 @@
+package com.example.examseatplanner.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.ExamSavedEvent;
+import com.example.examseatplanner.index.IntervalTree.Interval;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.ExamRepository;
+
+/**
+ * Exam dates per (program, semester) as one {@link IntervalTree} each, built from
+ * {@code exam_program_semesters} at startup and kept current by exam events after commit,
+ * in the same way as {@link RoomBookingIndex}. Groups are keyed by semester number.
+ */
+@Component
+public class ProgramSemesterIndex {
+
+    private final ExamRepository examRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Booking> exams = new HashMap<>();
+    private final Map<ProgramSemesterDTO, Map<Integer, Interval>> intervalsByGroup = new HashMap<>();
+    private final Map<ProgramSemesterDTO, IntervalTree> groups = new HashMap<>();
+    private volatile boolean loaded;
+
+    public ProgramSemesterIndex(ExamRepository examRepository) {
+        this.examRepository = examRepository;
+    }
+
+    /** Whether any exam of any of the groups falls on a day of the range. */
+    public boolean hasConflict(Collection<ProgramSemesterDTO> programSemesters, LocalDate startDate, LocalDate endDate) {
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay();
+        return read(() -> {
+            for (ProgramSemesterDTO ps : programSemesters) {
+                IntervalTree tree = groups.get(ps);
+                if (tree != null && tree.overlaps(from, to)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            Map<Integer, Booking> bookings = new HashMap<>();
+            for (Object[] row : examRepository.findProgramSemesterBookings()) {
+                Booking booking = bookings.computeIfAbsent((Integer) row[0],
+                        id -> new Booking((LocalDate) row[1], (LocalDate) row[2], new ArrayList<>()));
+                booking.programSemesters().add(
+                        new ProgramSemesterDTO((Integer) row[3], ((Student.Semester) row[4]).ordinal() + 1));
+            }
+            bookings.forEach(this::put);
+            rebuild(new ArrayList<>(intervalsByGroup.keySet()));
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamSaved(ExamSavedEvent event) {
+        update(event.examId(),
+                new Booking(event.startDate(), event.endDate(), List.copyOf(event.programSemesters())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        update(event.examId(), null);
+    }
+
+    /** Ignored until loaded: the load reads the committed change itself. */
+    private void update(Integer examId, Booking booking) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Set<ProgramSemesterDTO> touched = new HashSet<>(remove(examId));
+            if (booking != null) {
+                put(examId, booking);
+                touched.addAll(booking.programSemesters());
+            }
+            rebuild(touched);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Integer examId, Booking booking) {
+        exams.put(examId, booking);
+        Interval interval = new Interval(examId, booking.startDate().toEpochDay(), booking.endDate().toEpochDay());
+        for (ProgramSemesterDTO ps : booking.programSemesters()) {
+            intervalsByGroup.computeIfAbsent(ps, g -> new HashMap<>()).put(examId, interval);
+        }
+    }
+
+    private List<ProgramSemesterDTO> remove(Integer examId) {
+        Booking previous = exams.remove(examId);
+        if (previous == null) {
+            return List.of();
+        }
+        for (ProgramSemesterDTO ps : previous.programSemesters()) {
+            Map<Integer, Interval> intervals = intervalsByGroup.get(ps);
+            if (intervals != null) {
+                intervals.remove(examId);
+            }
+        }
+        return previous.programSemesters();
+    }
+
+    private void rebuild(Collection<ProgramSemesterDTO> programSemesters) {
+        for (ProgramSemesterDTO ps : programSemesters) {
+            Map<Integer, Interval> intervals = intervalsByGroup.get(ps);
+            if (intervals == null || intervals.isEmpty()) {
+                intervalsByGroup.remove(ps);
+                groups.remove(ps);
+            } else {
+                groups.put(ps, IntervalTree.build(intervals.values()));
+            }
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        if (!loaded) {
+            load();
+        }
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Booking(LocalDate startDate, LocalDate endDate, List<ProgramSemesterDTO> programSemesters) {}
+}
@@ -0,0 +1,213 @@
+package com.example.examseatplanner.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.ExamSavedEvent;
+import com.example.examseatplanner.index.IntervalTree.Interval;
+import com.example.examseatplanner.repository.ExamRepository;
+
+/**
+ * Room bookings in memory: an {@link IntervalTree} of exam dates per room and one over all
+ * exams, loaded once at startup and kept current by exam events after commit. A change
+ * rebuilds the trees of the rooms it touches and drops the tree of all exams, which the
+ * next query over all exams rebuilds, so a run of changes costs one rebuild.
+ */
+@Component
+public class RoomBookingIndex {
+
+    private final ExamRepository examRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Booking> exams = new HashMap<>();
+    private final Map<Integer, Map<Integer, Interval>> intervalsByRoom = new HashMap<>();
+    private final Map<Integer, IntervalTree> rooms = new HashMap<>();
+    /** Null after a change until a query needs it. */
+    private IntervalTree all;
+    private volatile boolean loaded;
+
+    public RoomBookingIndex(ExamRepository examRepository) {
+        this.examRepository = examRepository;
+    }
+
+    public boolean isBooked(Integer roomNo, LocalDate startDate, LocalDate endDate) {
+        return read(() -> {
+            IntervalTree tree = rooms.get(roomNo);
+            return tree != null && tree.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+        });
+    }
+
+    /** Rooms of the exams overlapping the range, in room order. */
+    public List<Integer> bookedRooms(LocalDate startDate, LocalDate endDate) {
+        return readAll(all -> {
+            Set<Integer> booked = new TreeSet<>();
+            all.forEachOverlap(startDate.toEpochDay(), endDate.toEpochDay(),
+                    examId -> booked.addAll(exams.get(examId).roomNumbers()));
+            return new ArrayList<>(booked);
+        });
+    }
+
+    /** The given rooms that no exam books on any day of the range, in the given order. */
+    public List<Integer> freeRooms(Collection<Integer> roomNumbers, LocalDate startDate, LocalDate endDate) {
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay();
+        return read(() -> roomNumbers.stream()
+                .filter(roomNo -> {
+                    IntervalTree tree = rooms.get(roomNo);
+                    return tree == null || !tree.overlaps(from, to);
+                })
+                .toList());
+    }
+
+    /** Ids of the exams overlapping the range, in id order. */
+    public List<Integer> overlappingExams(LocalDate startDate, LocalDate endDate) {
+        return readAll(all -> {
+            Set<Integer> examIds = new TreeSet<>();
+            all.forEachOverlap(startDate.toEpochDay(), endDate.toEpochDay(), examIds::add);
+            return new ArrayList<>(examIds);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            Map<Integer, Booking> bookings = new HashMap<>();
+            for (Object[] row : examRepository.findRoomBookings()) {
+                Booking booking = bookings.computeIfAbsent((Integer) row[0],
+                        id -> new Booking((LocalDate) row[1], (LocalDate) row[2], new ArrayList<>()));
+                if (row[3] != null) {
+                    booking.roomNumbers().add((Integer) row[3]);
+                }
+            }
+            bookings.forEach(this::put);
+            rebuild(new ArrayList<>(intervalsByRoom.keySet()));
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamSaved(ExamSavedEvent event) {
+        update(event.examId(), new Booking(event.startDate(), event.endDate(), List.copyOf(event.roomNumbers())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        update(event.examId(), null);
+    }
+
+    /** Ignored until loaded: the load reads the committed change itself. */
+    private void update(Integer examId, Booking booking) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Set<Integer> touched = new TreeSet<>(remove(examId));
+            if (booking != null) {
+                put(examId, booking);
+                touched.addAll(booking.roomNumbers());
+            }
+            rebuild(touched);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Integer examId, Booking booking) {
+        exams.put(examId, booking);
+        Interval interval = new Interval(examId, booking.startDate().toEpochDay(), booking.endDate().toEpochDay());
+        for (Integer roomNo : booking.roomNumbers()) {
+            intervalsByRoom.computeIfAbsent(roomNo, r -> new HashMap<>()).put(examId, interval);
+        }
+    }
+
+    private List<Integer> remove(Integer examId) {
+        Booking previous = exams.remove(examId);
+        if (previous == null) {
+            return List.of();
+        }
+        for (Integer roomNo : previous.roomNumbers()) {
+            Map<Integer, Interval> intervals = intervalsByRoom.get(roomNo);
+            if (intervals != null) {
+                intervals.remove(examId);
+            }
+        }
+        return previous.roomNumbers();
+    }
+
+    private void rebuild(Collection<Integer> roomNumbers) {
+        for (Integer roomNo : roomNumbers) {
+            Map<Integer, Interval> intervals = intervalsByRoom.get(roomNo);
+            if (intervals == null || intervals.isEmpty()) {
+                intervalsByRoom.remove(roomNo);
+                rooms.remove(roomNo);
+            } else {
+                rooms.put(roomNo, IntervalTree.build(intervals.values()));
+            }
+        }
+        all = null;
+    }
+
+    /** Runs a query over all exams, first rebuilding their tree if a change dropped it. */
+    private <T> T readAll(Function<IntervalTree, T> query) {
+        if (!loaded) {
+            load();
+        }
+        lock.readLock().lock();
+        try {
+            if (all == null) {
+                lock.readLock().unlock();
+                lock.writeLock().lock();
+                try {
+                    if (all == null) {
+                        List<Interval> intervals = new ArrayList<>(exams.size());
+                        exams.forEach((examId, booking) -> intervals.add(
+                                new Interval(examId, booking.startDate().toEpochDay(), booking.endDate().toEpochDay())));
+                        all = IntervalTree.build(intervals);
+                    }
+                    lock.readLock().lock();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            return query.apply(all);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        if (!loaded) {
+            load();
+        }
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Booking(LocalDate startDate, LocalDate endDate, List<Integer> roomNumbers) {}
+}
@@ -0,0 +1,139 @@
+package com.example.examseatplanner.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.examseatplanner.dto.SeatAssignmentDTO;
+import com.example.examseatplanner.model.SeatingPlan;
+
+/**
+ * Immutable seat lookup for one exam. Students are keyed by program, semester and roll
+ * packed into a long, and resolve to a seat coordinate packed into a long. Both live in
+ * one open-addressing table, so a lookup is a multiply, a shift and a short probe.
+ */
+public final class SeatIndex {
+
+    private static final long EMPTY = -1L;
+    private static final int SEMESTER_SHIFT = 28;
+    private static final int MAX_ROLL = (1 << SEMESTER_SHIFT) - 1;
+    private static final int COORDINATE_MASK = 0xFFFF;
+
+    private final Integer examId;
+    private final String[] roomNos;
+    private final long[] keys;
+    private final long[] seats;
+    private final int shift;
+    private final int size;
+    private final boolean complete;
+
+    private SeatIndex(Integer examId, String[] roomNos, long[] keys, long[] seats, int shift, int size,
+                      boolean complete) {
+        this.examId = examId;
+        this.roomNos = roomNos;
+        this.keys = keys;
+        this.seats = seats;
+        this.shift = shift;
+        this.size = size;
+        this.complete = complete;
+    }
+
+    public static SeatIndex build(Integer examId, List<SeatingPlan> seatingPlans) {
+        int capacity = Integer.highestOneBit(Math.max(seatingPlans.size(), 1) * 2 - 1) << 1;
+        long[] keys = new long[capacity];
+        long[] seats = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        int shift = Long.numberOfLeadingZeros(capacity - 1L);
+
+        Map<String, Integer> roomIndex = new HashMap<>();
+        List<String> roomNos = new ArrayList<>();
+        int size = 0;
+        boolean complete = true;
+
+        for (SeatingPlan sp : seatingPlans) {
+            long key = key(sp.getProgramCode(), sp.getSemester(), sp.getRoll());
+            if (key == EMPTY) {
+                complete = false;
+                continue;
+            }
+
+            int room = roomIndex.computeIfAbsent(sp.getRoomNo(), roomNo -> {
+                roomNos.add(roomNo);
+                return roomNos.size() - 1;
+            });
+            long seat = (long) room << 48
+                    | (long) (sp.getRowNumber() & COORDINATE_MASK) << 32
+                    | (long) (sp.getColumnNumber() & COORDINATE_MASK) << 16
+                    | (sp.getSeatIndex() & COORDINATE_MASK);
+
+            int slot = slot(key, shift);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                seats[slot] = seat;
+                size++;
+            }
+        }
+        return new SeatIndex(examId, roomNos.toArray(String[]::new), keys, seats, shift, size, complete);
+    }
+
+    public Integer examId() {
+        return examId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** False when some stored seat could not be keyed, so a miss is not conclusive. */
+    public boolean complete() {
+        return complete;
+    }
+
+    public SeatAssignmentDTO find(String programCode, Integer semester, Integer roll) {
+        long key = key(programCode, semester, roll);
+        if (key == EMPTY) {
+            return null;
+        }
+        int slot = slot(key, shift);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        long seat = seats[slot];
+        SeatAssignmentDTO dto = new SeatAssignmentDTO(programCode, semester, roll,
+                (int) (seat >>> 32) & COORDINATE_MASK,
+                (int) (seat >>> 16) & COORDINATE_MASK,
+                roomNos[(int) (seat >>> 48)]);
+        dto.setExamId(examId);
+        return dto;
+    }
+
+    private static long key(String programCode, Integer semester, Integer roll) {
+        if (programCode == null || semester == null || roll == null
+                || semester < 0 || semester > 15 || roll < 0 || roll > MAX_ROLL) {
+            return EMPTY;
+        }
+        int program;
+        try {
+            program = Integer.parseInt(programCode);
+        } catch (NumberFormatException e) {
+            return EMPTY;
+        }
+        if (program < 0) {
+            return EMPTY;
+        }
+        return (long) program << 32 | (long) semester << SEMESTER_SHIFT | roll;
+    }
+
+    private static int slot(long key, int shift) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.examseatplanner.index;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.dto.SeatAssignmentDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.ExamUpdatedEvent;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+import com.example.examseatplanner.mapper.SeatPlanMapper;
+import com.example.examseatplanner.model.Exam;
+import com.example.examseatplanner.repository.ExamRepository;
+import com.example.examseatplanner.service.SeatPlanStore;
+
+/**
+ * Serves seat searches from memory. Exam ids are cached by their exact dates, and each
+ * exam's {@link SeatIndex} is built on first read and rebuilt once a new plan commits.
+ * Both maps are evicted least-recently-used beyond their size caps, since date ranges come
+ * straight from clients. A load that overlaps an invalidation is not cached.
+ */
+@Component
+public class SeatLookupIndex {
+
+    private final ExamRepository examRepository;
+    private final SeatPlanStore seatPlanStore;
+    private final Map<ExamDates, Integer> examIds;
+    private final Map<Integer, SeatIndex> seats;
+    private long invalidations;
+
+    public SeatLookupIndex(ExamRepository examRepository, SeatPlanStore seatPlanStore,
+                           @Value("${seatplan.index.max-date-ranges:1024}") int maxDateRanges,
+                           @Value("${seatplan.index.max-exams:64}") int maxExams) {
+        this.examRepository = examRepository;
+        this.seatPlanStore = seatPlanStore;
+        this.examIds = lru(maxDateRanges);
+        this.seats = lru(maxExams);
+    }
+
+    public Optional<Integer> findExamId(LocalDate startDate, LocalDate endDate) {
+        ExamDates dates = new ExamDates(startDate, endDate);
+        long seenInvalidations;
+        synchronized (this) {
+            Integer examId = examIds.get(dates);
+            if (examId != null) {
+                return Optional.of(examId);
+            }
+            seenInvalidations = invalidations;
+        }
+        Optional<Integer> found = examRepository.findExamIdByStartDateAndEndDate(startDate, endDate)
+                .map(Exam::getId);
+        found.ifPresent(id -> cache(seenInvalidations, examIds, dates, id));
+        return found;
+    }
+
+    public Optional<SeatAssignmentDTO> findSeat(Integer examId, String programCode, Integer semester, Integer roll) {
+        SeatIndex index;
+        long seenInvalidations;
+        synchronized (this) {
+            index = seats.get(examId);
+            seenInvalidations = invalidations;
+        }
+        if (index == null) {
+            index = SeatIndex.build(examId, seatPlanStore.readSeats(examId));
+            cache(seenInvalidations, seats, examId, index);
+        }
+        SeatAssignmentDTO seat = index.find(programCode, semester, roll);
+        if (seat != null || index.complete()) {
+            return Optional.ofNullable(seat);
+        }
+        return seatPlanStore.findSeat(examId, programCode, semester, roll).map(SeatPlanMapper::toDTO);
+    }
+
+    /** Rebuilds the exam's index right away, so the next search after a generation is warm. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatPlanChanged(SeatPlanChangedEvent event) {
+        long seenInvalidations;
+        synchronized (this) {
+            seenInvalidations = ++invalidations;
+            seats.remove(event.examId());
+        }
+        cache(seenInvalidations, seats, event.examId(),
+                SeatIndex.build(event.examId(), seatPlanStore.readSeats(event.examId())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onExamUpdated(ExamUpdatedEvent event) {
+        invalidations++;
+        examIds.values().remove(event.examId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onExamDeleted(ExamDeletedEvent event) {
+        invalidations++;
+        examIds.values().remove(event.examId());
+        seats.remove(event.examId());
+    }
+
+    private synchronized <K, V> void cache(long seenInvalidations, Map<K, V> map, K key, V value) {
+        if (seenInvalidations == invalidations) {
+            map.put(key, value);
+        }
+    }
+
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private record ExamDates(LocalDate startDate, LocalDate endDate) {}
+}
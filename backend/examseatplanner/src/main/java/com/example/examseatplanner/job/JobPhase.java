@@ -0,0 +1,14 @@
+package com.example.examseatplanner.job;
+
+public enum JobPhase {
+    QUEUED,
+    LOADING,
+    ALLOCATING,
+    SAVING,
+    DONE,
+    FAILED;
+
+    public boolean finished() {
+        return this == DONE || this == FAILED;
+    }
+}
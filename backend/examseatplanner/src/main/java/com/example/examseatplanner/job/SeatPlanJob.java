@@ -0,0 +1,110 @@
+package com.example.examseatplanner.job;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.ObjectivePoint;
+import com.example.examseatplanner.dto.SeatPlanChangesDTO;
+import com.example.examseatplanner.dto.SeatPlanJobDTO;
+import com.example.examseatplanner.service.SeatPlanProgress;
+
+/** One generation run. Written by its worker thread and read by pollers, hence synchronized. */
+public class SeatPlanJob implements SeatPlanProgress {
+
+    private final String id;
+    private final Integer examId;
+    private final AllocationMode mode;
+    private final long createdAt = System.nanoTime();
+    private final Map<JobPhase, Long> phaseNanos = new EnumMap<>(JobPhase.class);
+    private final List<ObjectivePoint> objective = new ArrayList<>();
+
+    private JobPhase phase = JobPhase.QUEUED;
+    private long phaseStartedAt = createdAt;
+    private long finishedAt;
+    private int placed;
+    private int unplaced;
+    private SeatPlanChangesDTO changes;
+    private String error;
+
+    public SeatPlanJob(String id, Integer examId, AllocationMode mode) {
+        this.id = id;
+        this.examId = examId;
+        this.mode = mode;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Integer getExamId() {
+        return examId;
+    }
+
+    public AllocationMode getMode() {
+        return mode;
+    }
+
+    public synchronized boolean isFinished() {
+        return phase.finished();
+    }
+
+    @Override
+    public void loading() {
+        enter(JobPhase.LOADING);
+    }
+
+    @Override
+    public void allocating() {
+        enter(JobPhase.ALLOCATING);
+    }
+
+    @Override
+    public synchronized void allocated(int placed, int unplaced) {
+        this.placed = placed;
+        this.unplaced = unplaced;
+    }
+
+    @Override
+    public synchronized void improved(ObjectivePoint point) {
+        objective.add(point);
+    }
+
+    @Override
+    public void saving() {
+        enter(JobPhase.SAVING);
+    }
+
+    public synchronized void done(SeatPlanChangesDTO changes) {
+        this.changes = changes;
+        enter(JobPhase.DONE);
+    }
+
+    public synchronized void failed(String error) {
+        this.error = error;
+        enter(JobPhase.FAILED);
+    }
+
+    public synchronized SeatPlanJobDTO toDTO() {
+        long now = phase.finished() ? finishedAt : System.nanoTime();
+        Map<JobPhase, Long> millis = new EnumMap<>(JobPhase.class);
+        phaseNanos.forEach((p, nanos) -> millis.put(p, nanos / 1_000_000));
+        if (!phase.finished()) {
+            millis.merge(phase, (now - phaseStartedAt) / 1_000_000, Long::sum);
+        }
+        return new SeatPlanJobDTO(id, examId, mode, phase, placed, unplaced, changes, error,
+                millis, (now - createdAt) / 1_000_000, List.copyOf(objective));
+    }
+
+    private synchronized void enter(JobPhase next) {
+        long now = System.nanoTime();
+        phaseNanos.merge(phase, now - phaseStartedAt, Long::sum);
+        phase = next;
+        phaseStartedAt = now;
+        if (next.finished()) {
+            finishedAt = now;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.examseatplanner.job;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.SeatAllocationEngines;
+import com.example.examseatplanner.dto.SeatPlanJobDTO;
+import com.example.examseatplanner.exception.SeatPlanJobConflictException;
+import com.example.examseatplanner.service.SeatPlanService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs seat plan generation in the background on virtual threads. At most
+ * {@code seatplan.jobs.max-concurrent} jobs generate at once, since each holds a database
+ * connection; the rest wait in {@link JobPhase#QUEUED}. A request for an exam that already
+ * has a job in flight joins that job when it asks for the same mode and is rejected
+ * otherwise, since the two runs would overwrite each other's plan.
+ */
+@Service
+public class SeatPlanJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatPlanJobService.class);
+
+    private final SeatPlanService seatPlanService;
+    private final SeatAllocationEngines seatAllocationEngines;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int retainedJobs;
+
+    private final Map<String, SeatPlanJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Integer, SeatPlanJob> activeByExam = new ConcurrentHashMap<>();
+    private final Deque<String> finished = new ConcurrentLinkedDeque<>();
+
+    public SeatPlanJobService(SeatPlanService seatPlanService,
+                              SeatAllocationEngines seatAllocationEngines,
+                              @Value("${seatplan.jobs.max-concurrent:4}") int maxConcurrent,
+                              @Value("${seatplan.jobs.retained:200}") int retainedJobs) {
+        this.seatPlanService = seatPlanService;
+        this.seatAllocationEngines = seatAllocationEngines;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("seatplan-job-", 0).factory());
+        this.permits = new Semaphore(maxConcurrent);
+        this.retainedJobs = retainedJobs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public SeatPlanJobDTO submit(Integer examId, AllocationMode mode) {
+        AllocationMode resolved = mode == null ? seatAllocationEngines.defaultMode() : mode;
+        SeatPlanJob candidate = new SeatPlanJob(UUID.randomUUID().toString(), examId, resolved);
+        SeatPlanJob job = activeByExam.compute(examId,
+                (id, active) -> active != null && !active.isFinished() ? active : candidate);
+        if (job.getMode() != resolved) {
+            throw new SeatPlanJobConflictException("Exam " + examId + " already has a " + job.getMode()
+                    + " seat plan job in flight: " + job.getId());
+        }
+        if (job == candidate) {
+            jobs.put(job.getId(), job);
+            executor.execute(() -> run(job));
+        }
+        return job.toDTO();
+    }
+
+    public Optional<SeatPlanJobDTO> get(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(SeatPlanJob::toDTO);
+    }
+
+    private void run(SeatPlanJob job) {
+        try {
+            permits.acquire();
+            try {
+                job.done(seatPlanService.generateAndSaveSeatingPlan(job.getExamId(), job.getMode(), job).changes());
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.failed("Interrupted");
+        } catch (RuntimeException e) {
+            logger.warn("Seat plan job {} for exam {} failed", job.getId(), job.getExamId(), e);
+            job.failed(e.getMessage());
+        } finally {
+            activeByExam.remove(job.getExamId(), job);
+            retire(job);
+        }
+    }
+
+    private void retire(SeatPlanJob job) {
+        finished.addLast(job.getId());
+        while (finished.size() > retainedJobs) {
+            String oldest = finished.pollFirst();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+}
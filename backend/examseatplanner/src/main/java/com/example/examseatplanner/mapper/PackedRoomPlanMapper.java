@@ -0,0 +1,190 @@
+package com.example.examseatplanner.mapper;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.dto.SeatAssignmentDTO;
+import com.example.examseatplanner.model.PackedRoomPlan;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.model.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Packs one room of a seat plan into a byte array. Seats are written in allocation order
+ * (column, row, bench seat). An occupied seat is a varint tag of
+ * {@code 1 + programIndex * 8 + semester - 1} followed by a varint roll; a run of empty
+ * seats is a zero tag followed by a varint run length. Program codes are stored once
+ * per room as a comma-separated dictionary.
+ */
+public class PackedRoomPlanMapper {
+
+    private static final int SEMESTERS = Student.Semester.values().length;
+
+    public static PackedRoomPlan toEntity(Integer examId, RoomLayout room,
+                                          String[] programCodes, int[] semesters, int[] rolls) {
+        int capacity = room.capacity();
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        byte[] data = new byte[Math.max(capacity * 3, 16)];
+        int length = 0;
+        int seatCount = 0;
+
+        int seat = 0;
+        while (seat < capacity) {
+            if (data.length - length < 10) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            if (programCodes[seat] == null) {
+                int run = 0;
+                while (seat < capacity && programCodes[seat] == null) {
+                    run++;
+                    seat++;
+                }
+                length = writeVarint(data, length, 0);
+                length = writeVarint(data, length, run);
+                continue;
+            }
+            int semester = semesters[seat];
+            if (semester < 1 || semester > SEMESTERS) {
+                throw new IllegalArgumentException("Invalid semester: " + semester);
+            }
+            Integer program = dictionary.computeIfAbsent(programCodes[seat], code -> dictionary.size());
+            length = writeVarint(data, length, 1 + program * SEMESTERS + semester - 1);
+            length = writeVarint(data, length, rolls[seat]);
+            seatCount++;
+            seat++;
+        }
+
+        return new PackedRoomPlan(
+                examId,
+                room.roomNo().toString(),
+                room.rows(),
+                room.columns(),
+                room.seatsPerBench(),
+                seatCount,
+                String.join(",", dictionary.keySet()),
+                Arrays.copyOf(data, length)
+        );
+    }
+
+    public static List<SeatAssignmentDTO> toDTOs(PackedRoomPlan packed) {
+        List<SeatAssignmentDTO> seats = new ArrayList<>(packed.getSeatCount());
+        decode(packed, (room, seat, programCode, semester, roll) -> {
+            SeatAssignmentDTO dto = new SeatAssignmentDTO(programCode, semester, roll,
+                    room.rowOf(seat) + 1, room.columnOf(seat) + 1, packed.getRoomNo());
+            dto.setExamId(packed.getExamId());
+            seats.add(dto);
+        });
+        return seats;
+    }
+
+    public static List<SeatingPlan> toSeatingPlans(PackedRoomPlan packed) {
+        List<SeatingPlan> seats = new ArrayList<>(packed.getSeatCount());
+        decode(packed, (room, seat, programCode, semester, roll) -> seats.add(new SeatingPlan(
+                null,
+                packed.getExamId(),
+                packed.getRoomNo(),
+                room.rowOf(seat) + 1,
+                room.columnOf(seat) + 1,
+                programCode,
+                semester,
+                roll,
+                room.benchSeatOf(seat) + 1
+        )));
+        return seats;
+    }
+
+    /**
+     * The seat of one student in the room, if it holds them. Rooms whose dictionary lacks
+     * the program are answered without decoding; otherwise the scan compares raw tags and
+     * stops at the match.
+     */
+    public static Optional<SeatingPlan> findSeat(PackedRoomPlan packed, String programCode, int semester, int roll) {
+        if (semester < 1 || semester > SEMESTERS || packed.getProgramCodes().isEmpty()) {
+            return Optional.empty();
+        }
+        int program = Arrays.asList(packed.getProgramCodes().split(",")).indexOf(programCode);
+        if (program < 0) {
+            return Optional.empty();
+        }
+        int target = 1 + program * SEMESTERS + semester - 1;
+        byte[] data = packed.getSeatData();
+        int[] cursor = {0};
+
+        int seat = 0;
+        while (cursor[0] < data.length) {
+            int tag = readVarint(data, cursor);
+            if (tag == 0) {
+                seat += readVarint(data, cursor);
+                continue;
+            }
+            if (readVarint(data, cursor) == roll && tag == target) {
+                RoomLayout room = toLayout(packed);
+                return Optional.of(new SeatingPlan(null, packed.getExamId(), packed.getRoomNo(),
+                        room.rowOf(seat) + 1, room.columnOf(seat) + 1, programCode, semester, roll,
+                        room.benchSeatOf(seat) + 1));
+            }
+            seat++;
+        }
+        return Optional.empty();
+    }
+
+    public static RoomLayout toLayout(PackedRoomPlan packed) {
+        return new RoomLayout(
+                Integer.valueOf(packed.getRoomNo()),
+                packed.getNumRow(),
+                packed.getRoomColumn(),
+                packed.getSeatsPerBench()
+        );
+    }
+
+    private static void decode(PackedRoomPlan packed, SeatVisitor visitor) {
+        RoomLayout room = toLayout(packed);
+        String[] dictionary = packed.getProgramCodes().isEmpty()
+                ? new String[0]
+                : packed.getProgramCodes().split(",");
+        byte[] data = packed.getSeatData();
+        int[] cursor = {0};
+
+        int seat = 0;
+        while (cursor[0] < data.length) {
+            int tag = readVarint(data, cursor);
+            if (tag == 0) {
+                seat += readVarint(data, cursor);
+                continue;
+            }
+            int roll = readVarint(data, cursor);
+            int value = tag - 1;
+            visitor.visit(room, seat++, dictionary[value / SEMESTERS], value % SEMESTERS + 1, roll);
+        }
+    }
+
+    private static int writeVarint(byte[] data, int at, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[at++] = (byte) value;
+        return at;
+    }
+
+    private static int readVarint(byte[] data, int[] cursor) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface SeatVisitor {
+        void visit(RoomLayout room, int seat, String programCode, int semester, int roll);
+    }
+}
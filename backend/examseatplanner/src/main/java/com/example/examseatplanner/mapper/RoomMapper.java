@@ -1,5 +1,6 @@
 package com.example.examseatplanner.mapper;
 
+import com.example.examseatplanner.allocation.RoomLayout;
 import com.example.examseatplanner.dto.RoomRequestDTO;
 import com.example.examseatplanner.dto.RoomResponseDTO;
 import com.example.examseatplanner.model.Room;
@@ -41,4 +42,28 @@ public class RoomMapper {
                 .map(RoomMapper::toDTO)
                 .toList();
     }
+
+    public static RoomLayout toLayout(RoomResponseDTO dto) {
+        return new RoomLayout(
+                dto.roomNo(),
+                dto.numRow(),
+                dto.roomColumn(),
+                dto.seatsPerBench()
+        );
+    }
+
+    public static RoomLayout toLayout(Room room) {
+        return new RoomLayout(
+                room.getRoomNo(),
+                room.getNumRow(),
+                room.getRoomColumn(),
+                room.getSeatsPerBench()
+        );
+    }
+
+    public static List<RoomLayout> toLayouts(List<RoomResponseDTO> rooms) {
+        return rooms.stream()
+                .map(RoomMapper::toLayout)
+                .toList();
+    }
 }
@@ -1,8 +1,18 @@
 package com.example.examseatplanner.mapper;
 
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.dto.RoomPlanDTO;
 import com.example.examseatplanner.dto.SeatAssignmentDTO;
 import com.example.examseatplanner.model.SeatingPlan;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class SeatPlanMapper {
 
     public static SeatAssignmentDTO toDTO(SeatingPlan seatingPlan) {
@@ -35,4 +45,51 @@ public class SeatPlanMapper {
 
         return seatingPlan;
     }
+
+    public static RoomPlanDTO toRoomPlan(String roomNo, List<SeatAssignmentDTO> roomSeats) {
+        int maxRow = roomSeats.stream().mapToInt(SeatAssignmentDTO::getRowNumber).max().orElse(0);
+        int maxCol = roomSeats.stream().mapToInt(SeatAssignmentDTO::getColumnNumber).max().orElse(0);
+
+        List<List<SeatAssignmentDTO>> grid = new ArrayList<>();
+        for (int r = 0; r < maxRow; r++) {
+            grid.add(new ArrayList<>(Collections.nCopies(maxCol, null)));
+        }
+
+        for (SeatAssignmentDTO seat : roomSeats) {
+            grid.get(seat.getRowNumber() - 1).set(seat.getColumnNumber() - 1, seat);
+        }
+
+        return new RoomPlanDTO(roomNo, grid);
+    }
+
+    public static List<RoomPlanDTO> toRoomPlans(List<SeatingPlan> seatingPlans) {
+        Map<String, List<SeatingPlan>> grouped = seatingPlans.stream()
+                .collect(Collectors.groupingBy(SeatingPlan::getRoomNo));
+
+        List<RoomPlanDTO> roomPlans = new ArrayList<>();
+        for (Map.Entry<String, List<SeatingPlan>> entry : grouped.entrySet()) {
+            roomPlans.add(toRoomPlan(entry.getKey(),
+                    entry.getValue().stream().map(SeatPlanMapper::toDTO).toList()));
+        }
+        return roomPlans;
+    }
+
+    public static List<RoomPlanDTO> toRoomPlans(SeatAllocation allocation) {
+        Roster roster = allocation.roster();
+        List<RoomPlanDTO> plans = new ArrayList<>(allocation.roomCount());
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            RoomLayout room = allocation.room(r);
+            String roomNo = room.roomNo().toString();
+            List<SeatAssignmentDTO> seats = new ArrayList<>();
+            for (int seat = allocation.roomStart(r); seat < allocation.roomEnd(r); seat++) {
+                int student = allocation.studentAt(seat);
+                if (student == SeatAllocation.EMPTY) continue;
+                int local = seat - allocation.roomStart(r);
+                seats.add(new SeatAssignmentDTO(Integer.toString(roster.program(student)), roster.semester(student),
+                        roster.roll(student), room.rowOf(local) + 1, room.columnOf(local) + 1, roomNo));
+            }
+            plans.add(toRoomPlan(roomNo, seats));
+        }
+        return plans;
+    }
 }
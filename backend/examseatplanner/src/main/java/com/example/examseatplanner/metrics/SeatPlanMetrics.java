@@ -0,0 +1,140 @@
+package com.example.examseatplanner.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.cache.RoomPlanCache;
+import com.example.examseatplanner.cache.RosterCache;
+import com.example.examseatplanner.dto.CacheStatsDTO;
+import com.example.examseatplanner.dto.SeatPlanChangesDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters for seat plan generation, one timer per phase: {@code load} (exam data and roster),
+ * {@code allocate} and {@code save}. Generation meters are tagged by mode, room count and,
+ * when {@code seatplan.metrics.exam-tag} is on, exam id; an exam's meters are removed when
+ * the exam is deleted. Hit and miss counts of the room plan and roster caches are read from
+ * the caches when scraped.
+ */
+@Component
+public class SeatPlanMetrics {
+
+    private static final String LOAD = "load";
+    private static final String ALLOCATE = "allocate";
+    private static final String SAVE = "save";
+    private static final String PREFIX = "seatplan.";
+    private static final String EXAM = "exam";
+
+    private final MeterRegistry registry;
+    private final boolean examTag;
+
+    public SeatPlanMetrics(MeterRegistry registry,
+                           RoomPlanCache roomPlanCache,
+                           RosterCache rosterCache,
+                           @Value("${seatplan.metrics.exam-tag:false}") boolean examTag) {
+        this.registry = registry;
+        this.examTag = examTag;
+        bindCache("room_plans", roomPlanCache, RoomPlanCache::stats);
+        bindCache("rosters", rosterCache, RosterCache::stats);
+    }
+
+    public Tags tags(Integer examId, AllocationMode mode, int rooms) {
+        Tags tags = Tags.of("mode", mode.name(), "rooms", Integer.toString(rooms));
+        return examTag ? tags.and(EXAM, examId.toString()) : tags;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        if (!examTag) {
+            return;
+        }
+        String examId = event.examId().toString();
+        for (Meter meter : registry.getMeters()) {
+            if (meter.getId().getName().startsWith(PREFIX) && examId.equals(meter.getId().getTag(EXAM))) {
+                registry.remove(meter);
+            }
+        }
+    }
+
+    public void loaded(Tags tags, int students, long nanos) {
+        phase(tags, LOAD, nanos);
+        DistributionSummary.builder("seatplan.roster.students")
+                .description("Students loaded for one generation")
+                .baseUnit("students")
+                .tags(tags)
+                .register(registry)
+                .record(students);
+    }
+
+    public void allocated(Tags tags, int placed, int unplaced, long nanos) {
+        phase(tags, ALLOCATE, nanos);
+        Counter.builder("seatplan.seats.placed").tags(tags).register(registry).increment(placed);
+        Counter.builder("seatplan.seats.unplaced").tags(tags).register(registry).increment(unplaced);
+        if (nanos > 0) {
+            DistributionSummary.builder("seatplan.allocation.rate")
+                    .description("Seats placed per second of allocation")
+                    .baseUnit("seats.per.second")
+                    .tags(tags)
+                    .register(registry)
+                    .record(placed * 1e9 / nanos);
+        }
+    }
+
+    public void saved(Tags tags, SeatPlanChangesDTO changes, long nanos) {
+        phase(tags, SAVE, nanos);
+        rowsWritten(tags, "inserted", changes.inserted());
+        rowsWritten(tags, "updated", changes.updated());
+        rowsWritten(tags, "deleted", changes.deleted());
+    }
+
+    private void phase(Tags tags, String phase, long nanos) {
+        Timer.builder("seatplan.generation.phase")
+                .description("Time spent in one phase of seat plan generation")
+                .tags(tags)
+                .tag("phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void rowsWritten(Tags tags, String operation, int rows) {
+        Counter.builder("seatplan.rows.written")
+                .description("Seat plan rows written by generation")
+                .tags(tags)
+                .tag("operation", operation)
+                .register(registry)
+                .increment(rows);
+    }
+
+    /** Binds to the cache itself: meters only hold their state weakly. */
+    private <C> void bindCache(String cache, C state, Function<C, CacheStatsDTO> stats) {
+        FunctionCounter.builder("seatplan.cache.requests", state, c -> stats.apply(c).hits())
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("seatplan.cache.requests", state, c -> stats.apply(c).misses())
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("seatplan.cache.evictions", state, c -> stats.apply(c).evictions())
+                .tags("cache", cache)
+                .register(registry);
+        Gauge.builder("seatplan.cache.hit.ratio", state, c -> stats.apply(c).hitRate())
+                .tags("cache", cache)
+                .register(registry);
+        Gauge.builder("seatplan.cache.size", state, c -> stats.apply(c).size())
+                .tags("cache", cache)
+                .register(registry);
+    }
+}
@@ -18,7 +18,8 @@ public class Exam {
     @Column(name = "exam_id")
     private Integer id;
 
-    @OneToMany(mappedBy = "exam", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "exam", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
     @JsonManagedReference
     private List<ExamProgramSemester> programSemesters = new ArrayList<>();
 
@@ -37,6 +38,7 @@ public class Exam {
             joinColumns = @JoinColumn(name = "exam_id"),
             inverseJoinColumns = @JoinColumn(name = "room_no")
     )
+    @OrderBy("roomNo")
     private List<Room> rooms;
 
     public Exam(){
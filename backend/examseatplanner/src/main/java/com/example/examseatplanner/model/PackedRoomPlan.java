@@ -0,0 +1,129 @@
+package com.example.examseatplanner.model;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Table(name = "packed_room_plan",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_packed_room_plan_room",
+                columnNames = {"exam_id", "room_no"}))
+public class PackedRoomPlan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "exam_id", nullable = false)
+    private Integer examId;
+
+    @Column(name = "room_no", nullable = false)
+    private String roomNo;
+
+    private int numRow;
+    private int roomColumn;
+    private int seatsPerBench;
+    private int seatCount;
+
+    @Column(name = "program_codes", nullable = false)
+    private String programCodes;
+
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(name = "seat_data", nullable = false, length = 16_777_216)
+    private byte[] seatData;
+
+    public PackedRoomPlan() {}
+
+    public PackedRoomPlan(Integer examId, String roomNo, int numRow, int roomColumn, int seatsPerBench,
+                          int seatCount, String programCodes, byte[] seatData) {
+        this.examId = examId;
+        this.roomNo = roomNo;
+        this.numRow = numRow;
+        this.roomColumn = roomColumn;
+        this.seatsPerBench = seatsPerBench;
+        this.seatCount = seatCount;
+        this.programCodes = programCodes;
+        this.seatData = seatData;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getExamId() {
+        return examId;
+    }
+
+    public void setExamId(Integer examId) {
+        this.examId = examId;
+    }
+
+    public String getRoomNo() {
+        return roomNo;
+    }
+
+    public void setRoomNo(String roomNo) {
+        this.roomNo = roomNo;
+    }
+
+    public int getNumRow() {
+        return numRow;
+    }
+
+    public void setNumRow(int numRow) {
+        this.numRow = numRow;
+    }
+
+    public int getRoomColumn() {
+        return roomColumn;
+    }
+
+    public void setRoomColumn(int roomColumn) {
+        this.roomColumn = roomColumn;
+    }
+
+    public int getSeatsPerBench() {
+        return seatsPerBench;
+    }
+
+    public void setSeatsPerBench(int seatsPerBench) {
+        this.seatsPerBench = seatsPerBench;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public void setSeatCount(int seatCount) {
+        this.seatCount = seatCount;
+    }
+
+    public String getProgramCodes() {
+        return programCodes;
+    }
+
+    public void setProgramCodes(String programCodes) {
+        this.programCodes = programCodes;
+    }
+
+    public byte[] getSeatData() {
+        return seatData;
+    }
+
+    public void setSeatData(byte[] seatData) {
+        this.seatData = seatData;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedRoomPlan [id=" + id + ", exam=" + examId + ", room=" + roomNo + ", numRow=" + numRow
+                + ", roomColumn=" + roomColumn + ", seatsPerBench=" + seatsPerBench + ", seatCount=" + seatCount
+                + ", bytes=" + (seatData == null ? 0 : seatData.length) + "]";
+    }
+}
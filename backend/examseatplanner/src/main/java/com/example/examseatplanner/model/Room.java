@@ -1,5 +1,6 @@
 package com.example.examseatplanner.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.util.List;
 
@@ -15,6 +16,7 @@ public class Room{
     private int seatsPerBench = 2;
 
     @ManyToMany(mappedBy = "rooms")
+    @JsonIgnore
     private List<Exam> exams;
 
 
@@ -52,6 +54,7 @@ public class Room{
         this.roomColumn = (roomColumn > 0) ? roomColumn : 3;
     }
 
+    @JsonIgnore
     public int getROomColumn() {
         return roomColumn;
     }
@@ -4,7 +4,10 @@ package com.example.examseatplanner.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "seating_plan")
+@Table(name = "seating_plan",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_seating_plan_seat",
+                columnNames = {"exam_id", "room_id", "row_number", "column_number", "seat_index"}))
 public class SeatingPlan {
 
     @Id
@@ -0,0 +1,173 @@
+package com.example.examseatplanner.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.transaction.Transactional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.model.Student;
+
+/**
+ * The {@code enrollment_count} table: students per (program, semester), so capacity checks
+ * read one row per group instead of counting students. Changes are applied as relative
+ * updates in the caller's transaction, which keeps concurrent writers from losing counts.
+ * Every program gets a row per semester when it is created, so a change updates a row that
+ * already exists; the single-statement MERGE only inserts for programs written around
+ * {@link #seed}.
+ */
+@Repository
+public class EnrollmentCountRepository {
+
+    private static final String ADD =
+            "MERGE INTO enrollment_count c "
+                    + "USING (VALUES (CAST(? AS INTEGER), CAST(? AS VARCHAR(16)), CAST(? AS INTEGER))) "
+                    + "AS d (program_code, semester, delta) "
+                    + "ON c.program_code = d.program_code AND c.semester = d.semester "
+                    + "WHEN MATCHED THEN UPDATE SET student_count = c.student_count + d.delta "
+                    + "WHEN NOT MATCHED AND d.delta >= 0 THEN "
+                    + "INSERT (program_code, semester, student_count) VALUES (d.program_code, d.semester, d.delta)";
+    private static final String RECOUNT =
+            "UPDATE enrollment_count SET student_count = "
+                    + "(SELECT COUNT(*) FROM student s WHERE s.program_code = ? AND s.semester = ?) "
+                    + "WHERE program_code = ? AND semester = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnrollmentCountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void added(Student student) {
+        add(student, 1);
+    }
+
+    public void removed(Student student) {
+        add(student, -1);
+    }
+
+    public void addedAll(Collection<Student> students) {
+        Map<ProgramSemesterDTO, Integer> deltas = new LinkedHashMap<>();
+        for (Student student : students) {
+            if (student.getProgram() != null && student.getSemester() != null) {
+                deltas.merge(key(student.getProgram().getProgramCode(), student.getSemester()), 1, Integer::sum);
+            }
+        }
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((ps, delta) -> updates.add(new Object[]{ps.programCode(), semester(ps).name(), delta}));
+        jdbcTemplate.batchUpdate(ADD, updates);
+    }
+
+    private void add(Student student, int delta) {
+        if (student.getProgram() == null || student.getSemester() == null) {
+            return;
+        }
+        jdbcTemplate.update(ADD, student.getProgram().getProgramCode(), student.getSemester().name(), delta);
+    }
+
+    /** Adds a zero row for every semester of the programs that do not have one yet. */
+    public void seed(Collection<Integer> programCodes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Integer programCode : programCodes) {
+            for (Student.Semester semester : Student.Semester.values()) {
+                rows.add(new Object[]{programCode, semester.name(), 0});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD, rows);
+        }
+    }
+
+    /** Sets every count to zero, keeping the rows the programs were seeded with. */
+    public void resetAll() {
+        jdbcTemplate.update("UPDATE enrollment_count SET student_count = 0");
+    }
+
+    /**
+     * Stored counts of the given groups by primary key; groups without a row map to 0.
+     */
+    public Map<ProgramSemesterDTO, Long> find(Collection<ProgramSemesterDTO> programSemesters) {
+        Map<ProgramSemesterDTO, Long> counts = new HashMap<>();
+        List<Object> args = new ArrayList<>();
+        StringBuilder keys = new StringBuilder();
+        for (ProgramSemesterDTO ps : programSemesters) {
+            ProgramSemesterDTO key = key(ps.programCode(), semester(ps));
+            if (counts.put(key, 0L) == null) {
+                keys.append(keys.isEmpty() ? "(?, ?)" : ", (?, ?)");
+                args.add(key.programCode());
+                args.add(semester(key).name());
+            }
+        }
+        if (counts.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query("SELECT program_code, semester, student_count FROM enrollment_count "
+                        + "WHERE (program_code, semester) IN (" + keys + ")",
+                rs -> {
+                    counts.put(key(rs.getInt(1), Student.Semester.valueOf(rs.getString(2))), rs.getLong(3));
+                },
+                args.toArray());
+        return counts;
+    }
+
+    /** Students of the exam's program-semesters, summed from the stored counts. */
+    public long countForExam(Integer examId) {
+        Long total = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(c.student_count), 0) FROM enrollment_count c "
+                        + "JOIN exam_program_semesters eps "
+                        + "ON eps.program_code = c.program_code AND eps.semester = c.semester "
+                        + "WHERE eps.exam_id = ?",
+                Long.class, examId);
+        return total == null ? 0 : total;
+    }
+
+    public Map<ProgramSemesterDTO, Long> findAll() {
+        return groups("SELECT program_code, semester, student_count FROM enrollment_count");
+    }
+
+    /** Counts taken from the student table itself, for reconciliation. */
+    public Map<ProgramSemesterDTO, Long> countStudents() {
+        return groups("SELECT program_code, semester, COUNT(*) FROM student "
+                + "WHERE program_code IS NOT NULL AND semester IS NOT NULL GROUP BY program_code, semester");
+    }
+
+    /**
+     * Replaces the stored count of one group with a count of its students. The counter row
+     * is locked first: a writer that already changed it is waited for and then counted, and
+     * one that has not yet changed it waits and applies its change to the recount.
+     */
+    @Transactional
+    public void recount(ProgramSemesterDTO programSemester) {
+        Integer programCode = programSemester.programCode();
+        String semester = semester(programSemester).name();
+        // adding nothing creates the row if need be and holds its lock until commit
+        jdbcTemplate.update(ADD, programCode, semester, 0);
+        jdbcTemplate.update(RECOUNT, programCode, semester, programCode, semester);
+    }
+
+    private Map<ProgramSemesterDTO, Long> groups(String sql) {
+        Map<ProgramSemesterDTO, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(key(rs.getInt(1), Student.Semester.valueOf(rs.getString(2))), rs.getLong(3));
+        });
+        return counts;
+    }
+
+    private static ProgramSemesterDTO key(Integer programCode, Student.Semester semester) {
+        return new ProgramSemesterDTO(programCode, semester.ordinal() + 1);
+    }
+
+    private static Student.Semester semester(ProgramSemesterDTO programSemester) {
+        int semester = programSemester.semester();
+        if (semester < 1 || semester > Student.Semester.values().length) {
+            throw new IllegalArgumentException("Semester must be between 1 and 8");
+        }
+        return Student.Semester.values()[semester - 1];
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.examseatplanner.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.example.examseatplanner.model.Exam;
+import com.example.examseatplanner.model.ExamProgramSemester;
+import com.example.examseatplanner.model.Room;
+
+/**
+ * Inserts new exams with their program semesters and rooms as three JDBC batches.
+ * Exam ids are IDENTITY columns, which stops Hibernate from batching the inserts.
+ */
+@Repository
+public class ExamBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts the unsaved exams and sets their generated ids. */
+    public void insert(List<Exam> exams) {
+        if (exams.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement("INSERT INTO exam (start_date, end_date) VALUES (?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setDate(1, Date.valueOf(exams.get(i).getStartDate()));
+                        ps.setDate(2, Date.valueOf(exams.get(i).getEndDate()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return exams.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != exams.size()) {
+            throw new IllegalStateException("Expected " + exams.size() + " exam ids, got " + generated.size());
+        }
+        for (int i = 0; i < exams.size(); i++) {
+            exams.get(i).setId(((Number) examId(generated.get(i))).intValue());
+        }
+
+        List<Object[]> programSemesters = new ArrayList<>();
+        List<Object[]> rooms = new ArrayList<>();
+        for (Exam exam : exams) {
+            for (ExamProgramSemester eps : exam.getProgramSemesters()) {
+                programSemesters.add(new Object[]{exam.getId(), eps.getProgram().getProgramCode(), eps.getSemester().name()});
+            }
+            for (Room room : exam.getRooms()) {
+                rooms.add(new Object[]{exam.getId(), room.getRoomNo()});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO exam_program_semesters (exam_id, program_code, semester) VALUES (?, ?, ?)",
+                programSemesters);
+        jdbcTemplate.batchUpdate("INSERT INTO exam_rooms (exam_id, room_no) VALUES (?, ?)", rooms);
+    }
+
+    /** Drivers name the key column differently (exam_id, EXAM_ID) or return the whole row. */
+    private static Object examId(Map<String, Object> key) {
+        if (key.size() == 1) {
+            return key.values().iterator().next();
+        }
+        for (Map.Entry<String, Object> column : key.entrySet()) {
+            if (column.getKey().equalsIgnoreCase("exam_id")) {
+                return column.getValue();
+            }
+        }
+        throw new IllegalStateException("No exam_id in generated keys " + key.keySet());
+    }
+}
@@ -2,12 +2,16 @@ package com.example.examseatplanner.repository;
 
 import com.example.examseatplanner.model.Exam;
 import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.model.Student;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +26,9 @@ public interface ExamRepository extends JpaRepository<Exam, Integer> {
 
 
 
+    @Query("SELECT e.id, e.startDate, e.endDate, r.roomNo FROM Exam e LEFT JOIN e.rooms r")
+    List<Object[]> findRoomBookings();
+
     @Query("SELECT DISTINCT e FROM Exam e JOIN e.programSemesters eps WHERE eps.program = :program")
     List<Exam> findByProgram(@Param("program") Program program);
 
@@ -56,8 +63,46 @@ public interface ExamRepository extends JpaRepository<Exam, Integer> {
                           @Param("startDate") LocalDate startDate,
                           @Param("endDate") LocalDate endDate);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Exam e WHERE e.id = :examId")
+    Optional<Exam> findByIdForUpdate(@Param("examId") Integer examId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Exam e WHERE e.startDate <= :endDate AND e.endDate >= :startDate ORDER BY e.id")
+    List<Exam> findOverlappingExamsForUpdate(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT DISTINCT e FROM Exam e " +
+           "LEFT JOIN FETCH e.programSemesters eps LEFT JOIN FETCH eps.program WHERE e IN :exams")
+    List<Exam> fetchProgramSemesters(@Param("exams") List<Exam> exams);
+
+    @Query("SELECT DISTINCT e FROM Exam e LEFT JOIN FETCH e.rooms WHERE e IN :exams")
+    List<Exam> fetchRooms(@Param("exams") List<Exam> exams);
+
+    @Query("SELECT r.roomNo, e.id, e.startDate, e.endDate FROM Exam e JOIN e.rooms r " +
+           "WHERE r.roomNo IN :roomNumbers AND e.startDate <= :endDate AND e.endDate >= :startDate " +
+           "AND e.id NOT IN :examIds")
+    List<Object[]> findOtherRoomBookings(@Param("roomNumbers") Collection<Integer> roomNumbers,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         @Param("examIds") Collection<Integer> examIds);
+
+    @Query("SELECT eps.exam.id, eps.exam.startDate, eps.exam.endDate, eps.program.programCode, eps.semester " +
+           "FROM ExamProgramSemester eps")
+    List<Object[]> findProgramSemesterBookings();
+
     @Query("SELECT r.roomNo FROM Exam e JOIN e.rooms r WHERE e.id = :examId")
     List<Integer> findRoomNumbersByExamId(@Param("examId") Integer examId);
+
+    @Query("SELECT DISTINCT e.id FROM Exam e JOIN e.programSemesters eps " +
+           "WHERE eps.program.programCode = :programCode AND eps.semester = :semester " +
+           "AND e.endDate >= CURRENT_DATE ORDER BY e.id")
+    List<Integer> findUnfinishedExamIdsForProgramSemester(@Param("programCode") Integer programCode,
+                                                          @Param("semester") Student.Semester semester);
+
+    @Query("SELECT e.id FROM Exam e JOIN e.rooms r " +
+           "WHERE r.roomNo = :roomNo AND e.endDate >= CURRENT_DATE ORDER BY e.id")
+    List<Integer> findUnfinishedExamIdsByRoomNo(@Param("roomNo") Integer roomNo);
     
     Optional<Exam> findExamIdByStartDateAndEndDate(LocalDate startDate, LocalDate endDate);
 
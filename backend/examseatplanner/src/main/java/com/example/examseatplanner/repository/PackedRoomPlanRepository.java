@@ -0,0 +1,38 @@
+package com.example.examseatplanner.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.examseatplanner.model.PackedRoomPlan;
+
+@Repository
+public interface PackedRoomPlanRepository extends JpaRepository<PackedRoomPlan, Integer> {
+
+    List<PackedRoomPlan> findByExamIdOrderByRoomNo(Integer examId);
+
+    @Query("SELECT p FROM PackedRoomPlan p WHERE p.examId = :examId ORDER BY p.roomNo")
+    Stream<PackedRoomPlan> streamByExamId(@Param("examId") Integer examId);
+
+    Optional<PackedRoomPlan> findByExamIdAndRoomNo(Integer examId, String roomNo);
+
+    boolean existsByExamId(Integer examId);
+
+    @Query("SELECT p.examId, SUM(p.seatCount) FROM PackedRoomPlan p WHERE p.examId IN :examIds GROUP BY p.examId")
+    List<Object[]> sumSeatCountByExamIdIn(@Param("examIds") Collection<Integer> examIds);
+
+    @Modifying
+    @Query("DELETE FROM PackedRoomPlan p WHERE p.examId = :examId")
+    int deleteByExamId(@Param("examId") Integer examId);
+
+    @Modifying
+    @Query("DELETE FROM PackedRoomPlan p WHERE p.examId IN :examIds")
+    int deleteByExamIdIn(@Param("examIds") Collection<Integer> examIds);
+}
@@ -0,0 +1,256 @@
+package com.example.examseatplanner.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.model.SeatingPlan;
+
+/**
+ * Writes seating plan rows with multi-row INSERT statements sent as JDBC batches.
+ * {@link SeatingPlan} ids are IDENTITY columns, which stops Hibernate from batching
+ * {@code saveAll}, so generated plans go through here instead.
+ */
+@Repository
+public class SeatingPlanBatchRepository {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final int COLUMNS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String fullStatement;
+
+    public SeatingPlanBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fullStatement = insertStatement(ROWS_PER_STATEMENT);
+    }
+
+    public int insert(Integer examId, SeatAllocation allocation) {
+        return insert(Map.of(examId, allocation));
+    }
+
+    public int insert(Map<Integer, SeatAllocation> allocations) {
+        Integer[] examIds = allocations.keySet().toArray(Integer[]::new);
+        SeatAllocation[] plans = new SeatAllocation[examIds.length];
+        int total = 0;
+        for (int e = 0; e < examIds.length; e++) {
+            plans[e] = allocations.get(examIds[e]);
+            total += plans[e].placed();
+        }
+
+        int[] exams = new int[total];
+        int[] occupied = new int[total];
+        int[] rooms = new int[total];
+        int count = 0;
+        for (int e = 0; e < plans.length; e++) {
+            SeatAllocation allocation = plans[e];
+            for (int r = 0; r < allocation.roomCount(); r++) {
+                for (int seat = allocation.roomStart(r); seat < allocation.roomEnd(r); seat++) {
+                    if (allocation.studentAt(seat) != SeatAllocation.EMPTY) {
+                        exams[count] = e;
+                        occupied[count] = seat;
+                        rooms[count++] = r;
+                    }
+                }
+            }
+        }
+
+        return insertRows(count, (ps, at, row) -> {
+            SeatAllocation allocation = plans[exams[row]];
+            Roster roster = allocation.roster();
+            int seat = occupied[row];
+            int r = rooms[row];
+            RoomLayout room = allocation.room(r);
+            int local = seat - allocation.roomStart(r);
+            int student = allocation.studentAt(seat);
+            ps.setInt(at, examIds[exams[row]]);
+            ps.setString(at + 1, room.roomNo().toString());
+            ps.setInt(at + 2, room.rowOf(local) + 1);
+            ps.setInt(at + 3, room.columnOf(local) + 1);
+            ps.setInt(at + 4, room.benchSeatOf(local) + 1);
+            ps.setString(at + 5, Integer.toString(roster.program(student)));
+            ps.setInt(at + 6, roster.semester(student));
+            ps.setInt(at + 7, roster.roll(student));
+        });
+    }
+
+    public List<StoredSeat> findSeats(Integer examId) {
+        return findSeats(List.of(examId));
+    }
+
+    public List<StoredSeat> findSeats(Collection<Integer> examIds) {
+        if (examIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT id, exam_id, room_id, row_number, column_number, seat_index, program_code, semester, roll " +
+                "FROM seating_plan WHERE exam_id IN (" + placeholders(examIds.size()) + ")",
+                (rs, i) -> new StoredSeat(
+                        rs.getInt(1),
+                        rs.getInt(2),
+                        rs.getString(3),
+                        rs.getInt(4),
+                        rs.getInt(5),
+                        rs.getInt(6),
+                        rs.getString(7),
+                        rs.getInt(8),
+                        rs.getInt(9)),
+                examIds.toArray());
+    }
+
+    public int updateOccupants(List<SeatingPlan> seatingPlans) {
+        if (seatingPlans.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE seating_plan SET program_code = ?, semester = ?, roll = ? WHERE id = ?",
+                seatingPlans,
+                ROWS_PER_STATEMENT,
+                (ps, sp) -> {
+                    ps.setString(1, sp.getProgramCode());
+                    ps.setInt(2, sp.getSemester());
+                    ps.setInt(3, sp.getRoll());
+                    ps.setInt(4, sp.getId());
+                });
+        return seatingPlans.size();
+    }
+
+    public int deleteByExamId(Integer examId) {
+        return jdbcTemplate.update("DELETE FROM seating_plan WHERE exam_id = ?", examId);
+    }
+
+    /** Deletes the rows of every exam in one batch; the result holds the count per exam. */
+    public int[] deleteByExamIds(List<Integer> examIds) {
+        if (examIds.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate("DELETE FROM seating_plan WHERE exam_id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, examIds.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return examIds.size();
+                    }
+                });
+    }
+
+    /** Deletes the seats of the given students; only exam id, program, semester and roll are read. */
+    public int deleteByStudents(List<SeatingPlan> seatingPlans) {
+        if (seatingPlans.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM seating_plan WHERE exam_id = ? AND program_code = ? AND semester = ? AND roll = ?",
+                seatingPlans,
+                ROWS_PER_STATEMENT,
+                (ps, sp) -> {
+                    ps.setInt(1, sp.getExamId());
+                    ps.setString(2, sp.getProgramCode());
+                    ps.setInt(3, sp.getSemester());
+                    ps.setInt(4, sp.getRoll());
+                });
+        return seatingPlans.size();
+    }
+
+    public int deleteByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM seating_plan WHERE id = ?",
+                ids,
+                ROWS_PER_STATEMENT,
+                (ps, id) -> ps.setInt(1, id));
+        return ids.size();
+    }
+
+    public int insert(List<SeatingPlan> seatingPlans) {
+        return insertRows(seatingPlans.size(), (ps, at, row) -> {
+            SeatingPlan sp = seatingPlans.get(row);
+            ps.setInt(at, sp.getExamId());
+            ps.setString(at + 1, sp.getRoomNo());
+            ps.setInt(at + 2, sp.getRowNumber());
+            ps.setInt(at + 3, sp.getColumnNumber());
+            ps.setInt(at + 4, sp.getSeatIndex());
+            ps.setString(at + 5, sp.getProgramCode());
+            ps.setInt(at + 6, sp.getSemester());
+            ps.setInt(at + 7, sp.getRoll());
+        });
+    }
+
+    private int insertRows(int count, RowSetter rowSetter) {
+        int fullStatements = count / ROWS_PER_STATEMENT;
+        int tail = count % ROWS_PER_STATEMENT;
+
+        if (fullStatements > 0) {
+            jdbcTemplate.batchUpdate(fullStatement, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setRows(ps, rowSetter, i * ROWS_PER_STATEMENT, ROWS_PER_STATEMENT);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return fullStatements;
+                }
+            });
+        }
+        if (tail > 0) {
+            jdbcTemplate.update(insertStatement(tail),
+                    ps -> setRows(ps, rowSetter, fullStatements * ROWS_PER_STATEMENT, tail));
+        }
+        return count;
+    }
+
+    private static void setRows(PreparedStatement ps, RowSetter rowSetter, int first, int rows) throws SQLException {
+        for (int i = 0; i < rows; i++) {
+            rowSetter.set(ps, i * COLUMNS + 1, first + i);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static String insertStatement(int rows) {
+        StringBuilder sql = new StringBuilder(96 + rows * 18)
+                .append("INSERT INTO seating_plan ")
+                .append("(exam_id, room_id, row_number, column_number, seat_index, program_code, semester, roll) ")
+                .append("VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "(?,?,?,?,?,?,?,?)" : ",(?,?,?,?,?,?,?,?)");
+        }
+        return sql.toString();
+    }
+
+    public record StoredSeat(
+            int id,
+            int examId,
+            String roomNo,
+            int rowNumber,
+            int columnNumber,
+            int seatIndex,
+            String programCode,
+            int semester,
+            int roll
+    ) {}
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int firstParameter, int row) throws SQLException;
+    }
+}
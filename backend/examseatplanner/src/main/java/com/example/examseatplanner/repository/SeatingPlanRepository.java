@@ -2,8 +2,15 @@ package com.example.examseatplanner.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.examseatplanner.model.SeatingPlan;
@@ -13,6 +20,11 @@ public interface SeatingPlanRepository extends JpaRepository<SeatingPlan, Intege
 
     List<SeatingPlan> findByExamId(Integer examId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT sp FROM SeatingPlan sp WHERE sp.examId = :examId " +
+           "ORDER BY sp.roomNo, sp.rowNumber, sp.columnNumber, sp.seatIndex")
+    Stream<SeatingPlan> streamByExamId(@Param("examId") Integer examId);
+
     List<SeatingPlan> findByExamIdAndRoomNo(Integer examId, String roomNo);
 
     void deleteByExamId(Integer examId);
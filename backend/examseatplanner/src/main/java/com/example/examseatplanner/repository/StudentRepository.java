@@ -2,32 +2,22 @@ package com.example.examseatplanner.repository;
 
 import com.example.examseatplanner.model.Student;
 import com.example.examseatplanner.model.Program;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Integer> {
 
-    @Query("""
-        SELECT COUNT(s)
-        FROM Student s
-        WHERE s.program IN (
-            SELECT eps.program
-            FROM ExamProgramSemester eps
-            WHERE eps.exam.id = :examId
-        )
-        AND s.semester IN (
-            SELECT eps.semester
-            FROM ExamProgramSemester eps
-            WHERE eps.exam.id = :examId
-        )
-    """)
-    Long countStudentsForExam(@Param("examId") Integer examId);
+    @Override
+    @EntityGraph(attributePaths = "program")
+    List<Student> findAll();
 
     Optional<Student> findByStudentId(Integer studentId);
 
@@ -41,15 +31,22 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
         SELECT s FROM Student s
         JOIN ExamProgramSemester eps ON eps.program = s.program AND eps.semester = s.semester
         WHERE eps.exam.id = :examId
+        ORDER BY s.studentId
     """)
+    @EntityGraph(attributePaths = "program")
     List<Student> findByExamId(@Param("examId") Integer examId);
 
     List<Student> findByProgramIn(List<Program> programs);
 
+    @Query("SELECT s FROM Student s JOIN FETCH s.program p WHERE p.programCode IN :programCodes ORDER BY s.studentId")
+    List<Student> findWithProgramByProgramCodeIn(@Param("programCodes") Collection<Integer> programCodes);
+
+    @EntityGraph(attributePaths = "program")
     List<Student> findBySemester(Student.Semester semester);
 
     List<Student> findByProgramAndSemester(Program program, Student.Semester semester);
 
+    @EntityGraph(attributePaths = "program")
     @Query("SELECT s FROM Student s WHERE s.program.programCode = :programCode AND s.semester = :semester")
     List<Student> findByProgramCodeAndSemester(@Param("programCode") Integer programCode,
                                                @Param("semester") Student.Semester semester);
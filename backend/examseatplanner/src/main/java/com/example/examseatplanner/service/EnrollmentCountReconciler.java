@@ -0,0 +1,65 @@
+package com.example.examseatplanner.service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.repository.EnrollmentCountRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Compares the stored enrollment counts with a grouped count of the student table and
+ * recounts the groups that differ, catching writes that bypassed {@link StudentService}.
+ * A group changed between the two reads may be recounted needlessly, which is harmless.
+ */
+@Service
+public class EnrollmentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentCountReconciler.class);
+
+    private final EnrollmentCountRepository enrollmentCountRepository;
+    private final Counter corrections;
+
+    public EnrollmentCountReconciler(EnrollmentCountRepository enrollmentCountRepository, MeterRegistry registry) {
+        this.enrollmentCountRepository = enrollmentCountRepository;
+        this.corrections = Counter.builder("seatplan.enrollment.corrections")
+                .description("Enrollment counts found out of step with the student table and recounted")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${seatplan.enrollment.reconcile-interval-ms:900000}",
+               fixedDelayString = "${seatplan.enrollment.reconcile-interval-ms:900000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /** Returns the number of groups recounted. */
+    public int reconcile() {
+        Map<ProgramSemesterDTO, Long> stored = enrollmentCountRepository.findAll();
+        Map<ProgramSemesterDTO, Long> actual = enrollmentCountRepository.countStudents();
+
+        Set<ProgramSemesterDTO> groups = new HashSet<>(stored.keySet());
+        groups.addAll(actual.keySet());
+        int recounted = 0;
+        for (ProgramSemesterDTO ps : groups) {
+            long expected = actual.getOrDefault(ps, 0L);
+            if (!Objects.equals(stored.get(ps), expected)) {
+                logger.warn("Enrollment count of program {} semester {} is {}, students counted {}",
+                        ps.programCode(), ps.semester(), stored.get(ps), expected);
+                enrollmentCountRepository.recount(ps);
+                recounted++;
+            }
+        }
+        corrections.increment(recounted);
+        return recounted;
+    }
+}
@@ -1,57 +1,82 @@
 package com.example.examseatplanner.service;
 
+import com.example.examseatplanner.dto.BulkExamResultDTO;
+import com.example.examseatplanner.dto.ExamCreationResultDTO;
+import com.example.examseatplanner.dto.ExamCreationStatus;
 import com.example.examseatplanner.dto.ExamRequestDTO;
 import com.example.examseatplanner.dto.ExamResponseDTO;
 import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.ExamSavedEvent;
+import com.example.examseatplanner.event.ExamUpdatedEvent;
 import com.example.examseatplanner.exception.ExceedsRoomCapacityException;
 import com.example.examseatplanner.exception.NoStudentException;
 import com.example.examseatplanner.exception.StudentAlreadyHasExamException;
+import com.example.examseatplanner.index.ProgramSemesterIndex;
+import com.example.examseatplanner.index.RoomBookingIndex;
 import com.example.examseatplanner.mapper.ExamMapper;
 import com.example.examseatplanner.model.Exam;
+import com.example.examseatplanner.model.ExamProgramSemester;
 import com.example.examseatplanner.model.Program;
 import com.example.examseatplanner.model.Room;
 import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.EnrollmentCountRepository;
+import com.example.examseatplanner.repository.ExamBatchRepository;
 import com.example.examseatplanner.repository.ExamRepository;
 import com.example.examseatplanner.repository.ProgramRepository;
 import com.example.examseatplanner.repository.RoomRepository;
-import com.example.examseatplanner.repository.SeatingPlanRepository;
-import com.example.examseatplanner.repository.StudentRepository;
 
 import jakarta.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ExamService {
 
     private final ExamRepository examRepository;
+    private final ExamBatchRepository examBatchRepository;
     private final ProgramRepository programRepository;
     private final RoomRepository roomRepository;
-    private final StudentRepository studentRepository;
-    private final SeatingPlanRepository seatingPlanRepository;
+    private final EnrollmentCountRepository enrollmentCountRepository;
+    private final SeatPlanStore seatPlanStore;
+    private final RoomBookingIndex roomBookingIndex;
+    private final ProgramSemesterIndex programSemesterIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ExamService(ExamRepository examRepository,
+                       ExamBatchRepository examBatchRepository,
                        ProgramRepository programRepository,
                        RoomRepository roomRepository,
-                       StudentRepository studentRepository,
-                       SeatingPlanRepository seatingPlanRepository) {
+                       EnrollmentCountRepository enrollmentCountRepository,
+                       SeatPlanStore seatPlanStore,
+                       RoomBookingIndex roomBookingIndex,
+                       ProgramSemesterIndex programSemesterIndex,
+                       ApplicationEventPublisher eventPublisher) {
         this.examRepository = examRepository;
+        this.examBatchRepository = examBatchRepository;
         this.programRepository = programRepository;
         this.roomRepository = roomRepository;
-        this.studentRepository = studentRepository;
-        this.seatingPlanRepository = seatingPlanRepository;
+        this.enrollmentCountRepository = enrollmentCountRepository;
+        this.seatPlanStore = seatPlanStore;
+        this.roomBookingIndex = roomBookingIndex;
+        this.programSemesterIndex = programSemesterIndex;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional
     public List<ExamResponseDTO> getAllExams() {
-        return examRepository.findAll().stream().map(ExamMapper::toDto).toList();
+        return withAssociations(examRepository.findAll()).stream().map(ExamMapper::toDto).toList();
     }
 
   public List<Integer> getBookedRoomsByDate(LocalDate startDate, LocalDate endDate) {
-    return examRepository.findBookedRoomNumbersByDateRange(startDate, endDate);
+    return roomBookingIndex.bookedRooms(startDate, endDate);
   }
 
     // public List<Integer> getBookedRoomsByDate(LocalDate startDate, LocalDate endDate) {
@@ -78,7 +103,7 @@ public class ExamService {
     }
 
    public boolean isRoomBooked(Integer roomNo, LocalDate startDate, LocalDate endDate) {
-        return examRepository.isRoomOccupied(roomNo, startDate, endDate);
+        return roomBookingIndex.isBooked(roomNo, startDate, endDate);
     }
 
 
@@ -88,23 +113,15 @@ public class ExamService {
     }
 
     public Long getTotalStudentsForExam(Integer examId) {
-        return studentRepository.countStudentsForExam(examId);
+        return enrollmentCountRepository.countForExam(examId);
     }
 
     public boolean hasStudentExamConflict(List<ProgramSemesterDTO> programSemesters, LocalDate startDate, LocalDate endDate) {
-    for (ProgramSemesterDTO ps : programSemesters) {
-        Student.Semester semesterEnum = intToSemester(ps.semester());
-        boolean conflict = examRepository.findExamsForProgramSemesterBetweenDates(
-                ps.programCode(),
-                semesterEnum,
-                startDate,
-                endDate
-        ).size() > 0;
-
-        if (conflict) return true;
+        List<ProgramSemesterDTO> requested = programSemesters.stream()
+                .map(ps -> new ProgramSemesterDTO(ps.programCode(), intToSemester(ps.semester()).ordinal() + 1))
+                .toList();
+        return programSemesterIndex.hasConflict(requested, startDate, endDate);
     }
-    return false;
-}
 
     private int calculateEffectiveCapacity(Room room, int programCount) {
         int rows = room.getNumRow();
@@ -119,16 +136,15 @@ public class ExamService {
 
 
     public void validateRoomCapacity(ExamRequestDTO request) {
+        validateRoomCapacity(request, countStudents(request.programSemesters()),
+                roomRepository.findAllById(request.roomNumbers()));
+    }
+
+    private void validateRoomCapacity(ExamRequestDTO request, Map<ProgramSemesterDTO, Long> counts, List<Room> rooms) {
         int totalStudents = request.programSemesters().stream()
-                .mapToInt(ps -> {
-                    Student.Semester semesterEnum = intToSemester(ps.semester());
-                    return (int) studentRepository.countByProgramCodeAndSemester(
-                            ps.programCode(),
-                            semesterEnum);
-                })
+                .mapToInt(ps -> counts.get(ps).intValue())
                 .sum();
         int programCount = request.programSemesters().size();
-        List<Room> rooms = roomRepository.findAllById(request.roomNumbers());
 
 
         int totalRoomCapacity = rooms.stream()
@@ -143,11 +159,7 @@ public class ExamService {
             Map<String, Integer> studentCounts = request.programSemesters().stream()
                     .collect(Collectors.toMap(
                             ps -> "Program " + ps.programCode() + " Semester " + ps.semester(),
-                            ps -> {
-                                Student.Semester semesterEnum = intToSemester(ps.semester());
-                                return (int) studentRepository.countByProgramCodeAndSemester(
-                                        ps.programCode(), semesterEnum);
-                            }
+                            ps -> counts.get(ps).intValue()
                     ));
             throw new ExceedsRoomCapacityException("The number of students is more than the capacity of room"+
             "Room Capacity: "+totalRoomCapacity+
@@ -155,32 +167,51 @@ public class ExamService {
         }
     }
 
+    /**
+     * Students per requested (program, semester), read from the enrollment counts by
+     * primary key. Pairs without students map to 0.
+     */
+    public Map<ProgramSemesterDTO, Long> countStudents(List<ProgramSemesterDTO> programSemesters) {
+        programSemesters.forEach(ps -> intToSemester(ps.semester()));
+        return enrollmentCountRepository.find(programSemesters);
+    }
+
     public ExamResponseDTO createExamFromDto(ExamRequestDTO dto) {
         List<Integer> programCodes = dto.programSemesters().stream()
                 .map(ProgramSemesterDTO::programCode)
                 .distinct()
                 .toList();
-        validateRoomCapacity(dto);
-
+        Map<ProgramSemesterDTO, Long> counts = countStudents(dto.programSemesters());
+        List<Room> rooms = roomRepository.findAllById(dto.roomNumbers());
         List<Program> programs = programRepository.findAllById(programCodes);
-        if (programs.size() != programCodes.size()) {
+        validateExam(dto, counts, programs, programCodes.size(), rooms, () -> hasStudentExamConflict(
+                dto.programSemesters(), LocalDate.parse(dto.startDate()), LocalDate.parse(dto.endDate())));
+
+        Exam exam = ExamMapper.toEntity(dto, programs, rooms);
+        Exam savedExam = examRepository.save(exam);
+        eventPublisher.publishEvent(savedEvent(savedExam));
+        return ExamMapper.toDto(savedExam);
+    }
+
+    /** The checks a new exam has to pass, in order; the conflict lookup runs last but one. */
+    private void validateExam(ExamRequestDTO dto, Map<ProgramSemesterDTO, Long> counts, List<Program> programs,
+                              int programCount, List<Room> rooms, BooleanSupplier studentConflict) {
+        validateRoomCapacity(dto, counts, rooms);
+
+        if (programs.size() != programCount) {
             throw new IllegalArgumentException("One or more program codes are invalid");
         }
 
-        List<Room> rooms = roomRepository.findAllById(dto.roomNumbers());
         if (rooms.size() != dto.roomNumbers().size()) {
             throw new IllegalArgumentException("One or more room numbers are invalid");
         }
 
         long totalStudents = 0;
         for (ProgramSemesterDTO ps : dto.programSemesters()) {
-            int semesterInt = ps.semester();
-            Student.Semester semesterEnum = intToSemester(semesterInt);
-
-            totalStudents += studentRepository.countByProgramCodeAndSemester(ps.programCode(), semesterEnum);
+            totalStudents += counts.get(ps);
         }
 
-        if (hasStudentExamConflict(dto.programSemesters(),LocalDate.parse(dto.startDate()),LocalDate.parse(dto.endDate()))) {
+        if (studentConflict.getAsBoolean()) {
             throw new StudentAlreadyHasExamException("One or more students already have an exam scheduled in this date range"+dto.startDate()+dto.endDate());
         }
 
@@ -195,14 +226,99 @@ public class ExamService {
         if (totalStudents > totalCapacity) {
             throw new ExceedsRoomCapacityException("Room capacity not enough");
         }
+    }
 
+    /**
+     * Creates all of the exams or none of them. Programs, rooms and enrollment counts are read
+     * once; each exam is then checked as {@link #createExamFromDto} would, against the
+     * program-semester index and the exams before it in the batch. When all pass they are
+     * inserted with batched writes, otherwise nothing is.
+     */
+    @Transactional
+    public BulkExamResultDTO createExams(List<ExamRequestDTO> requests) {
+        Set<Integer> programCodes = new HashSet<>();
+        Set<Integer> roomNumbers = new HashSet<>();
+        Set<ProgramSemesterDTO> groups = new HashSet<>();
+        for (ExamRequestDTO dto : requests) {
+            for (ProgramSemesterDTO ps : dto.programSemesters()) {
+                programCodes.add(ps.programCode());
+                if (ps.semester() >= 1 && ps.semester() <= Student.Semester.values().length) {
+                    groups.add(ps);
+                }
+            }
+            roomNumbers.addAll(dto.roomNumbers());
+        }
 
+        Map<Integer, Program> programsByCode = programRepository.findAllById(programCodes).stream()
+                .collect(Collectors.toMap(Program::getProgramCode, Function.identity()));
+        Map<Integer, Room> roomsByNo = roomRepository.findAllById(roomNumbers).stream()
+                .collect(Collectors.toMap(Room::getRoomNo, Function.identity()));
+        Map<ProgramSemesterDTO, Long> counts = enrollmentCountRepository.find(groups);
+        Map<ProgramSemesterDTO, List<Booking>> bookings = new HashMap<>();
+
+        List<Exam> exams = new ArrayList<>(requests.size());
+        List<ExamCreationResultDTO> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ExamRequestDTO dto = requests.get(i);
+            try {
+                Booking booking = new Booking(LocalDate.parse(dto.startDate()), LocalDate.parse(dto.endDate()));
+                dto.programSemesters().forEach(ps -> intToSemester(ps.semester()));
+                List<Integer> codes = dto.programSemesters().stream()
+                        .map(ProgramSemesterDTO::programCode)
+                        .distinct()
+                        .toList();
+                List<Program> programs = codes.stream().map(programsByCode::get).filter(Objects::nonNull).toList();
+                List<Room> rooms = dto.roomNumbers().stream().distinct()
+                        .map(roomsByNo::get).filter(Objects::nonNull).toList();
+                validateExam(dto, counts, programs, codes.size(), rooms, () ->
+                        programSemesterIndex.hasConflict(dto.programSemesters(), booking.start(), booking.end())
+                        || dto.programSemesters().stream().anyMatch(
+                                ps -> bookings.getOrDefault(ps, List.of()).stream().anyMatch(booking::overlaps)));
+
+                exams.add(ExamMapper.toEntity(dto, programs, rooms));
+                dto.programSemesters().forEach(ps -> bookings.computeIfAbsent(ps, k -> new ArrayList<>()).add(booking));
+                results.add(new ExamCreationResultDTO(i, ExamCreationStatus.VALID, null, null));
+            } catch (RuntimeException e) {
+                results.add(new ExamCreationResultDTO(i, rejection(e), e.getMessage(), null));
+            }
+        }
 
-        Exam exam = ExamMapper.toEntity(dto, programs, rooms);
-        Exam savedExam = examRepository.save(exam);
-        return ExamMapper.toDto(savedExam);
+        if (exams.size() < requests.size()) {
+            return new BulkExamResultDTO(false, results);
+        }
+        examBatchRepository.insert(exams);
+        List<ExamCreationResultDTO> created = new ArrayList<>(exams.size());
+        for (int i = 0; i < exams.size(); i++) {
+            eventPublisher.publishEvent(savedEvent(exams.get(i)));
+            created.add(new ExamCreationResultDTO(i, ExamCreationStatus.CREATED, null, ExamMapper.toDto(exams.get(i))));
+        }
+        return new BulkExamResultDTO(true, created);
+    }
+
+    private static ExamSavedEvent savedEvent(Exam exam) {
+        return new ExamSavedEvent(exam.getId(), exam.getStartDate(), exam.getEndDate(),
+                exam.getRooms().stream().map(Room::getRoomNo).toList(),
+                exam.getProgramSemesters().stream().map(ExamService::key).distinct().toList());
+    }
+
+    private static ExamCreationStatus rejection(RuntimeException e) {
+        if (e instanceof ExceedsRoomCapacityException) {
+            return ExamCreationStatus.EXCEEDS_CAPACITY;
+        }
+        if (e instanceof NoStudentException) {
+            return ExamCreationStatus.NO_STUDENTS;
+        }
+        if (e instanceof StudentAlreadyHasExamException) {
+            return ExamCreationStatus.STUDENT_CONFLICT;
+        }
+        return ExamCreationStatus.INVALID;
+    }
+
+    private record Booking(LocalDate start, LocalDate end) {
+        boolean overlaps(Booking other) {
+            return !start.isAfter(other.end) && !other.start.isAfter(end);
+        }
     }
-    
 
     public Student.Semester intToSemester(int sem) {
         Student.Semester[] semesters = Student.Semester.values();
@@ -212,6 +328,7 @@ public class ExamService {
         return semesters[sem - 1];
     }
 
+    @Transactional
     public ExamResponseDTO updateExamFromDto(Integer examId, ExamRequestDTO dto) {
         Optional<Exam> existingExamOpt = examRepository.findById(examId);
         if (existingExamOpt.isEmpty()) {
@@ -233,28 +350,61 @@ public class ExamService {
             throw new IllegalArgumentException("One or more room numbers are invalid");
         }
 
-        Exam exam = ExamMapper.toEntity(dto, programs, rooms);
-        exam.setId(examId);
+        Exam requested = ExamMapper.toEntity(dto, programs, rooms);
+        Exam exam = existingExamOpt.get();
+        exam.setStartDate(requested.getStartDate());
+        exam.setEndDate(requested.getEndDate());
+        exam.setRooms(rooms);
+        // unchanged program semesters stay: new rows are inserted before orphans are deleted
+        Set<ProgramSemesterDTO> added = requested.getProgramSemesters().stream()
+                .map(ExamService::key)
+                .collect(Collectors.toCollection(HashSet::new));
+        exam.getProgramSemesters().removeIf(eps -> !added.remove(key(eps)));
+        for (ExamProgramSemester eps : requested.getProgramSemesters()) {
+            if (added.remove(key(eps))) {
+                eps.setExam(exam);
+                exam.getProgramSemesters().add(eps);
+            }
+        }
 
         Exam savedExam = examRepository.save(exam);
+        eventPublisher.publishEvent(savedEvent(savedExam));
+        eventPublisher.publishEvent(new ExamUpdatedEvent(examId));
         return ExamMapper.toDto(savedExam);
     }
 
+    private static ProgramSemesterDTO key(ExamProgramSemester eps) {
+        return new ProgramSemesterDTO(eps.getProgram().getProgramCode(), eps.getSemester().ordinal() + 1);
+    }
+
     @Transactional
     public boolean deleteExam(Integer examId) {
         if (!examRepository.existsById(examId)) {
             return false;
         }
-        seatingPlanRepository.deleteByExamId(examId);
+        seatPlanStore.delete(examId);
         examRepository.deleteById(examId);
+        eventPublisher.publishEvent(new ExamDeletedEvent(examId));
         return true;
     }
 
+    @Transactional
     public List<Exam> getExamsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return examRepository.findOverlappingExams(startDate, endDate);
+        List<Integer> examIds = roomBookingIndex.overlappingExams(startDate, endDate);
+        return examIds.isEmpty() ? List.of() : withAssociations(examRepository.findAllById(examIds));
     }
 
+    @Transactional
     public List<Exam> getExamsByProgramCode(Integer programCode) {
-        return examRepository.findByProgramCode(programCode);
+        return withAssociations(examRepository.findByProgramCode(programCode));
+    }
+
+    /** Loads the program semesters and rooms of all the exams with two queries instead of two per exam. */
+    private List<Exam> withAssociations(List<Exam> exams) {
+        if (!exams.isEmpty()) {
+            examRepository.fetchProgramSemesters(exams);
+            examRepository.fetchRooms(exams);
+        }
+        return exams;
     }
 }
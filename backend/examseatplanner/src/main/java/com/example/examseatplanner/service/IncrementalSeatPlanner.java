@@ -0,0 +1,365 @@
+package com.example.examseatplanner.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.RoomOccupancy;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.ExamUpdatedEvent;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+import com.example.examseatplanner.mapper.RoomMapper;
+import com.example.examseatplanner.model.Room;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.ExamRepository;
+import com.example.examseatplanner.repository.PackedRoomPlanRepository;
+import com.example.examseatplanner.repository.RoomRepository;
+import com.example.examseatplanner.repository.SeatingPlanBatchRepository;
+import com.example.examseatplanner.repository.SeatingPlanBatchRepository.StoredSeat;
+
+/**
+ * Keeps the stored plans of unfinished exams in step with late students, withdrawals and
+ * room geometry changes without regenerating them. Each exam's seats are loaded once into
+ * a {@link RoomOccupancy} per room; after that a change writes only the seats it moves.
+ * Exams stored as packed records or without a plan are left to full generation.
+ *
+ * <p>Changes run under the exam's row lock, the same lock generation takes. Full
+ * generations, packing and exam updates evict the exam while still holding that lock, so
+ * the next change reloads the committed plan.
+ */
+@Service
+public class IncrementalSeatPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSeatPlanner.class);
+
+    private final ExamRepository examRepository;
+    private final RoomRepository roomRepository;
+    private final PackedRoomPlanRepository packedRoomPlanRepository;
+    private final SeatingPlanBatchRepository seatingPlanBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Integer, ExamOccupancy> exams;
+
+    public IncrementalSeatPlanner(ExamRepository examRepository,
+                                  RoomRepository roomRepository,
+                                  PackedRoomPlanRepository packedRoomPlanRepository,
+                                  SeatingPlanBatchRepository seatingPlanBatchRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${seatplan.incremental.max-exams:64}") int maxExams) {
+        this.examRepository = examRepository;
+        this.roomRepository = roomRepository;
+        this.packedRoomPlanRepository = packedRoomPlanRepository;
+        this.seatingPlanBatchRepository = seatingPlanBatchRepository;
+        this.eventPublisher = eventPublisher;
+        this.exams = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ExamOccupancy> eldest) {
+                return size() > maxExams;
+            }
+        };
+    }
+
+    /** Seats a new student in every unfinished, already planned exam of their program and semester. */
+    @Transactional
+    public void studentAdded(Student student) {
+        studentsAdded(List.of(student));
+    }
+
+    /** Like {@link #studentAdded}, looking up the exams once per program and semester. */
+    @Transactional
+    public void studentsAdded(List<Student> students) {
+        Map<ProgramSemester, List<Student>> byGroup = students.stream().collect(Collectors.groupingBy(
+                s -> new ProgramSemester(s.getProgram().getProgramCode(), s.getSemester()),
+                LinkedHashMap::new, Collectors.toList()));
+
+        for (Map.Entry<ProgramSemester, List<Student>> group : byGroup.entrySet()) {
+            Integer programCode = group.getKey().programCode();
+            Student.Semester semester = group.getKey().semester();
+            for (Integer examId : examRepository.findUnfinishedExamIdsForProgramSemester(programCode, semester)) {
+                ExamOccupancy exam = lock(examId);
+                if (exam == null) {
+                    continue;
+                }
+                List<SeatingPlan> seats = new ArrayList<>();
+                for (Student student : group.getValue()) {
+                    long key = RoomOccupancy.student(programCode, semester.ordinal() + 1, student.getRoll());
+                    if (exam.contains(key)) {
+                        continue;
+                    }
+                    SeatingPlan seat = exam.place(examId, key);
+                    if (seat == null) {
+                        logger.warn("No free seat left in exam {} for program {} semester {} roll {}",
+                                examId, programCode, semester, student.getRoll());
+                        continue;
+                    }
+                    seats.add(seat);
+                }
+                if (!seats.isEmpty()) {
+                    seatingPlanBatchRepository.insert(seats);
+                    changed(examId);
+                }
+            }
+        }
+    }
+
+    /** Frees the seats a removed student held in unfinished exams. */
+    @Transactional
+    public void studentWithdrawn(Integer programCode, Student.Semester semester, int roll) {
+        long key = RoomOccupancy.student(programCode, semester.ordinal() + 1, roll);
+
+        for (Integer examId : examRepository.findUnfinishedExamIdsForProgramSemester(programCode, semester)) {
+            ExamOccupancy exam = lock(examId);
+            if (exam == null) {
+                continue;
+            }
+            SeatingPlan seat = exam.release(examId, key);
+            if (seat != null) {
+                seatingPlanBatchRepository.deleteByStudents(List.of(seat));
+                changed(examId);
+            }
+        }
+    }
+
+    /** Re-flows the room in every unfinished exam that uses it; other rooms are not touched. */
+    @Transactional
+    public void roomChanged(Room room) {
+        RoomLayout layout = RoomMapper.toLayout(room);
+        for (Integer examId : examRepository.findUnfinishedExamIdsByRoomNo(room.getRoomNo())) {
+            ExamOccupancy exam = lock(examId);
+            if (exam != null && reflow(examId, exam, layout)) {
+                changed(examId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onSeatPlanChanged(SeatPlanChangedEvent event) {
+        if (!event.incremental()) {
+            evict(event.examId());
+        }
+    }
+
+    @EventListener
+    public void onExamUpdated(ExamUpdatedEvent event) {
+        evict(event.examId());
+    }
+
+    @EventListener
+    public void onExamDeleted(ExamDeletedEvent event) {
+        evict(event.examId());
+    }
+
+    private synchronized void evict(Integer examId) {
+        exams.remove(examId);
+    }
+
+    private ExamOccupancy lock(Integer examId) {
+        if (examRepository.findByIdForUpdate(examId).isEmpty()) {
+            return null;
+        }
+        ExamOccupancy exam;
+        synchronized (this) {
+            exam = exams.get(examId);
+        }
+        if (exam != null) {
+            return exam;
+        }
+
+        exam = load(examId);
+        if (exam == null) {
+            return null;
+        }
+        boolean reflowed = false;
+        for (RoomLayout layout : exam.currentLayouts) {
+            reflowed |= reflow(examId, exam, layout);
+        }
+        if (reflowed) {
+            changed(examId);
+        }
+        synchronized (this) {
+            exams.put(examId, exam);
+        }
+        return exam;
+    }
+
+    private ExamOccupancy load(Integer examId) {
+        if (packedRoomPlanRepository.existsByExamId(examId)) {
+            return null;
+        }
+        List<StoredSeat> stored = seatingPlanBatchRepository.findSeats(examId);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        List<Room> rooms = new ArrayList<>(roomRepository.findAllById(examRepository.findRoomNumbersByExamId(examId)));
+        rooms.sort(Comparator.comparing(Room::getRoomNo));
+        Map<String, List<StoredSeat>> byRoom = stored.stream().collect(Collectors.groupingBy(StoredSeat::roomNo));
+        if (!rooms.stream().map(r -> r.getRoomNo().toString()).toList().containsAll(byRoom.keySet())) {
+            // The exam's rooms changed since the plan was saved; that needs a full generation.
+            return null;
+        }
+
+        ExamOccupancy exam = new ExamOccupancy();
+        for (Room room : rooms) {
+            RoomLayout current = RoomMapper.toLayout(room);
+            List<StoredSeat> seats = byRoom.getOrDefault(room.getRoomNo().toString(), List.of());
+            // Seats saved before a geometry change may lie outside the room; they are re-flowed right after.
+            RoomLayout layout = new RoomLayout(room.getRoomNo(),
+                    Math.max(current.rows(), seats.stream().mapToInt(StoredSeat::rowNumber).max().orElse(0)),
+                    Math.max(current.columns(), seats.stream().mapToInt(StoredSeat::columnNumber).max().orElse(0)),
+                    Math.max(current.seatsPerBench(), seats.stream().mapToInt(StoredSeat::seatIndex).max().orElse(0)));
+            int r = exam.addRoom(layout, current);
+            for (StoredSeat seat : seats) {
+                exam.take(r, layout.seatAt(seat.rowNumber() - 1, seat.columnNumber() - 1, seat.seatIndex() - 1),
+                        RoomOccupancy.student(Integer.parseInt(seat.programCode()), seat.semester(), seat.roll()));
+            }
+        }
+        return exam;
+    }
+
+    private boolean reflow(Integer examId, ExamOccupancy exam, RoomLayout layout) {
+        List<SeatingPlan> removed = new ArrayList<>();
+        List<SeatingPlan> placed = new ArrayList<>();
+        if (!exam.reflow(examId, layout, removed, placed)) {
+            return false;
+        }
+        seatingPlanBatchRepository.deleteByStudents(removed);
+        seatingPlanBatchRepository.insert(placed);
+        if (placed.size() < removed.size()) {
+            logger.warn("Room {} of exam {} shrank; {} students no longer have a seat",
+                    layout.roomNo(), examId, removed.size() - placed.size());
+        }
+        return true;
+    }
+
+    private void changed(Integer examId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        evict(examId);
+                    }
+                }
+            });
+        }
+        eventPublisher.publishEvent(new SeatPlanChangedEvent(examId, true));
+    }
+
+    private record ProgramSemester(Integer programCode, Student.Semester semester) {}
+
+    private static final class ExamOccupancy {
+
+        private final List<RoomOccupancy> rooms = new ArrayList<>();
+        private final List<RoomLayout> currentLayouts = new ArrayList<>();
+        // student -> room index << 32 | seat
+        private final Map<Long, Long> seats = new HashMap<>();
+
+        private int addRoom(RoomLayout layout, RoomLayout current) {
+            rooms.add(new RoomOccupancy(layout));
+            currentLayouts.add(current);
+            return rooms.size() - 1;
+        }
+
+        private boolean contains(long student) {
+            return seats.containsKey(student);
+        }
+
+        private void take(int r, int seat, long student) {
+            rooms.get(r).place(seat, student);
+            seats.put(student, (long) r << 32 | seat);
+        }
+
+        private SeatingPlan place(Integer examId, long student) {
+            for (int r = 0; r < rooms.size(); r++) {
+                int seat = rooms.get(r).findSeat(student);
+                if (seat != RoomOccupancy.NO_SEAT) {
+                    take(r, seat, student);
+                    return toSeatingPlan(examId, r, seat, student);
+                }
+            }
+            for (int r = 0; r < rooms.size(); r++) {
+                int seat = rooms.get(r).firstFreeSeat();
+                if (seat != RoomOccupancy.NO_SEAT) {
+                    take(r, seat, student);
+                    return toSeatingPlan(examId, r, seat, student);
+                }
+            }
+            return null;
+        }
+
+        private SeatingPlan release(Integer examId, long student) {
+            Long at = seats.remove(student);
+            if (at == null) {
+                return null;
+            }
+            int r = (int) (at >>> 32);
+            int seat = (int) (long) at;
+            rooms.get(r).release(seat);
+            return toSeatingPlan(examId, r, seat, student);
+        }
+
+        /**
+         * Moves room {@code layout.roomNo()} to its new geometry. Students left without a
+         * seat go to {@code removed}; the seats found for them, in this room or another,
+         * go to {@code placed}.
+         */
+        private boolean reflow(Integer examId, RoomLayout layout, List<SeatingPlan> removed, List<SeatingPlan> placed) {
+            int r = 0;
+            while (r < rooms.size() && !rooms.get(r).layout().roomNo().equals(layout.roomNo())) {
+                r++;
+            }
+            if (r == rooms.size()) {
+                return false;
+            }
+            currentLayouts.set(r, layout);
+            RoomOccupancy room = rooms.get(r);
+            if (room.layout().equals(layout)) {
+                return false;
+            }
+
+            long[] displaced = room.resize(layout);
+            for (int seat = room.nextTakenSeat(0); seat != RoomOccupancy.NO_SEAT; seat = room.nextTakenSeat(seat + 1)) {
+                seats.put(room.occupant(seat), (long) r << 32 | seat);
+            }
+            for (long student : displaced) {
+                seats.remove(student);
+                removed.add(toSeatingPlan(examId, r, RoomOccupancy.NO_SEAT, student));
+            }
+            for (long student : displaced) {
+                SeatingPlan seat = place(examId, student);
+                if (seat != null) {
+                    placed.add(seat);
+                }
+            }
+            return true;
+        }
+
+        private SeatingPlan toSeatingPlan(Integer examId, int r, int seat, long student) {
+            RoomLayout layout = rooms.get(r).layout();
+            boolean seated = seat != RoomOccupancy.NO_SEAT;
+            return new SeatingPlan(null, examId, layout.roomNo().toString(),
+                    seated ? layout.rowOf(seat) + 1 : null,
+                    seated ? layout.columnOf(seat) + 1 : null,
+                    Integer.toString(RoomOccupancy.program(student)),
+                    RoomOccupancy.semester(student),
+                    RoomOccupancy.roll(student),
+                    seated ? layout.benchSeatOf(seat) + 1 : null);
+        }
+    }
+}
@@ -6,10 +6,12 @@ import com.example.examseatplanner.exception.ProgramHasExamException;
 import com.example.examseatplanner.exception.ProgramHasStudentsException;
 import com.example.examseatplanner.mapper.ProgramMapper;
 import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.repository.EnrollmentCountRepository;
 import com.example.examseatplanner.repository.ProgramRepository;
 import com.example.examseatplanner.repository.StudentRepository;
 
 import io.micrometer.common.util.StringUtils;
+import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -22,12 +24,15 @@ public class ProgramService {
 
     private final ProgramRepository programRepository;
     private final StudentRepository studentRepository;
+    private final EnrollmentCountRepository enrollmentCountRepository;
 
 
     public ProgramService(ProgramRepository programRepository,
-    StudentRepository studentRepository) {
+    StudentRepository studentRepository,
+    EnrollmentCountRepository enrollmentCountRepository) {
         this.programRepository = programRepository;
         this.studentRepository = studentRepository;
+        this.enrollmentCountRepository = enrollmentCountRepository;
     }
 
     public List<ProgramResponseDTO> getAllPrograms() {
@@ -44,9 +49,11 @@ public class ProgramService {
         return programRepository.findAllById(ids);
     }
 
+    @Transactional
     public ProgramResponseDTO saveProgram(ProgramRequestDTO dto) {
         Program program = ProgramMapper.toEntity(dto);
-        Program saved = programRepository.save(program);
+        Program saved = programRepository.saveAndFlush(program);
+        enrollmentCountRepository.seed(List.of(saved.getProgramCode()));
         return ProgramMapper.toDTO(saved);
     }
 
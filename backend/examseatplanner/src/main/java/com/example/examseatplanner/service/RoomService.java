@@ -2,29 +2,58 @@ package com.example.examseatplanner.service;
 
 import com.example.examseatplanner.dto.RoomRequestDTO;
 import com.example.examseatplanner.dto.RoomResponseDTO;
+import com.example.examseatplanner.event.RoomUpdatedEvent;
+import com.example.examseatplanner.index.RoomBookingIndex;
 import com.example.examseatplanner.mapper.RoomMapper;
 import com.example.examseatplanner.model.Room;
 import com.example.examseatplanner.repository.RoomRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IncrementalSeatPlanner incrementalSeatPlanner;
+    private final RoomBookingIndex roomBookingIndex;
 
-    public RoomService(RoomRepository roomRepository){
+    public RoomService(RoomRepository roomRepository, ApplicationEventPublisher eventPublisher,
+                       IncrementalSeatPlanner incrementalSeatPlanner, RoomBookingIndex roomBookingIndex){
         this.roomRepository = roomRepository;
+        this.eventPublisher = eventPublisher;
+        this.incrementalSeatPlanner = incrementalSeatPlanner;
+        this.roomBookingIndex = roomBookingIndex;
     }
 
     public List<RoomResponseDTO> getAllRooms() {
         return RoomMapper.toDTOList(roomRepository.findAll());
     }
 
+    /** Rooms no exam books on any day of the range, or only those among {@code roomNumbers} when given. */
+    public List<RoomResponseDTO> getFreeRooms(LocalDate startDate, LocalDate endDate, List<Integer> roomNumbers) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        List<Room> rooms = roomNumbers == null ? roomRepository.findAll() : roomRepository.findAllById(roomNumbers);
+        Set<Integer> free = new HashSet<>(
+                roomBookingIndex.freeRooms(rooms.stream().map(Room::getRoomNo).toList(), startDate, endDate));
+        return RoomMapper.toDTOList(rooms.stream()
+                .filter(room -> free.contains(room.getRoomNo()))
+                .sorted(Comparator.comparing(Room::getRoomNo))
+                .toList());
+    }
+
     public Optional<RoomResponseDTO> getRoomById(Integer roomNo) {
         return roomRepository.findById(roomNo)
                 .map(RoomMapper::toDTO);
@@ -55,6 +84,7 @@ public class RoomService {
         roomRepository.deleteById(roomNo);
     }
 
+    @Transactional
     public RoomResponseDTO updateRoom(Integer roomNo, RoomRequestDTO dto) {
             Room existingRoom = roomRepository.findById(roomNo)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
@@ -64,6 +94,8 @@ public class RoomService {
             existingRoom.setRoomColumn(dto.roomColumn());
 
             Room updated = roomRepository.save(existingRoom);
+            incrementalSeatPlanner.roomChanged(updated);
+            eventPublisher.publishEvent(new RoomUpdatedEvent(roomNo));
 
             return new RoomResponseDTO(
                     updated.getRoomNo(),
@@ -0,0 +1,226 @@
+package com.example.examseatplanner.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.RosterIndex;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.allocation.SeatAllocationEngine;
+import com.example.examseatplanner.allocation.SeatAllocationEngines;
+import com.example.examseatplanner.dto.BatchGenerationDTO;
+import com.example.examseatplanner.dto.ExamBatchResultDTO;
+import com.example.examseatplanner.dto.ExamBatchStatus;
+import com.example.examseatplanner.dto.RoomConflictDTO;
+import com.example.examseatplanner.dto.SeatPlanChangesDTO;
+import com.example.examseatplanner.dto.StudentDTO;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+import com.example.examseatplanner.model.Exam;
+import com.example.examseatplanner.model.ExamProgramSemester;
+import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.model.Room;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.ExamRepository;
+import com.example.examseatplanner.repository.StudentRepository;
+
+/**
+ * Generates every exam overlapping a date window in one transaction. Exams, rooms,
+ * programs and the students of all programs involved are read once. Exams that share
+ * a room on a common day with another exam, inside the window or not, are reported and
+ * left alone. The remaining plans are allocated
+ * in parallel and saved together.
+ */
+@Service
+public class SeatPlanBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatPlanBatchService.class);
+
+    private final ExamRepository examRepository;
+    private final StudentRepository studentRepository;
+    private final SeatAllocationEngines seatAllocationEngines;
+    private final SeatPlanStore seatPlanStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SeatPlanBatchService(ExamRepository examRepository,
+                                StudentRepository studentRepository,
+                                SeatAllocationEngines seatAllocationEngines,
+                                SeatPlanStore seatPlanStore,
+                                ApplicationEventPublisher eventPublisher) {
+        this.examRepository = examRepository;
+        this.studentRepository = studentRepository;
+        this.seatAllocationEngines = seatAllocationEngines;
+        this.seatPlanStore = seatPlanStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public BatchGenerationDTO generateForDateRange(LocalDate startDate, LocalDate endDate, AllocationMode mode) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        long started = System.nanoTime();
+        List<Exam> exams = examRepository.findOverlappingExamsForUpdate(startDate, endDate);
+        if (exams.isEmpty()) {
+            return new BatchGenerationDTO(startDate, endDate, List.of(), List.of());
+        }
+        examRepository.fetchProgramSemesters(exams);
+        examRepository.fetchRooms(exams);
+
+        List<RoomConflictDTO> conflicts = findRoomConflicts(exams, findOtherBookings(exams));
+        Set<Integer> conflicted = new HashSet<>();
+        for (RoomConflictDTO conflict : conflicts) {
+            conflicted.add(conflict.examId());
+            conflicted.add(conflict.otherExamId());
+        }
+        List<Exam> plannable = exams.stream().filter(e -> !conflicted.contains(e.getId())).toList();
+
+        Map<Long, List<StudentDTO>> studentsByGroup = loadStudents(plannable);
+
+        SeatAllocationEngine engine = seatAllocationEngines.get(mode);
+        Map<Integer, SeatAllocation> allocations = plannable.parallelStream()
+                .collect(Collectors.toConcurrentMap(Exam::getId, exam -> allocate(exam, studentsByGroup, engine)));
+        Map<Integer, SeatPlanChangesDTO> changes = seatPlanStore.saveAll(allocations);
+
+        List<ExamBatchResultDTO> results = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            SeatAllocation allocation = allocations.get(exam.getId());
+            if (allocation == null) {
+                results.add(new ExamBatchResultDTO(exam.getId(), ExamBatchStatus.ROOM_CONFLICT, 0, 0, null));
+                continue;
+            }
+            ExamBatchStatus status = allocation.unplaced() > 0 ? ExamBatchStatus.PARTIAL : ExamBatchStatus.GENERATED;
+            results.add(new ExamBatchResultDTO(exam.getId(), status, allocation.placed(), allocation.unplaced(),
+                    changes.get(exam.getId())));
+            eventPublisher.publishEvent(new SeatPlanChangedEvent(exam.getId()));
+        }
+
+        logger.debug("Generated {} of {} exams between {} and {} in {} ms", allocations.size(), exams.size(),
+                startDate, endDate, (System.nanoTime() - started) / 1_000_000);
+        return new BatchGenerationDTO(startDate, endDate, results, conflicts);
+    }
+
+    /**
+     * Bookings of the rooms these exams use by exams outside the list, over the span of the
+     * list. An exam reaching past the window can clash with one the window query missed.
+     */
+    private List<Booking> findOtherBookings(List<Exam> exams) {
+        Set<Integer> roomNumbers = new HashSet<>();
+        Set<Integer> examIds = new HashSet<>();
+        LocalDate from = exams.get(0).getStartDate();
+        LocalDate to = exams.get(0).getEndDate();
+        for (Exam exam : exams) {
+            examIds.add(exam.getId());
+            exam.getRooms().forEach(room -> roomNumbers.add(room.getRoomNo()));
+            from = exam.getStartDate().isBefore(from) ? exam.getStartDate() : from;
+            to = exam.getEndDate().isAfter(to) ? exam.getEndDate() : to;
+        }
+        if (roomNumbers.isEmpty()) {
+            return List.of();
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        for (Object[] row : examRepository.findOtherRoomBookings(roomNumbers, from, to, examIds)) {
+            bookings.add(new Booking((Integer) row[0], (Integer) row[1], (LocalDate) row[2], (LocalDate) row[3], false));
+        }
+        return bookings;
+    }
+
+    /**
+     * Pairs of exams that book the same room on at least one common day, where at least
+     * one of the two is in the batch.
+     */
+    private static List<RoomConflictDTO> findRoomConflicts(List<Exam> exams, List<Booking> others) {
+        Map<Integer, List<Booking>> byRoom = new HashMap<>();
+        for (Exam exam : exams) {
+            for (Room room : exam.getRooms()) {
+                byRoom.computeIfAbsent(room.getRoomNo(), r -> new ArrayList<>())
+                        .add(new Booking(room.getRoomNo(), exam.getId(), exam.getStartDate(), exam.getEndDate(), true));
+            }
+        }
+        for (Booking other : others) {
+            List<Booking> booked = byRoom.get(other.roomNo());
+            if (booked != null) {
+                booked.add(other);
+            }
+        }
+
+        List<RoomConflictDTO> conflicts = new ArrayList<>();
+        for (Map.Entry<Integer, List<Booking>> entry : byRoom.entrySet()) {
+            List<Booking> booked = entry.getValue();
+            booked.sort(Comparator.comparing(Booking::startDate));
+            for (int i = 0; i < booked.size(); i++) {
+                Booking booking = booked.get(i);
+                for (int j = i + 1; j < booked.size() && !booked.get(j).startDate().isAfter(booking.endDate()); j++) {
+                    Booking other = booked.get(j);
+                    if (booking.inBatch() || other.inBatch()) {
+                        conflicts.add(booking.inBatch()
+                                ? new RoomConflictDTO(entry.getKey(), booking.examId(), other.examId())
+                                : new RoomConflictDTO(entry.getKey(), other.examId(), booking.examId()));
+                    }
+                }
+            }
+        }
+        conflicts.sort(Comparator.comparing(RoomConflictDTO::roomNo).thenComparing(RoomConflictDTO::examId));
+        return conflicts;
+    }
+
+    private record Booking(Integer roomNo, Integer examId, LocalDate startDate, LocalDate endDate, boolean inBatch) {}
+
+    private Map<Long, List<StudentDTO>> loadStudents(List<Exam> exams) {
+        Set<Integer> programCodes = new HashSet<>();
+        for (Exam exam : exams) {
+            for (ExamProgramSemester eps : exam.getProgramSemesters()) {
+                programCodes.add(eps.getProgram().getProgramCode());
+            }
+        }
+        if (programCodes.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<StudentDTO>> byGroup = new HashMap<>();
+        for (Student s : studentRepository.findWithProgramByProgramCodeIn(programCodes)) {
+            if (s.getSemester() == null) continue;
+            StudentDTO student = new StudentDTO(s.getProgram().getProgramCode(), s.getSemester().ordinal() + 1, s.getRoll());
+            byGroup.computeIfAbsent(group(student.programCode(), student.semester()), g -> new ArrayList<>()).add(student);
+        }
+        return byGroup;
+    }
+
+    private static SeatAllocation allocate(Exam exam, Map<Long, List<StudentDTO>> studentsByGroup,
+                                           SeatAllocationEngine engine) {
+        Set<Long> groups = new LinkedHashSet<>();
+        for (ExamProgramSemester eps : exam.getProgramSemesters()) {
+            groups.add(group(eps.getProgram().getProgramCode(), eps.getSemester().ordinal() + 1));
+        }
+        List<StudentDTO> students = new ArrayList<>();
+        for (Long group : groups) {
+            students.addAll(studentsByGroup.getOrDefault(group, List.of()));
+        }
+
+        List<Integer> programCodes = exam.getPrograms().stream().map(Program::getProgramCode).toList();
+        List<RoomLayout> rooms = exam.getRooms().stream()
+                .map(r -> new RoomLayout(r.getRoomNo(), r.getNumRow(), r.getRoomColumn(), r.getSeatsPerBench()))
+                .toList();
+        return engine.allocate(RosterIndex.build(programCodes, students).roster(), rooms);
+    }
+
+    private static long group(int programCode, int semester) {
+        return (long) programCode << 8 | semester;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.examseatplanner.service;
+
+import com.example.examseatplanner.allocation.ObjectiveListener;
+
+/** Callbacks from seat plan generation, invoked on the generating thread. */
+public interface SeatPlanProgress extends ObjectiveListener {
+
+    SeatPlanProgress NONE = new SeatPlanProgress() {};
+
+    default void loading() {}
+
+    default void allocating() {}
+
+    default void allocated(int placed, int unplaced) {}
+
+    default void saving() {}
+}
@@ -1,14 +1,36 @@
 package com.example.examseatplanner.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
+import jakarta.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Tags;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.RosterIndex;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.allocation.SeatAllocationEngines;
+import com.example.examseatplanner.cache.PlanVersions;
+import com.example.examseatplanner.cache.RoomPlanCache;
 import com.example.examseatplanner.dto.*;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+import com.example.examseatplanner.index.SeatLookupIndex;
 import com.example.examseatplanner.exception.ExceedsRoomCapacityException;
-import com.example.examseatplanner.mapper.SeatPlanMapper;
+import com.example.examseatplanner.mapper.RoomMapper;
+import com.example.examseatplanner.metrics.SeatPlanMetrics;
 import com.example.examseatplanner.model.*;
 import com.example.examseatplanner.repository.*;
 
@@ -16,148 +38,148 @@ import com.example.examseatplanner.repository.*;
 @Service
 public class SeatPlanService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SeatPlanService.class);
+
     private final ExamDataService examDataService;
     private final SeatingPlanRepository seatingPlanRepository;
     private final ExamRepository examRepository;
+    private final SeatAllocationEngines seatAllocationEngines;
+    private final SeatPlanStore seatPlanStore;
+    private final RoomPlanCache roomPlanCache;
+    private final SeatLookupIndex seatLookupIndex;
+    private final PlanVersions planVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final SeatPlanMetrics metrics;
 
     public SeatPlanService(
             ExamDataService examDataService,
             SeatingPlanRepository seatingPlanRepository,
-            ExamRepository examRepository){
+            ExamRepository examRepository,
+            SeatAllocationEngines seatAllocationEngines,
+            SeatPlanStore seatPlanStore,
+            RoomPlanCache roomPlanCache,
+            SeatLookupIndex seatLookupIndex,
+            PlanVersions planVersions,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            SeatPlanMetrics metrics){
         this.examDataService = examDataService;
         this.seatingPlanRepository = seatingPlanRepository;
         this.examRepository = examRepository;
+        this.seatAllocationEngines = seatAllocationEngines;
+        this.seatPlanStore = seatPlanStore;
+        this.roomPlanCache = roomPlanCache;
+        this.seatLookupIndex = seatLookupIndex;
+        this.planVersions = planVersions;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
 
-    public void generateAndSaveSeatingPlan(Integer examId) {
-
-        ExamDataDTO examDataDTO = examDataService.getExamData(examId);
-
-        List<ProgramResponseDTO> programList = examDataDTO.programs();
-        List<StudentDTO> studentList = examDataDTO.students();
-        List<RoomResponseDTO> roomList = examDataDTO.rooms();
-
-        Map<Integer, Queue<StudentDTO>> programQueues = new LinkedHashMap<>();
-        // Map<Integer, Queue<StudentDTO>> programQueues = programQueuesOriginal.entrySet()
-        //                                         .stream()
-        //                                         .collect(Collectors.toMap(
-        //                                             Map.Entry::getKey,
-        //                                             e -> npew LinkedList<>(e.getValue()),
-        //                                             (a, b) -> a,
-        //                                             LinkedHashMap::new
-        //                                         ));
-        for (ProgramResponseDTO p : programList) {
-            Queue<StudentDTO> q = new LinkedList<>(
-                    studentList.stream()
-                            .filter(s -> s.programCode().equals(p.programCode()))
-                            .toList()
-            );
-            programQueues.put(p.programCode(), q);
-        }
+    @Transactional
+    public SeatPlanGenerationDTO generateAndSaveSeatingPlan(Integer examId) {
+        return generateAndSaveSeatingPlan(examId, seatAllocationEngines.defaultMode());
+    }
 
-        List<SeatingPlan> saveList = new ArrayList<>();
+    @Transactional
+    public SeatPlanGenerationDTO generateAndSaveSeatingPlan(Integer examId, AllocationMode mode) {
+        return generateAndSaveSeatingPlan(examId, mode, SeatPlanProgress.NONE);
+    }
 
-        for (RoomResponseDTO room : roomList) {
-            List<Queue<StudentDTO>> remainingPrograms = new ArrayList<>(programQueues.values());
-            int rows = room.numRow();
-            int cols = room.roomColumn();
-            int seatsPerBench = room.seatsPerBench();
-            String roomNo = room.roomNo().toString();
+    @Transactional
+    public SeatPlanGenerationDTO generateAndSaveSeatingPlan(Integer examId, AllocationMode mode,
+                                                         SeatPlanProgress progress) {
+        progress.loading();
+        examRepository.findByIdForUpdate(examId)
+                .orElseThrow(() -> new RuntimeException("Exam not found: " + examId));
 
-            Queue<StudentDTO>[] seatProgram = new Queue[seatsPerBench];
+        long started = System.nanoTime();
+        ExamDataDTO examDataDTO = examDataService.getExamData(examId);
 
-            for (int seat = 0; seat < seatsPerBench; seat++) {
-                if (!remainingPrograms.isEmpty()) {
-                    seatProgram[seat] = remainingPrograms.remove(0);
-                } else {
-                    seatProgram[seat] = new LinkedList<>();
-                }
-            }
-
-            
-            for (int col = 0; col < cols; col++) {
-                for (int row = 0; row < rows; row++) {
-
-                    for (int seat = 0; seat < seatsPerBench; seat++) {
-
-                        Queue<StudentDTO> currentQueue = seatProgram[seat];
-
-                        if (currentQueue.isEmpty()) {
-                            if (!remainingPrograms.isEmpty()) {
-                                currentQueue = remainingPrograms.remove(0);
-                                seatProgram[seat] = currentQueue;
-                            } else {
-                                continue; 
-                            }
-                        }
-
-                        StudentDTO student = currentQueue.poll();
-                        if (student == null) continue;
-                            
-                        SeatingPlan seatingPlan = new SeatingPlan(
-                                null,
-                                examId,
-                                roomNo,
-                                row+1,
-                                col+1,
-                                student.programCode().toString(),
-                                student.semester(),
-                                student.roll(),
-                                seat+1
-                        );
-
-                        saveList.add(seatingPlan);
-                    }
-                }
-            }
+        List<Integer> programCodes = examDataDTO.programs().stream()
+                .map(ProgramResponseDTO::programCode)
+                .toList();
+        Roster roster = RosterIndex.build(programCodes, examDataDTO.students()).roster();
+        List<RoomLayout> rooms = RoomMapper.toLayouts(examDataDTO.rooms());
+        Tags tags = metrics.tags(examId, mode, rooms.size());
+        metrics.loaded(tags, roster.size(), System.nanoTime() - started);
+
+        progress.allocating();
+        started = System.nanoTime();
+        SeatAllocation allocation = seatAllocationEngines.get(mode).allocate(roster, rooms, progress);
+        long elapsed = System.nanoTime() - started;
+        metrics.allocated(tags, allocation.placed(), allocation.unplaced(), elapsed);
+        logger.debug("Allocated {} of {} students into {} rooms for exam {} ({}) in {} µs",
+                allocation.placed(), roster.size(), rooms.size(), examId, mode, elapsed / 1_000);
+        progress.allocated(allocation.placed(), allocation.unplaced());
+
+        if (allocation.unplaced() > 0) {
+            logger.warn("{} students of exam {} could not be seated", allocation.unplaced(), examId);
         }
-        seatingPlanRepository.saveAll(saveList);
+
+        progress.saving();
+        started = System.nanoTime();
+        SeatPlanChangesDTO changes = seatPlanStore.save(examId, allocation);
+        elapsed = System.nanoTime() - started;
+        metrics.saved(tags, changes, elapsed);
+        logger.debug("Saved plan for exam {} in {} ms: {}", examId, elapsed / 1_000_000, changes);
+        eventPublisher.publishEvent(new SeatPlanChangedEvent(examId));
+        return new SeatPlanGenerationDTO(allocation.placed(), allocation.unplaced(), changes);
     }
 
     public List<RoomPlanDTO> getSavedSeatingPlanGroupedByRoom(Integer examId) {
-        List<SeatingPlan> plans = seatingPlanRepository.findByExamId(examId);
-
-        Map<String, List<SeatingPlan>> grouped = plans.stream()
-                .collect(Collectors.groupingBy(sp -> sp.getRoomNo()));
-
-        List<RoomPlanDTO> roomPlans = new ArrayList<>();
-
-        for (Map.Entry<String, List<SeatingPlan>> entry : grouped.entrySet()) {
-            String roomNo = entry.getKey();
-            List<SeatingPlan> roomSeats = entry.getValue();
-
-            int maxRow = roomSeats.stream().mapToInt(SeatingPlan::getRowNumber).max().orElse(0);
-            int maxCol = roomSeats.stream().mapToInt(SeatingPlan::getColumnNumber).max().orElse(0);
+        return roomPlanCache.get(examId, seatPlanStore::readRooms);
+    }
 
-            List<List<SeatAssignmentDTO>> grid = new ArrayList<>();
-            for (int r = 0; r < maxRow; r++) {
-                grid.add(new ArrayList<>(Collections.nCopies(maxCol, null)));
-            }
+    public String getSeatingPlanETag(Integer examId) {
+        return planVersions.etag(examId);
+    }
 
-            for (SeatingPlan sp : roomSeats) {
-                grid.get(sp.getRowNumber() - 1).set(sp.getColumnNumber() - 1, SeatPlanMapper.toDTO(sp));
-            }
+    public Optional<RoomPlanDTO> getSavedRoomPlan(Integer examId, String roomNo) {
+        return seatPlanStore.readRoom(examId, roomNo);
+    }
 
-            roomPlans.add(new RoomPlanDTO(roomNo, grid));
+    /** Writes the saved plan as NDJSON, one room per line, flushing after every room. */
+    public void writeSeatingPlanNdjson(Integer examId, OutputStream out) throws IOException {
+        try {
+            seatPlanStore.streamRooms(examId, room -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(room));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-
-        return roomPlans;
     }
 
+    @Transactional
+    public int packSeatingPlan(Integer examId) {
+        examRepository.findByIdForUpdate(examId)
+                .orElseThrow(() -> new RuntimeException("Exam not found: " + examId));
+        int rooms = seatPlanStore.pack(examId);
+        eventPublisher.publishEvent(new SeatPlanChangedEvent(examId));
+        return rooms;
+    }
 
     public List<SeatingPlan> getSavedSeatingPlan(Integer examId) {
-        return seatingPlanRepository.findByExamId(examId);
+        return seatPlanStore.readSeats(examId);
     }
 
    public SeatAssignmentDTO searchStudentSeat(LocalDate startDate,LocalDate endDate, String programCode, Integer semester, Integer roll) {
-        Exam exam = examRepository.findExamIdByStartDateAndEndDate(startDate, endDate)
+        Integer examId = seatLookupIndex.findExamId(startDate, endDate)
                                 .orElseThrow(()->new RuntimeException("Exam in that date not found"));
-        SeatingPlan seat = seatingPlanRepository
-                .findByExamIdAndProgramCodeAndSemesterAndRoll(exam.getId(), programCode, semester, roll)
+        return seatLookupIndex.findSeat(examId, programCode, semester, roll)
                 .orElseThrow(() -> new RuntimeException("Student seat not found"));
+    }
 
-        return SeatPlanMapper.toDTO(seat); 
+    public CacheStatsDTO getRoomPlanCacheStats() {
+        return roomPlanCache.stats();
     }
 
 }
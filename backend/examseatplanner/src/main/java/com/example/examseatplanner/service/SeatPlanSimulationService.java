@@ -0,0 +1,128 @@
+package com.example.examseatplanner.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.RosterIndex;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.allocation.SeatAllocationEngines;
+import com.example.examseatplanner.cache.RosterCache;
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.dto.RoomUtilizationDTO;
+import com.example.examseatplanner.dto.SimulationRequestDTO;
+import com.example.examseatplanner.dto.SimulationResultDTO;
+import com.example.examseatplanner.dto.StudentDTO;
+import com.example.examseatplanner.mapper.RoomMapper;
+import com.example.examseatplanner.mapper.SeatPlanMapper;
+import com.example.examseatplanner.model.Room;
+import com.example.examseatplanner.repository.RoomRepository;
+
+/**
+ * Builds a seat plan in memory for a proposed exam and reports how well it fits, without
+ * creating the exam or writing anything. Rosters come from {@link RosterCache}; rooms are
+ * filled in the order they are listed.
+ */
+@Service
+public class SeatPlanSimulationService {
+
+    private final RosterCache rosterCache;
+    private final RoomRepository roomRepository;
+    private final SeatAllocationEngines seatAllocationEngines;
+
+    public SeatPlanSimulationService(RosterCache rosterCache,
+                                     RoomRepository roomRepository,
+                                     SeatAllocationEngines seatAllocationEngines) {
+        this.rosterCache = rosterCache;
+        this.roomRepository = roomRepository;
+        this.seatAllocationEngines = seatAllocationEngines;
+    }
+
+    public SimulationResultDTO simulate(SimulationRequestDTO request) {
+        long started = System.nanoTime();
+
+        Set<ProgramSemesterDTO> groups = new LinkedHashSet<>(request.programSemesters());
+        List<Integer> programCodes = groups.stream().map(ProgramSemesterDTO::programCode).distinct().toList();
+        List<StudentDTO> students = new ArrayList<>();
+        for (ProgramSemesterDTO ps : groups) {
+            students.addAll(rosterCache.students(ps.programCode(), ps.semester()));
+        }
+
+        List<Integer> roomNumbers = request.roomNumbers().stream().distinct().toList();
+        Map<Integer, Room> roomsByNo = roomRepository.findAllById(roomNumbers).stream()
+                .collect(Collectors.toMap(Room::getRoomNo, Function.identity()));
+        if (roomsByNo.size() != roomNumbers.size()) {
+            throw new IllegalArgumentException("One or more room numbers are invalid");
+        }
+        List<RoomLayout> rooms = roomNumbers.stream().map(roomsByNo::get).map(RoomMapper::toLayout).toList();
+
+        AllocationMode mode = request.mode() == null ? seatAllocationEngines.defaultMode() : request.mode();
+        Roster roster = RosterIndex.build(programCodes, students).roster();
+        SeatAllocation allocation = seatAllocationEngines.get(mode).allocate(roster, rooms);
+
+        List<RoomUtilizationDTO> utilization = new ArrayList<>(rooms.size());
+        int roomsUsed = 0;
+        int sideBySide = 0;
+        int frontToBack = 0;
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            RoomLayout room = allocation.room(r);
+            int start = allocation.roomStart(r);
+            int placed = 0;
+            for (int seat = 0; seat < room.capacity(); seat++) {
+                int student = allocation.studentAt(start + seat);
+                if (student == SeatAllocation.EMPTY) continue;
+                placed++;
+                int row = room.rowOf(seat);
+                int column = room.columnOf(seat);
+                int benchSeat = room.benchSeatOf(seat);
+                if (benchSeat + 1 < room.seatsPerBench()) {
+                    sideBySide += sameGroup(allocation, student, start + seat + 1);
+                } else if (column + 1 < room.columns()) {
+                    sideBySide += sameGroup(allocation, student, start + room.seatAt(row, column + 1, 0));
+                }
+                if (row + 1 < room.rows()) {
+                    frontToBack += sameGroup(allocation, student, start + room.seatAt(row + 1, column, benchSeat));
+                }
+            }
+            if (placed > 0) {
+                roomsUsed++;
+            }
+            utilization.add(new RoomUtilizationDTO(room.roomNo(), room.capacity(), placed,
+                    room.capacity() == 0 ? 0 : (double) placed / room.capacity()));
+        }
+
+        int seats = allocation.seatCount();
+        return new SimulationResultDTO(
+                mode,
+                roster.size(),
+                allocation.placed(),
+                allocation.unplaced(),
+                seats,
+                roomsUsed,
+                seats == 0 ? 0 : (double) allocation.placed() / seats,
+                utilization,
+                sideBySide,
+                frontToBack,
+                (System.nanoTime() - started) / 1_000,
+                request.includeGrid() ? SeatPlanMapper.toRoomPlans(allocation) : null);
+    }
+
+    private static int sameGroup(SeatAllocation allocation, int student, int neighbourSeat) {
+        int neighbour = allocation.studentAt(neighbourSeat);
+        if (neighbour == SeatAllocation.EMPTY) {
+            return 0;
+        }
+        Roster roster = allocation.roster();
+        return roster.program(student) == roster.program(neighbour)
+                && roster.semester(student) == roster.semester(neighbour) ? 1 : 0;
+    }
+}
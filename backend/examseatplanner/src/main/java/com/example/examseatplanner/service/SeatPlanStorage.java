@@ -0,0 +1,6 @@
+package com.example.examseatplanner.service;
+
+public enum SeatPlanStorage {
+    ROWS,
+    PACKED
+}
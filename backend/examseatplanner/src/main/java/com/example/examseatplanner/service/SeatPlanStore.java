@@ -0,0 +1,368 @@
+package com.example.examseatplanner.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.dto.RoomPlanDTO;
+import com.example.examseatplanner.dto.SeatAssignmentDTO;
+import com.example.examseatplanner.dto.SeatPlanChangesDTO;
+import com.example.examseatplanner.mapper.PackedRoomPlanMapper;
+import com.example.examseatplanner.mapper.SeatPlanMapper;
+import com.example.examseatplanner.model.PackedRoomPlan;
+import com.example.examseatplanner.model.Room;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.repository.PackedRoomPlanRepository;
+import com.example.examseatplanner.repository.RoomRepository;
+import com.example.examseatplanner.repository.SeatingPlanBatchRepository;
+import com.example.examseatplanner.repository.SeatingPlanBatchRepository.StoredSeat;
+import com.example.examseatplanner.repository.SeatingPlanRepository;
+
+/**
+ * Reads and writes the stored plan of an exam. In {@link SeatPlanStorage#ROWS} mode every
+ * seat is a seating_plan row and a save only touches seats whose occupant changed. In
+ * {@link SeatPlanStorage#PACKED} mode each room is one packed_room_plan record. Reads
+ * prefer packed records when an exam has them. Writers are expected to hold a transaction.
+ */
+@Service
+public class SeatPlanStore {
+
+    private final SeatingPlanRepository seatingPlanRepository;
+    private final SeatingPlanBatchRepository seatingPlanBatchRepository;
+    private final PackedRoomPlanRepository packedRoomPlanRepository;
+    private final RoomRepository roomRepository;
+    private final SeatPlanStorage storage;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+
+    public SeatPlanStore(SeatingPlanRepository seatingPlanRepository,
+                         SeatingPlanBatchRepository seatingPlanBatchRepository,
+                         PackedRoomPlanRepository packedRoomPlanRepository,
+                         RoomRepository roomRepository,
+                         @Value("${seatplan.storage.mode:ROWS}") SeatPlanStorage storage,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager) {
+        this.seatingPlanRepository = seatingPlanRepository;
+        this.seatingPlanBatchRepository = seatingPlanBatchRepository;
+        this.packedRoomPlanRepository = packedRoomPlanRepository;
+        this.roomRepository = roomRepository;
+        this.storage = storage;
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public SeatPlanChangesDTO save(Integer examId, SeatAllocation allocation) {
+        return saveAll(Map.of(examId, allocation)).get(examId);
+    }
+
+    /**
+     * Saves the plans of several exams with one read of their stored rows and one batch
+     * each of deletes, updates and inserts.
+     */
+    public Map<Integer, SeatPlanChangesDTO> saveAll(Map<Integer, SeatAllocation> allocations) {
+        if (allocations.isEmpty()) {
+            return Map.of();
+        }
+        if (storage == SeatPlanStorage.PACKED) {
+            return savePacked(allocations);
+        }
+        Map<Integer, Integer> replacedPacked = deletePacked(allocations.keySet());
+
+        Map<Integer, List<StoredSeat>> storedByExam = seatingPlanBatchRepository.findSeats(allocations.keySet())
+                .stream()
+                .collect(Collectors.groupingBy(StoredSeat::examId));
+
+        Map<Integer, SeatPlanChangesDTO> changes = new LinkedHashMap<>();
+        Map<Integer, SeatAllocation> fresh = new LinkedHashMap<>();
+        List<SeatingPlan> inserts = new ArrayList<>();
+        List<SeatingPlan> updates = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+
+        for (Map.Entry<Integer, SeatAllocation> entry : allocations.entrySet()) {
+            Integer examId = entry.getKey();
+            SeatAllocation allocation = entry.getValue();
+            int packed = replacedPacked.getOrDefault(examId, 0);
+            List<StoredSeat> stored = storedByExam.get(examId);
+            if (stored == null) {
+                fresh.put(examId, allocation);
+                changes.put(examId, new SeatPlanChangesDTO(allocation.placed(), 0, packed, 0));
+                continue;
+            }
+            SeatPlanChangesDTO diff = diff(examId, allocation, stored, inserts, updates, deletes);
+            changes.put(examId, new SeatPlanChangesDTO(diff.inserted(), diff.updated(),
+                    diff.deleted() + packed, diff.unchanged()));
+        }
+
+        seatingPlanBatchRepository.deleteByIds(deletes);
+        seatingPlanBatchRepository.updateOccupants(updates);
+        seatingPlanBatchRepository.insert(inserts);
+        if (!fresh.isEmpty()) {
+            seatingPlanBatchRepository.insert(fresh);
+        }
+        return changes;
+    }
+
+    private SeatPlanChangesDTO diff(Integer examId, SeatAllocation allocation, List<StoredSeat> stored,
+                                    List<SeatingPlan> inserts, List<SeatingPlan> updates, List<Integer> deletes) {
+        int inserted = inserts.size();
+        int updated = updates.size();
+        int deleted = deletes.size();
+
+        Map<SeatKey, StoredSeat> storedByKey = new HashMap<>(stored.size() * 2);
+        for (StoredSeat seat : stored) {
+            StoredSeat duplicate = storedByKey.put(
+                    new SeatKey(seat.roomNo(), seat.rowNumber(), seat.columnNumber(), seat.seatIndex()), seat);
+            if (duplicate != null) {
+                deletes.add(duplicate.id());
+            }
+        }
+
+        int unchanged = 0;
+        Roster roster = allocation.roster();
+
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            RoomLayout room = allocation.room(r);
+            String roomNo = room.roomNo().toString();
+            int start = allocation.roomStart(r);
+
+            for (int seat = start; seat < allocation.roomEnd(r); seat++) {
+                int student = allocation.studentAt(seat);
+                if (student == SeatAllocation.EMPTY) continue;
+
+                int local = seat - start;
+                SeatKey key = new SeatKey(roomNo, room.rowOf(local) + 1, room.columnOf(local) + 1,
+                        room.benchSeatOf(local) + 1);
+                String programCode = Integer.toString(roster.program(student));
+                int semester = roster.semester(student);
+                int roll = roster.roll(student);
+
+                StoredSeat existing = storedByKey.remove(key);
+                if (existing == null) {
+                    inserts.add(new SeatingPlan(null, examId, roomNo, key.rowNumber(), key.columnNumber(),
+                            programCode, semester, roll, key.seatIndex()));
+                } else if (!programCode.equals(existing.programCode())
+                        || semester != existing.semester()
+                        || roll != existing.roll()) {
+                    updates.add(new SeatingPlan(existing.id(), examId, roomNo, key.rowNumber(), key.columnNumber(),
+                            programCode, semester, roll, key.seatIndex()));
+                } else {
+                    unchanged++;
+                }
+            }
+        }
+        for (StoredSeat vacated : storedByKey.values()) {
+            deletes.add(vacated.id());
+        }
+
+        return new SeatPlanChangesDTO(inserts.size() - inserted, updates.size() - updated,
+                deletes.size() - deleted, unchanged);
+    }
+
+    public int pack(Integer examId) {
+        List<SeatingPlan> rows = seatingPlanRepository.findByExamId(examId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<SeatingPlan>> byRoom = rows.stream()
+                .collect(Collectors.groupingBy(SeatingPlan::getRoomNo, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Integer, Room> rooms = roomRepository.findAllById(byRoom.keySet().stream().map(Integer::valueOf).toList())
+                .stream()
+                .collect(Collectors.toMap(Room::getRoomNo, Function.identity()));
+
+        List<PackedRoomPlan> packed = new ArrayList<>();
+        for (Map.Entry<String, List<SeatingPlan>> entry : byRoom.entrySet()) {
+            List<SeatingPlan> roomSeats = entry.getValue();
+            Optional<Room> room = Optional.ofNullable(rooms.get(Integer.valueOf(entry.getKey())));
+            RoomLayout layout = new RoomLayout(
+                    Integer.valueOf(entry.getKey()),
+                    Math.max(room.map(Room::getNumRow).orElse(0),
+                            roomSeats.stream().mapToInt(SeatingPlan::getRowNumber).max().orElse(0)),
+                    Math.max(room.map(Room::getRoomColumn).orElse(0),
+                            roomSeats.stream().mapToInt(SeatingPlan::getColumnNumber).max().orElse(0)),
+                    Math.max(room.map(Room::getSeatsPerBench).orElse(0),
+                            roomSeats.stream().mapToInt(SeatingPlan::getSeatIndex).max().orElse(0)));
+
+            String[] programCodes = new String[layout.capacity()];
+            int[] semesters = new int[layout.capacity()];
+            int[] rolls = new int[layout.capacity()];
+            for (SeatingPlan sp : roomSeats) {
+                int seat = layout.seatAt(sp.getRowNumber() - 1, sp.getColumnNumber() - 1, sp.getSeatIndex() - 1);
+                programCodes[seat] = sp.getProgramCode();
+                semesters[seat] = sp.getSemester();
+                rolls[seat] = sp.getRoll();
+            }
+            packed.add(PackedRoomPlanMapper.toEntity(examId, layout, programCodes, semesters, rolls));
+        }
+
+        deletePacked(examId);
+        packedRoomPlanRepository.saveAll(packed);
+        seatingPlanBatchRepository.deleteByExamId(examId);
+        return packed.size();
+    }
+
+    public List<RoomPlanDTO> readRooms(Integer examId) {
+        List<PackedRoomPlan> packed = packedRoomPlanRepository.findByExamIdOrderByRoomNo(examId);
+        if (!packed.isEmpty()) {
+            return packed.stream()
+                    .map(p -> SeatPlanMapper.toRoomPlan(p.getRoomNo(), PackedRoomPlanMapper.toDTOs(p)))
+                    .toList();
+        }
+
+        return SeatPlanMapper.toRoomPlans(seatingPlanRepository.findByExamId(examId));
+    }
+
+    public Optional<RoomPlanDTO> readRoom(Integer examId, String roomNo) {
+        Optional<PackedRoomPlan> packed = packedRoomPlanRepository.findByExamIdAndRoomNo(examId, roomNo);
+        if (packed.isPresent()) {
+            return packed.map(p -> SeatPlanMapper.toRoomPlan(p.getRoomNo(), PackedRoomPlanMapper.toDTOs(p)));
+        }
+        List<SeatingPlan> seats = seatingPlanRepository.findByExamIdAndRoomNo(examId, roomNo);
+        if (seats.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(SeatPlanMapper.toRoomPlan(roomNo, seats.stream().map(SeatPlanMapper::toDTO).toList()));
+    }
+
+    /**
+     * Hands the exam's rooms to {@code consumer} one at a time, ordered by room number.
+     * Seats are streamed from the database and detached as they are read, so only the
+     * room being rendered is held in memory.
+     */
+    public void streamRooms(Integer examId, Consumer<RoomPlanDTO> consumer) {
+        readTransaction.executeWithoutResult(status -> {
+            if (packedRoomPlanRepository.existsByExamId(examId)) {
+                try (Stream<PackedRoomPlan> packed = packedRoomPlanRepository.streamByExamId(examId)) {
+                    packed.forEach(p -> {
+                        entityManager.detach(p);
+                        consumer.accept(SeatPlanMapper.toRoomPlan(p.getRoomNo(), PackedRoomPlanMapper.toDTOs(p)));
+                    });
+                }
+                return;
+            }
+
+            try (Stream<SeatingPlan> seats = seatingPlanRepository.streamByExamId(examId)) {
+                List<SeatAssignmentDTO> room = new ArrayList<>();
+                String roomNo = null;
+                Iterator<SeatingPlan> iterator = seats.iterator();
+                while (iterator.hasNext()) {
+                    SeatingPlan sp = iterator.next();
+                    entityManager.detach(sp);
+                    if (roomNo != null && !roomNo.equals(sp.getRoomNo())) {
+                        consumer.accept(SeatPlanMapper.toRoomPlan(roomNo, room));
+                        room.clear();
+                    }
+                    roomNo = sp.getRoomNo();
+                    room.add(SeatPlanMapper.toDTO(sp));
+                }
+                if (roomNo != null) {
+                    consumer.accept(SeatPlanMapper.toRoomPlan(roomNo, room));
+                }
+            }
+        });
+    }
+
+    public List<SeatingPlan> readSeats(Integer examId) {
+        List<PackedRoomPlan> packed = packedRoomPlanRepository.findByExamIdOrderByRoomNo(examId);
+        if (packed.isEmpty()) {
+            return seatingPlanRepository.findByExamId(examId);
+        }
+        List<SeatingPlan> seats = new ArrayList<>();
+        for (PackedRoomPlan p : packed) {
+            seats.addAll(PackedRoomPlanMapper.toSeatingPlans(p));
+        }
+        return seats;
+    }
+
+    public Optional<SeatingPlan> findSeat(Integer examId, String programCode, Integer semester, Integer roll) {
+        Optional<SeatingPlan> seat = seatingPlanRepository
+                .findByExamIdAndProgramCodeAndSemesterAndRoll(examId, programCode, semester, roll);
+        if (seat.isPresent() || semester == null || roll == null || !packedRoomPlanRepository.existsByExamId(examId)) {
+            return seat;
+        }
+        for (PackedRoomPlan room : packedRoomPlanRepository.findByExamIdOrderByRoomNo(examId)) {
+            Optional<SeatingPlan> found = PackedRoomPlanMapper.findSeat(room, programCode, semester, roll);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void delete(Integer examId) {
+        seatingPlanBatchRepository.deleteByExamId(examId);
+        packedRoomPlanRepository.deleteByExamId(examId);
+    }
+
+    private Map<Integer, SeatPlanChangesDTO> savePacked(Map<Integer, SeatAllocation> allocations) {
+        List<Integer> examIds = List.copyOf(allocations.keySet());
+        int[] deletedRows = seatingPlanBatchRepository.deleteByExamIds(examIds);
+        Map<Integer, Integer> deletedPacked = deletePacked(examIds);
+
+        Map<Integer, SeatPlanChangesDTO> changes = new LinkedHashMap<>();
+        List<PackedRoomPlan> packed = new ArrayList<>();
+        for (int e = 0; e < examIds.size(); e++) {
+            Integer examId = examIds.get(e);
+            SeatAllocation allocation = allocations.get(examId);
+            Roster roster = allocation.roster();
+
+            for (int r = 0; r < allocation.roomCount(); r++) {
+                RoomLayout room = allocation.room(r);
+                int start = allocation.roomStart(r);
+                String[] programCodes = new String[room.capacity()];
+                int[] semesters = new int[room.capacity()];
+                int[] rolls = new int[room.capacity()];
+
+                for (int seat = 0; seat < room.capacity(); seat++) {
+                    int student = allocation.studentAt(start + seat);
+                    if (student == SeatAllocation.EMPTY) continue;
+                    programCodes[seat] = Integer.toString(roster.program(student));
+                    semesters[seat] = roster.semester(student);
+                    rolls[seat] = roster.roll(student);
+                }
+                packed.add(PackedRoomPlanMapper.toEntity(examId, room, programCodes, semesters, rolls));
+            }
+            changes.put(examId, new SeatPlanChangesDTO(allocation.placed(), 0,
+                    deletedRows[e] + deletedPacked.getOrDefault(examId, 0), 0));
+        }
+        packedRoomPlanRepository.saveAll(packed);
+        return changes;
+    }
+
+    private int deletePacked(Integer examId) {
+        return deletePacked(List.of(examId)).getOrDefault(examId, 0);
+    }
+
+    private Map<Integer, Integer> deletePacked(Collection<Integer> examIds) {
+        Map<Integer, Integer> seats = new HashMap<>();
+        for (Object[] row : packedRoomPlanRepository.sumSeatCountByExamIdIn(examIds)) {
+            seats.put((Integer) row[0], ((Number) row[1]).intValue());
+        }
+        if (!seats.isEmpty()) {
+            packedRoomPlanRepository.deleteByExamIdIn(seats.keySet());
+        }
+        return seats;
+    }
+
+    private record SeatKey(String roomNo, int rowNumber, int columnNumber, int seatIndex) {}
+}
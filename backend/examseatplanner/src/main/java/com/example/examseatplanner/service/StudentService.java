@@ -1,25 +1,34 @@
 package com.example.examseatplanner.service;
 
+import com.example.examseatplanner.dto.StudentCreationResultDTO;
 import com.example.examseatplanner.dto.StudentRequestDTO;
 import com.example.examseatplanner.dto.StudentResponseDTO;
+import com.example.examseatplanner.event.StudentsChangedEvent;
 import com.example.examseatplanner.exception.StudentAlreadyExistException;
 import com.example.examseatplanner.mapper.StudentMapper;
 import com.example.examseatplanner.model.Exam;
 import com.example.examseatplanner.model.ExamProgramSemester;
 import com.example.examseatplanner.model.Student;
 import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.repository.EnrollmentCountRepository;
 import com.example.examseatplanner.repository.ProgramRepository;
 import com.example.examseatplanner.repository.StudentRepository;
 import jakarta.transaction.Transactional;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -27,16 +36,26 @@ public class StudentService {
 
     private final StudentRepository studentRepository;
     private final ProgramRepository programRepository;
+    private final EnrollmentCountRepository enrollmentCountRepository;
     private final StudentMapper studentMapper;
+    private final IncrementalSeatPlanner incrementalSeatPlanner;
+    private final ApplicationEventPublisher eventPublisher;
 
     public StudentService(StudentRepository studentRepository,
                           ProgramRepository programRepository,
-                          StudentMapper studentMapper) {
+                          EnrollmentCountRepository enrollmentCountRepository,
+                          StudentMapper studentMapper,
+                          IncrementalSeatPlanner incrementalSeatPlanner,
+                          ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
         this.programRepository = programRepository;
+        this.enrollmentCountRepository = enrollmentCountRepository;
         this.studentMapper = studentMapper;
+        this.incrementalSeatPlanner = incrementalSeatPlanner;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional
     public StudentResponseDTO createStudent(StudentRequestDTO dto) {
         Program program = programRepository.findByProgramCode(dto.programCode())
                 .orElseThrow(() -> new RuntimeException("Program not found"));
@@ -48,9 +67,69 @@ public class StudentService {
             throw new StudentAlreadyExistException("Students already exists ");
         }
         Student savedStudent = studentRepository.save(student);
+        enrollmentCountRepository.added(savedStudent);
+        incrementalSeatPlanner.studentAdded(savedStudent);
+        eventPublisher.publishEvent(new StudentsChangedEvent(program.getProgramCode(), semesterEnum));
         return studentMapper.toDTO(savedStudent);
     }
 
+    /**
+     * Creates a batch of students with one read of their programs and of the programs'
+     * existing students, and one batched insert. A student with an unknown program, an
+     * invalid semester or an existing roll is reported and skipped; the others are saved.
+     */
+    @Transactional
+    public List<StudentCreationResultDTO> createStudents(List<StudentRequestDTO> requests) {
+        Set<Integer> programCodes = requests.stream()
+                .map(StudentRequestDTO::programCode)
+                .filter(code -> code != null)
+                .collect(Collectors.toSet());
+        Map<Integer, Program> programs = programRepository.findAllById(programCodes).stream()
+                .collect(Collectors.toMap(Program::getProgramCode, Function.identity()));
+        Set<StudentKey> existing = programCodes.isEmpty() ? new HashSet<>()
+                : studentRepository.findWithProgramByProgramCodeIn(programCodes).stream()
+                        .map(StudentKey::of)
+                        .collect(Collectors.toCollection(HashSet::new));
+
+        List<Student> students = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (StudentRequestDTO dto : requests) {
+            String error = null;
+            Program program = programs.get(dto.programCode());
+            if (dto.programCode() == null || dto.semester() == null || dto.roll() == null) {
+                error = "Program code, semester and roll are required";
+            } else if (program == null) {
+                error = "Program not found";
+            } else if (dto.semester() < 1 || dto.semester() > 8) {
+                error = "Semester must be between 1 and 8";
+            } else if (!existing.add(new StudentKey(dto.programCode(), toSemesterEnum(dto.semester()), dto.roll()))) {
+                error = "Student already exists";
+            }
+            errors.add(error);
+            students.add(error == null ? studentMapper.toEntity(dto, program) : null);
+        }
+
+        List<Student> saved = studentRepository.saveAll(students.stream().filter(s -> s != null).toList());
+        if (!saved.isEmpty()) {
+            enrollmentCountRepository.addedAll(saved);
+            incrementalSeatPlanner.studentsAdded(saved);
+            saved.stream()
+                    .map(s -> new StudentsChangedEvent(s.getProgram().getProgramCode(), s.getSemester()))
+                    .distinct()
+                    .forEach(eventPublisher::publishEvent);
+        }
+
+        List<StudentCreationResultDTO> results = new ArrayList<>(requests.size());
+        int next = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(errors.get(i) == null
+                    ? new StudentCreationResultDTO(requests.get(i), true, "Student created successfully",
+                            saved.get(next++).getStudentId())
+                    : new StudentCreationResultDTO(requests.get(i), false, errors.get(i), null));
+        }
+        return results;
+    }
+
     public List<StudentResponseDTO> getAllStudents() {
         List<Student> students = studentRepository.findAll();
         return studentMapper.toDTOList(students);
@@ -68,20 +147,39 @@ public class StudentService {
         return allStudents;
     }
 
+    @Transactional
     public void deleteAllStudents() {
         studentRepository.deleteAll();
+        enrollmentCountRepository.resetAll();
+        eventPublisher.publishEvent(new StudentsChangedEvent(null, null));
     }
 
     public Optional<Student> getStudentById(String studentId) {
         return studentRepository.findByStudentId(Integer.parseInt(studentId));
     }
 
+    /** Saves a new student; enrollment counts are only maintained for students not yet stored. */
+    @Transactional
     public Student saveStudent(Student student) {
-        return studentRepository.save(student);
+        boolean created = student.getStudentId() == null;
+        Student saved = studentRepository.save(student);
+        if (created) {
+            enrollmentCountRepository.added(saved);
+        }
+        eventPublisher.publishEvent(new StudentsChangedEvent(null, null));
+        return saved;
     }
 
+    @Transactional
     public void deleteStudent(String studentId) {
-        studentRepository.deleteById(Integer.parseInt(studentId));
+        studentRepository.findByStudentId(Integer.parseInt(studentId)).ifPresent(student -> {
+            studentRepository.delete(student);
+            enrollmentCountRepository.removed(student);
+            incrementalSeatPlanner.studentWithdrawn(
+                    student.getProgram().getProgramCode(), student.getSemester(), student.getRoll());
+            eventPublisher.publishEvent(
+                    new StudentsChangedEvent(student.getProgram().getProgramCode(), student.getSemester()));
+        });
     }
 
     public List<Student> getStudentsByPrograms(List<Program> programs) {
@@ -111,8 +209,16 @@ public class StudentService {
     }
 
 
+    /**
+     * Imports students from the first sheet, skipping the header and students that already
+     * exist. Programs and the existing rolls of the programs in the file are read once.
+     */
     @Transactional
     public void importStudentsFromExcel(MultipartFile file) throws IOException {
+        Map<String, Program> programsByName = programRepository.findAll().stream()
+                .collect(Collectors.toMap(Program::getProgramName, Function.identity()));
+        List<Student> imported = new ArrayList<>();
+
         try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
             Sheet sheet = workbook.getSheetAt(0);
 
@@ -126,18 +232,13 @@ public class StudentService {
                     int semester = (int) row.getCell(1).getNumericCellValue();
                     int roll = (int) row.getCell(2).getNumericCellValue();
 
-                    Program program = programRepository.findByProgramName(programName)
-                            .orElseThrow(() -> new RuntimeException("Program not found: " + programName));
-
-                    Student.Semester semesterEnum = Student.Semester.values()[semester - 1];
-
-                    boolean exists = studentRepository.existsByRollAndProgramAndSemester(roll, program, semesterEnum);
-                    if (exists) {
-                        continue;  // skip duplicates
+                    Program program = programsByName.get(programName);
+                    if (program == null) {
+                        throw new RuntimeException("Program not found: " + programName);
                     }
 
-                    StudentRequestDTO dto = new StudentRequestDTO(program.getProgramCode(), semester, roll);
-                    createStudent(dto);  // saves student immediately
+                    Student.Semester semesterEnum = Student.Semester.values()[semester - 1];
+                    imported.add(new Student(program, semesterEnum, roll));
 
                 } catch (Exception e) {
                     System.err.printf("Error importing row %d: %s%n", i + 1, e.getMessage());
@@ -145,9 +246,33 @@ public class StudentService {
                 }
             }
         }
-    }
+        if (imported.isEmpty()) {
+            return;
+        }
 
+        Set<Integer> programCodes = imported.stream()
+                .map(s -> s.getProgram().getProgramCode())
+                .collect(Collectors.toSet());
+        Set<StudentKey> existing = studentRepository.findWithProgramByProgramCodeIn(programCodes).stream()
+                .map(StudentKey::of)
+                .collect(Collectors.toCollection(HashSet::new));
+        // skip duplicates, both of stored students and of earlier rows
+        List<Student> students = imported.stream().filter(s -> existing.add(StudentKey.of(s))).toList();
+
+        List<Student> saved = studentRepository.saveAll(students);
+        enrollmentCountRepository.addedAll(saved);
+        incrementalSeatPlanner.studentsAdded(saved);
+        saved.stream()
+                .map(s -> new StudentsChangedEvent(s.getProgram().getProgramCode(), s.getSemester()))
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+    }
 
+    private record StudentKey(Integer programCode, Student.Semester semester, int roll) {
+        static StudentKey of(Student student) {
+            return new StudentKey(student.getProgram().getProgramCode(), student.getSemester(), student.getRoll());
+        }
+    }
 
     public StudentResponseDTO convertToDTO(Student student) {
         return studentMapper.toDTO(student);
@@ -157,6 +282,7 @@ public class StudentService {
         return studentMapper.toDTOList(students);
     }
 
+    @Transactional
     public StudentResponseDTO updateStudent(String studentId, StudentRequestDTO dto) {
         Student student = studentRepository.findByStudentId(Integer.parseInt(studentId))
                 .orElseThrow(() -> new RuntimeException("Student not found"));
@@ -164,11 +290,36 @@ public class StudentService {
         Program program = programRepository.findByProgramCode(dto.programCode())
                 .orElseThrow(() -> new RuntimeException("Program not found"));
 
+        Student.Semester semester = Student.Semester.values()[dto.semester() - 1];
+        Program oldProgram = student.getProgram();
+        Student.Semester oldSemester = student.getSemester();
+        int oldRoll = student.getRoll();
+        boolean moved = oldProgram == null
+                || !program.getProgramCode().equals(oldProgram.getProgramCode())
+                || oldSemester != semester;
+        if (moved) {
+            enrollmentCountRepository.removed(student);
+        }
+
         student.setProgram(program);
-        student.setSemester(Student.Semester.values()[dto.semester() - 1]);
+        student.setSemester(semester);
         student.setRoll(dto.roll());
 
         Student updated = studentRepository.save(student);
+        if (moved) {
+            enrollmentCountRepository.added(updated);
+        }
+        // Seat plans know students by program, semester and roll, so a new one is a withdrawal and an arrival.
+        if (moved || oldRoll != dto.roll()) {
+            if (oldProgram != null && oldSemester != null) {
+                incrementalSeatPlanner.studentWithdrawn(oldProgram.getProgramCode(), oldSemester, oldRoll);
+            }
+            incrementalSeatPlanner.studentAdded(updated);
+            if (oldProgram != null && oldSemester != null) {
+                eventPublisher.publishEvent(new StudentsChangedEvent(oldProgram.getProgramCode(), oldSemester));
+            }
+            eventPublisher.publishEvent(new StudentsChangedEvent(program.getProgramCode(), semester));
+        }
         return studentMapper.toDTO(updated);
     }
 
@@ -179,18 +330,26 @@ public class StudentService {
     }
 
 
+    /**
+     * Adds {@code numberOfStudents} students after the group's highest roll, counted, seated
+     * in its planned exams and announced as one change of the group.
+     */
+    @Transactional
     public List<Student> createBulkStudents(Program program, String enrolledYear, int semester, int numberOfStudents) {
-        List<Student> students = new java.util.ArrayList<>();
+        Student.Semester semesterEnum = toSemesterEnum(semester);
         int startingRoll = getNextAvailableRoll(program, semester);
-
+        List<Student> students = new ArrayList<>(numberOfStudents);
         for (int i = 0; i < numberOfStudents; i++) {
-            int roll = startingRoll + i;
-            Student.Semester semesterEnum = Student.Semester.values()[semester - 1];
-            Student student = new Student(program, semesterEnum, roll);
-            students.add(saveStudent(student));
+            students.add(new Student(program, semesterEnum, startingRoll + i));
         }
 
-        return students;
+        List<Student> saved = studentRepository.saveAll(students);
+        if (!saved.isEmpty()) {
+            enrollmentCountRepository.addedAll(saved);
+            incrementalSeatPlanner.studentsAdded(saved);
+            eventPublisher.publishEvent(new StudentsChangedEvent(program.getProgramCode(), semesterEnum));
+        }
+        return saved;
     }
 
     private int getNextAvailableRoll(Program program, int semester) {
@@ -0,0 +1,63 @@
+-- Schema as previously generated by hibernate.ddl-auto=update on H2, column for column.
+-- Existing databases of that schema are baselined at this version instead of running it
+-- (spring.flyway.baseline-on-migrate); everything added since goes into db/migration.
+
+CREATE TABLE program (
+    program_code INTEGER NOT NULL,
+    program_name VARCHAR(255),
+    CONSTRAINT pk_program PRIMARY KEY (program_code)
+);
+
+CREATE TABLE room (
+    room_no         INTEGER NOT NULL,
+    num_row         INTEGER NOT NULL,
+    room_column     INTEGER NOT NULL,
+    seats_per_bench INTEGER NOT NULL,
+    CONSTRAINT pk_room PRIMARY KEY (room_no)
+);
+
+CREATE TABLE exam (
+    exam_id    INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    start_date DATE NOT NULL,
+    end_date   DATE NOT NULL,
+    CONSTRAINT pk_exam PRIMARY KEY (exam_id)
+);
+
+CREATE TABLE exam_program_semesters (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    exam_id      INTEGER,
+    program_code INTEGER NOT NULL,
+    semester     ENUM('EIGHTH', 'FIFTH', 'FIRST', 'FOURTH', 'SECOND', 'SEVENTH', 'SIXTH', 'THIRD') NOT NULL,
+    CONSTRAINT pk_exam_program_semesters PRIMARY KEY (id),
+    CONSTRAINT fk_exam_program_semesters_exam FOREIGN KEY (exam_id) REFERENCES exam (exam_id),
+    CONSTRAINT fk_exam_program_semesters_program FOREIGN KEY (program_code) REFERENCES program (program_code)
+);
+
+CREATE TABLE exam_rooms (
+    exam_id INTEGER NOT NULL,
+    room_no INTEGER NOT NULL,
+    CONSTRAINT fk_exam_rooms_exam FOREIGN KEY (exam_id) REFERENCES exam (exam_id),
+    CONSTRAINT fk_exam_rooms_room FOREIGN KEY (room_no) REFERENCES room (room_no)
+);
+
+CREATE TABLE student (
+    student_id   INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    roll         INTEGER NOT NULL,
+    semester     ENUM('EIGHTH', 'FIFTH', 'FIRST', 'FOURTH', 'SECOND', 'SEVENTH', 'SIXTH', 'THIRD'),
+    program_code INTEGER,
+    CONSTRAINT pk_student PRIMARY KEY (student_id),
+    CONSTRAINT fk_student_program FOREIGN KEY (program_code) REFERENCES program (program_code)
+);
+
+CREATE TABLE seating_plan (
+    id            INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    exam_id       INTEGER,
+    room_id       VARCHAR(255),
+    row_number    INTEGER,
+    column_number INTEGER,
+    seat_index    INTEGER,
+    program_code  VARCHAR(255),
+    semester      INTEGER,
+    roll          INTEGER,
+    CONSTRAINT pk_seating_plan PRIMARY KEY (id)
+);
@@ -0,0 +1,68 @@
+-- Indexes for the lookups in SeatingPlanRepository, ExamRepository and StudentRepository,
+-- the unique keys the entities declare, and the packed plan storage.
+
+CREATE TABLE packed_room_plan (
+    id              INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    exam_id         INTEGER NOT NULL,
+    room_no         VARCHAR(255) NOT NULL,
+    num_row         INTEGER NOT NULL,
+    room_column     INTEGER NOT NULL,
+    seats_per_bench INTEGER NOT NULL,
+    seat_count      INTEGER NOT NULL,
+    program_codes   VARCHAR(255) NOT NULL,
+    seat_data       BYTEA NOT NULL,
+    CONSTRAINT pk_packed_room_plan PRIMARY KEY (id),
+    CONSTRAINT uk_packed_room_plan_room UNIQUE (exam_id, room_no)
+);
+
+CREATE INDEX idx_seating_plan_student ON seating_plan (exam_id, program_code, semester, roll);
+
+CREATE INDEX idx_exam_dates ON exam (start_date, end_date);
+CREATE INDEX idx_exam_end_date ON exam (end_date);
+
+-- The unique keys below would fail on databases holding duplicates, which earlier exam
+-- updates and student imports could write. Duplicates carry no data of their own: keep
+-- one row of each (the lowest id where there is one). Regenerating a plan used to add its
+-- seats next to the old ones; there the highest id is the latest plan and is kept.
+DELETE FROM seating_plan
+WHERE EXISTS (SELECT 1 FROM seating_plan d
+              WHERE d.exam_id = seating_plan.exam_id
+                AND d.room_id = seating_plan.room_id
+                AND d.row_number = seating_plan.row_number
+                AND d.column_number = seating_plan.column_number
+                AND d.seat_index = seating_plan.seat_index
+                AND d.id > seating_plan.id);
+
+CREATE TABLE exam_rooms_distinct AS SELECT DISTINCT exam_id, room_no FROM exam_rooms;
+DELETE FROM exam_rooms;
+INSERT INTO exam_rooms (exam_id, room_no) SELECT exam_id, room_no FROM exam_rooms_distinct;
+DROP TABLE exam_rooms_distinct;
+
+DELETE FROM exam_program_semesters
+WHERE EXISTS (SELECT 1 FROM exam_program_semesters d
+              WHERE d.exam_id = exam_program_semesters.exam_id
+                AND d.program_code = exam_program_semesters.program_code
+                AND d.semester = exam_program_semesters.semester
+                AND d.id < exam_program_semesters.id);
+
+DELETE FROM student
+WHERE EXISTS (SELECT 1 FROM student d
+              WHERE d.program_code = student.program_code
+                AND d.semester = student.semester
+                AND d.roll = student.roll
+                AND d.student_id < student.student_id);
+
+-- Leads with exam_id and serves findByExamId(AndRoomNo).
+ALTER TABLE seating_plan
+    ADD CONSTRAINT uk_seating_plan_seat UNIQUE (exam_id, room_id, row_number, column_number, seat_index);
+
+ALTER TABLE exam_rooms ADD CONSTRAINT pk_exam_rooms PRIMARY KEY (exam_id, room_no);
+CREATE INDEX idx_exam_rooms_room ON exam_rooms (room_no, exam_id);
+
+ALTER TABLE exam_program_semesters
+    ADD CONSTRAINT uk_exam_program_semesters UNIQUE (exam_id, program_code, semester);
+CREATE INDEX idx_exam_program_semesters_program ON exam_program_semesters (program_code, semester, exam_id);
+
+ALTER TABLE student ADD CONSTRAINT uk_student_roll UNIQUE (program_code, semester, roll);
+CREATE INDEX idx_student_semester ON student (semester);
+CREATE INDEX idx_student_roll ON student (roll);
@@ -0,0 +1,17 @@
+-- Students per (program, semester), kept in step with the student table by StudentService
+-- and checked against it by EnrollmentCountReconciler.
+
+CREATE TABLE enrollment_count (
+    program_code  INTEGER     NOT NULL,
+    semester      VARCHAR(16) NOT NULL,
+    student_count INTEGER     NOT NULL,
+    CONSTRAINT pk_enrollment_count PRIMARY KEY (program_code, semester),
+    CONSTRAINT fk_enrollment_count_program FOREIGN KEY (program_code)
+        REFERENCES program (program_code) ON DELETE CASCADE
+);
+
+INSERT INTO enrollment_count (program_code, semester, student_count)
+SELECT program_code, semester, COUNT(*)
+FROM student
+WHERE program_code IS NOT NULL AND semester IS NOT NULL
+GROUP BY program_code, semester;
@@ -0,0 +1,11 @@
+-- One enrollment_count row for every program and semester, so counting a student only
+-- ever updates an existing row and concurrent first students of a group cannot both insert.
+-- ProgramService and DataInitializer add the rows of programs created later.
+
+INSERT INTO enrollment_count (program_code, semester, student_count)
+SELECT p.program_code, s.semester, 0
+FROM program p
+CROSS JOIN (VALUES ('FIRST'), ('SECOND'), ('THIRD'), ('FOURTH'),
+                   ('FIFTH'), ('SIXTH'), ('SEVENTH'), ('EIGHTH')) AS s(semester)
+WHERE NOT EXISTS (SELECT 1 FROM enrollment_count c
+                  WHERE c.program_code = p.program_code AND c.semester = s.semester);
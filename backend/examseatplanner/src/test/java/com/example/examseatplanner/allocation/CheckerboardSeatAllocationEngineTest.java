@@ -0,0 +1,126 @@
+package com.example.examseatplanner.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CheckerboardSeatAllocationEngineTest {
+
+    private final CheckerboardSeatAllocationEngine engine = new CheckerboardSeatAllocationEngine();
+
+    @Test
+    void neverSeatsAGroupNextToItself() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            Roster roster = randomRoster(random, 1 + random.nextInt(8), 60);
+            List<RoomLayout> rooms = randomRooms(random, 1 + random.nextInt(12));
+
+            SeatAllocation allocation = engine.allocate(roster, rooms);
+
+            int placed = 0;
+            for (int r = 0; r < allocation.roomCount(); r++) {
+                RoomLayout room = allocation.room(r);
+                int start = allocation.roomStart(r);
+                for (int seat = 0; seat < room.capacity(); seat++) {
+                    int student = allocation.studentAt(start + seat);
+                    if (student == SeatAllocation.EMPTY) continue;
+                    placed++;
+                    int row = room.rowOf(seat);
+                    int x = room.columnOf(seat) * room.seatsPerBench() + room.benchSeatOf(seat);
+                    assertApart(roster, allocation, room, start, student, row + 1, x, "run " + run);
+                    assertApart(roster, allocation, room, start, student, row, x + 1, "run " + run);
+                }
+            }
+            assertEquals(allocation.placed(), placed);
+        }
+    }
+
+    @Test
+    void seatsEveryoneWhenTheGroupsSplitEvenly() {
+        Roster roster = roster(60, 60, 60, 60);
+        List<RoomLayout> rooms = List.of(new RoomLayout(1, 10, 2, 3), new RoomLayout(2, 10, 2, 3),
+                new RoomLayout(3, 10, 2, 3), new RoomLayout(4, 10, 2, 3));
+
+        assertEquals(240, engine.allocate(roster, rooms).placed());
+    }
+
+    @Test
+    void seatsThreeEqualGroupsInThreeColours() {
+        Roster roster = roster(60, 60, 60);
+        List<RoomLayout> rooms = List.of(new RoomLayout(1, 10, 2, 3), new RoomLayout(2, 10, 2, 3),
+                new RoomLayout(3, 10, 2, 3));
+
+        assertEquals(180, engine.allocate(roster, rooms).placed());
+    }
+
+    @Test
+    void keepsTwoColoursWhenOneGroupIsHalfTheRoster() {
+        Roster roster = roster(90, 45, 45);
+        List<RoomLayout> rooms = List.of(new RoomLayout(1, 10, 2, 3), new RoomLayout(2, 10, 2, 3),
+                new RoomLayout(3, 10, 2, 3));
+
+        assertEquals(180, engine.allocate(roster, rooms).placed());
+    }
+
+    @Test
+    void leavesAnOversizedGroupPartlyUnplaced() {
+        SeatAllocation allocation = engine.allocate(roster(50), List.of(new RoomLayout(1, 4, 2, 3)));
+
+        assertEquals(12, allocation.placed());
+        assertEquals(38, allocation.unplaced());
+    }
+
+    private static void assertApart(Roster roster, SeatAllocation allocation, RoomLayout room, int start,
+                                    int student, int row, int x, String message) {
+        int width = room.columns() * room.seatsPerBench();
+        if (row >= room.rows() || x >= width) {
+            return;
+        }
+        int neighbour = allocation.studentAt(start + room.seatAt(row, x / room.seatsPerBench(), x % room.seatsPerBench()));
+        if (neighbour == SeatAllocation.EMPTY) {
+            return;
+        }
+        assertNotEquals(group(roster, student), group(roster, neighbour), message);
+    }
+
+    private static long group(Roster roster, int student) {
+        return (long) roster.program(student) << 32 | roster.semester(student);
+    }
+
+    private static Roster roster(int... groupSizes) {
+        Roster.Builder roster = Roster.builder(100);
+        for (int g = 0; g < groupSizes.length; g++) {
+            for (int roll = 1; roll <= groupSizes[g]; roll++) {
+                roster.add(1000 + g, 1, roll);
+            }
+            roster.endGroup();
+        }
+        return roster.build();
+    }
+
+    private static Roster randomRoster(Random random, int groups, int maxGroupSize) {
+        Roster.Builder roster = Roster.builder(groups * maxGroupSize);
+        for (int g = 0; g < groups; g++) {
+            int size = random.nextInt(maxGroupSize);
+            for (int roll = 1; roll <= size; roll++) {
+                // every third group repeats an earlier program and semester
+                roster.add(1000 + (g % 3 == 2 ? g - 1 : g), 1 + g % 8 - (g % 3 == 2 ? 1 : 0), roll);
+            }
+            roster.endGroup();
+        }
+        return roster.build();
+    }
+
+    private static List<RoomLayout> randomRooms(Random random, int count) {
+        List<RoomLayout> rooms = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            rooms.add(new RoomLayout(100 + r, 1 + random.nextInt(6), 1 + random.nextInt(4), 1 + random.nextInt(4)));
+        }
+        return rooms;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.examseatplanner.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Golden plans for the sequential engine, checked against a copy of the queue-per-group
+ * loop it replaced: each room starts again from the first groups, a bench seat whose group
+ * runs dry takes the next unused group, and seats left without a group stay empty.
+ */
+class DefaultSeatAllocationEngineTest {
+
+    private static final int E = SeatAllocation.EMPTY;
+
+    private final DefaultSeatAllocationEngine engine = new DefaultSeatAllocationEngine();
+
+    @Test
+    void everyRoomStartsAgainFromTheFirstGroups() {
+        // A = students 0-2, B = 3-5; rooms of one row, two columns, benches of two
+        Roster roster = roster(3, 3);
+        List<RoomLayout> rooms = List.of(new RoomLayout(101, 1, 2, 2), new RoomLayout(102, 1, 2, 2));
+
+        assertPlan(new int[]{0, 3, 1, 4, 2, 5, E, E}, roster, rooms);
+    }
+
+    @Test
+    void aSeatWhoseGroupRunsDryTakesTheNextUnusedGroup() {
+        // A = student 0, B = 1-3, C = 4-6; one row of three benches of two
+        Roster roster = roster(1, 3, 3);
+        List<RoomLayout> rooms = List.of(new RoomLayout(101, 1, 3, 2));
+
+        assertPlan(new int[]{0, 1, 4, 2, 5, 3}, roster, rooms);
+    }
+
+    @Test
+    void emptyGroupsAndSeatsWithoutAGroupStayEmpty() {
+        // A = students 0-1, B is empty, C = 2; benches of three, two rows
+        Roster roster = roster(2, 0, 1);
+        List<RoomLayout> rooms = List.of(new RoomLayout(101, 2, 1, 3));
+
+        assertPlan(new int[]{0, E, 2, 1, E, E}, roster, rooms);
+    }
+
+    @Test
+    void matchesTheQueueBasedFillOnRandomExams() {
+        Random random = new Random(11);
+        for (int run = 0; run < 300; run++) {
+            int[] sizes = new int[1 + random.nextInt(6)];
+            for (int g = 0; g < sizes.length; g++) {
+                sizes[g] = random.nextInt(25);
+            }
+            List<RoomLayout> rooms = new ArrayList<>();
+            for (int r = 0, count = 1 + random.nextInt(5); r < count; r++) {
+                rooms.add(new RoomLayout(100 + r, 1 + random.nextInt(5), 1 + random.nextInt(4), 1 + random.nextInt(4)));
+            }
+
+            Roster roster = roster(sizes);
+            assertArrayEquals(queueFill(roster, rooms), seats(engine.allocate(roster, rooms)), "run " + run);
+        }
+    }
+
+    private void assertPlan(int[] expected, Roster roster, List<RoomLayout> rooms) {
+        SeatAllocation allocation = engine.allocate(roster, rooms);
+        assertArrayEquals(expected, queueFill(roster, rooms));
+        assertArrayEquals(expected, seats(allocation));
+        assertEquals(Arrays.stream(expected).filter(s -> s != E).count(), allocation.placed());
+    }
+
+    /** Groups of the given sizes, students numbered in roster order. */
+    private static Roster roster(int... sizes) {
+        Roster.Builder roster = Roster.builder(Arrays.stream(sizes).sum());
+        for (int g = 0; g < sizes.length; g++) {
+            for (int roll = 1; roll <= sizes[g]; roll++) {
+                roster.add(1001 + g, 1, roll);
+            }
+            roster.endGroup();
+        }
+        return roster.build();
+    }
+
+    private static int[] seats(SeatAllocation allocation) {
+        int[] seats = new int[allocation.seatCount()];
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat] = allocation.studentAt(seat);
+        }
+        return seats;
+    }
+
+    /** The original fill: one queue per group, taken from a fresh list in every room. */
+    private static int[] queueFill(Roster roster, List<RoomLayout> rooms) {
+        List<Queue<Integer>> queues = new ArrayList<>();
+        for (int g = 0; g < roster.groupCount(); g++) {
+            Queue<Integer> queue = new LinkedList<>();
+            for (int student = roster.groupStart(g); student < roster.groupEnd(g); student++) {
+                queue.add(student);
+            }
+            queues.add(queue);
+        }
+
+        int[] seats = new int[SeatAllocation.roomOffsets(rooms)[rooms.size()]];
+        Arrays.fill(seats, E);
+        int position = 0;
+        for (RoomLayout room : rooms) {
+            List<Queue<Integer>> remaining = new ArrayList<>(queues);
+            List<Queue<Integer>> seatQueues = new ArrayList<>();
+            for (int seat = 0; seat < room.seatsPerBench(); seat++) {
+                seatQueues.add(remaining.isEmpty() ? new LinkedList<>() : remaining.remove(0));
+            }
+            for (int bench = 0; bench < room.rows() * room.columns(); bench++) {
+                for (int seat = 0; seat < room.seatsPerBench(); seat++, position++) {
+                    Queue<Integer> queue = seatQueues.get(seat);
+                    if (queue.isEmpty()) {
+                        if (remaining.isEmpty()) {
+                            continue;
+                        }
+                        queue = remaining.remove(0);
+                        seatQueues.set(seat, queue);
+                    }
+                    Integer student = queue.poll();
+                    if (student != null) {
+                        seats[position] = student;
+                    }
+                }
+            }
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.examseatplanner.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelSeatAllocationEngineTest {
+
+    private final DefaultSeatAllocationEngine sequential = new DefaultSeatAllocationEngine();
+    private final ParallelSeatAllocationEngine parallel = new ParallelSeatAllocationEngine(4);
+
+    @AfterEach
+    void shutdown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    void producesTheSamePlanAsTheSequentialEngine() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            Roster roster = randomRoster(random, 1 + random.nextInt(8), 60);
+            List<RoomLayout> rooms = randomRooms(random, 1 + random.nextInt(12));
+
+            SeatAllocation expected = sequential.allocate(roster, rooms);
+            SeatAllocation actual = parallel.allocate(roster, rooms);
+
+            assertEquals(expected.placed(), actual.placed());
+            assertEquals(expected.seatCount(), actual.seatCount());
+            for (int seat = 0; seat < expected.seatCount(); seat++) {
+                assertEquals(expected.studentAt(seat), actual.studentAt(seat), "run " + run + ", seat " + seat);
+            }
+        }
+    }
+
+    @Test
+    void handlesRostersLargerThanAllRooms() {
+        Roster roster = randomRoster(new Random(7), 3, 5_000);
+        List<RoomLayout> rooms = List.of(new RoomLayout(1, 10, 3, 2), new RoomLayout(2, 4, 2, 3));
+
+        SeatAllocation expected = sequential.allocate(roster, rooms);
+        SeatAllocation actual = parallel.allocate(roster, rooms);
+
+        assertEquals(expected.placed(), actual.placed());
+        for (int seat = 0; seat < expected.seatCount(); seat++) {
+            assertEquals(expected.studentAt(seat), actual.studentAt(seat));
+        }
+    }
+
+    private static Roster randomRoster(Random random, int groups, int maxGroupSize) {
+        Roster.Builder roster = Roster.builder(groups * maxGroupSize);
+        for (int g = 0; g < groups; g++) {
+            int size = random.nextInt(maxGroupSize);
+            for (int roll = 1; roll <= size; roll++) {
+                roster.add(1000 + g, 1 + g % 8, roll);
+            }
+            roster.endGroup();
+        }
+        return roster.build();
+    }
+
+    private static List<RoomLayout> randomRooms(Random random, int count) {
+        List<RoomLayout> rooms = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            rooms.add(new RoomLayout(100 + r, 1 + random.nextInt(6), 1 + random.nextInt(4), 1 + random.nextInt(4)));
+        }
+        return rooms;
+    }
+}
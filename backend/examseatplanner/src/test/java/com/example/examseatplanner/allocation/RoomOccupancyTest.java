@@ -0,0 +1,157 @@
+package com.example.examseatplanner.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RoomOccupancyTest {
+
+    // 2 rows, 2 columns, benches of 2: seats 0-1 and 2-3 are column 0, 4-5 and 6-7 column 1.
+    private final RoomOccupancy room = new RoomOccupancy(new RoomLayout(101, 2, 2, 2));
+
+    @Test
+    void packsStudentsIntoOneLong() {
+        int maxRoll = (1 << 28) - 1;
+        for (int semester = 1; semester <= 8; semester++) {
+            long student = RoomOccupancy.student(99999, semester, maxRoll);
+            assertEquals(99999, RoomOccupancy.program(student));
+            assertEquals(semester, RoomOccupancy.semester(student));
+            assertEquals(maxRoll, RoomOccupancy.roll(student));
+        }
+        assertEquals(1, RoomOccupancy.roll(RoomOccupancy.student(1001, 8, 1)));
+    }
+
+    @Test
+    void keepsAGroupOffItsOwnBench() {
+        room.place(0, RoomOccupancy.student(1001, 1, 1));
+
+        assertEquals(2, room.findSeat(RoomOccupancy.student(1001, 1, 2)));
+        assertEquals(1, room.findSeat(RoomOccupancy.student(1001, 2, 2)));
+        assertEquals(1, room.findSeat(RoomOccupancy.student(1002, 1, 2)));
+
+        for (int seat = 2; seat < 8; seat++) {
+            room.place(seat, RoomOccupancy.student(1002, 1, seat));
+        }
+        assertEquals(RoomOccupancy.NO_SEAT, room.findSeat(RoomOccupancy.student(1001, 1, 2)));
+        assertEquals(1, room.firstFreeSeat());
+    }
+
+    @Test
+    void placingOnATakenSeatFails() {
+        room.place(3, RoomOccupancy.student(1001, 1, 1));
+
+        assertThrows(IllegalStateException.class, () -> room.place(3, RoomOccupancy.student(1002, 1, 1)));
+    }
+
+    @Test
+    void releasingFreesTheSeat() {
+        long student = RoomOccupancy.student(1001, 1, 1);
+        room.place(0, student);
+        room.place(5, RoomOccupancy.student(1001, 1, 2));
+
+        assertEquals(1, room.firstFreeSeat());
+        assertEquals(0, room.nextTakenSeat(0));
+        assertEquals(student, room.release(0));
+        assertEquals(RoomOccupancy.FREE, room.occupant(0));
+        assertEquals(0, room.firstFreeSeat());
+        assertEquals(5, room.nextTakenSeat(0));
+        assertEquals(RoomOccupancy.NO_SEAT, room.nextTakenSeat(6));
+    }
+
+    @Test
+    void resizeKeepsSeatsThatStillExist() {
+        long[] students = new long[8];
+        for (int seat = 0; seat < 8; seat++) {
+            students[seat] = RoomOccupancy.student(1001, 1, seat + 1);
+            room.place(seat, students[seat]);
+        }
+
+        // One row of single seats, three columns wide: only row 0, bench seat 0 survives.
+        RoomLayout narrow = new RoomLayout(101, 1, 3, 1);
+        long[] displaced = room.resize(narrow);
+
+        assertEquals(narrow, room.layout());
+        assertEquals(students[0], room.occupant(0));
+        assertEquals(students[4], room.occupant(1));
+        assertEquals(2, room.firstFreeSeat());
+        assertArrayEquals(new long[]{students[1], students[2], students[3], students[5], students[6], students[7]},
+                displaced);
+    }
+
+    @Test
+    void growingLosesNobody() {
+        room.place(3, RoomOccupancy.student(1001, 1, 1));
+
+        assertArrayEquals(new long[0], room.resize(new RoomLayout(101, 3, 2, 2)));
+        // Row 1, column 0, bench seat 1 of a three-row room.
+        assertEquals(3, room.nextTakenSeat(0));
+        assertEquals(RoomOccupancy.student(1001, 1, 1), room.occupant(3));
+        assertEquals(0, room.findSeat(RoomOccupancy.student(1002, 1, 1)));
+    }
+
+    @Test
+    void releasingReopensTheBenchToTheGroup() {
+        long first = RoomOccupancy.student(1001, 1, 1);
+        room.place(0, first);
+        room.place(1, RoomOccupancy.student(1002, 1, 1));
+        assertEquals(2, room.findSeat(RoomOccupancy.student(1002, 1, 2)));
+
+        room.release(1);
+        assertEquals(1, room.findSeat(RoomOccupancy.student(1002, 1, 2)));
+        assertEquals(2, room.findSeat(RoomOccupancy.student(1001, 1, 2)));
+
+        room.release(0);
+        assertEquals(0, room.findSeat(first));
+    }
+
+    @Test
+    void matchesAScanOfTheFreeSeatsOnRandomChanges() {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            RoomOccupancy occupancy = new RoomOccupancy(
+                    new RoomLayout(101, 1 + random.nextInt(4), 1 + random.nextInt(4), 1 + random.nextInt(3)));
+            for (int step = 0; step < 60; step++) {
+                RoomLayout layout = occupancy.layout();
+                long student = RoomOccupancy.student(1001 + random.nextInt(3), 1 + random.nextInt(2), step + 1);
+                assertEquals(scanForSeat(occupancy, student), occupancy.findSeat(student), "run " + run);
+                assertEquals(scanForSeat(occupancy, -1L), occupancy.firstFreeSeat(), "run " + run);
+
+                int seat = random.nextInt(layout.capacity());
+                if (random.nextInt(10) == 0) {
+                    occupancy.resize(new RoomLayout(101, 1 + random.nextInt(4), 1 + random.nextInt(4),
+                            1 + random.nextInt(3)));
+                } else if (occupancy.occupant(seat) != RoomOccupancy.FREE) {
+                    occupancy.release(seat);
+                } else {
+                    occupancy.place(seat, student);
+                }
+            }
+        }
+    }
+
+    /** The first free seat with no bench mate of the student's group ({@code -1}: any free seat). */
+    private static int scanForSeat(RoomOccupancy occupancy, long student) {
+        RoomLayout layout = occupancy.layout();
+        for (int seat = 0; seat < layout.capacity(); seat++) {
+            if (occupancy.occupant(seat) != RoomOccupancy.FREE) {
+                continue;
+            }
+            boolean sharesBench = false;
+            int first = seat - layout.benchSeatOf(seat);
+            for (int mate = first; mate < first + layout.seatsPerBench(); mate++) {
+                long occupant = occupancy.occupant(mate);
+                sharesBench |= student != -1L && occupant != RoomOccupancy.FREE
+                        && RoomOccupancy.program(occupant) == RoomOccupancy.program(student)
+                        && RoomOccupancy.semester(occupant) == RoomOccupancy.semester(student);
+            }
+            if (!sharesBench) {
+                return seat;
+            }
+        }
+        return RoomOccupancy.NO_SEAT;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.examseatplanner.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class RoomSelectionOptimizerTest {
+
+    private final RoomSelectionOptimizer optimizer = new RoomSelectionOptimizer(1_000, 42);
+
+    @Test
+    void findsTheFewestRoomsWithNoEmptySeats() {
+        // largest-first takes three 60-seat rooms and leaves 30 seats empty
+        List<RoomLayout> rooms = rooms(60, 60, 60, 60, 60, 30, 30);
+        List<ObjectivePoint> trace = new ArrayList<>();
+
+        int[] quotas = optimizer.optimize(150, rooms, new ObjectiveListener() {
+            @Override
+            public void improved(ObjectivePoint point) {
+                trace.add(point);
+            }
+        });
+
+        assertEquals(150, IntStream.of(quotas).sum());
+        assertEquals(3, IntStream.of(quotas).filter(q -> q > 0).count());
+        for (int r = 0; r < quotas.length; r++) {
+            assertTrue(quotas[r] == 0 || quotas[r] == rooms.get(r).capacity());
+        }
+        assertEquals(30, trace.get(0).emptySeats());
+        assertEquals(0, trace.get(trace.size() - 1).emptySeats());
+        for (int i = 1; i < trace.size(); i++) {
+            assertEquals(3, trace.get(i).roomsUsed());
+            assertTrue(trace.get(i).emptySeats() < trace.get(i - 1).emptySeats());
+        }
+    }
+
+    @Test
+    void spreadsStudentsInProportionToCapacity() {
+        int[] quotas = optimizer.optimize(100, rooms(60, 30, 60), ObjectiveListener.NONE);
+
+        assertArrayEquals(new int[] {50, 0, 50}, quotas);
+    }
+
+    @Test
+    void usesEveryRoomWhenSeatsRunShort() {
+        int[] quotas = optimizer.optimize(500, rooms(60, 30, 60), ObjectiveListener.NONE);
+
+        assertArrayEquals(new int[] {60, 30, 60}, quotas);
+    }
+
+    @Test
+    void engineSeatsEveryoneItCanInTheChosenRooms() {
+        Roster.Builder builder = Roster.builder(150);
+        for (int g = 0; g < 3; g++) {
+            for (int roll = 1; roll <= 50; roll++) {
+                builder.add(1000 + g, 1, roll);
+            }
+            builder.endGroup();
+        }
+        OptimizingSeatAllocationEngine engine = new OptimizingSeatAllocationEngine(new DefaultSeatAllocationEngine(), 100);
+
+        SeatAllocation allocation = engine.allocate(builder.build(), rooms(60, 60, 60, 60, 60, 30, 30));
+
+        assertEquals(150, allocation.placed());
+    }
+
+    @Test
+    void engineChoosesMoreRoomsWhenTheQuotasFallShort() {
+        // Two groups fill only two of the three seats on a bench, and the smaller one runs dry early.
+        Roster.Builder builder = Roster.builder(60);
+        for (int roll = 1; roll <= 50; roll++) {
+            builder.add(1000, 1, roll);
+        }
+        builder.endGroup();
+        for (int roll = 1; roll <= 10; roll++) {
+            builder.add(1001, 1, roll);
+        }
+        builder.endGroup();
+        OptimizingSeatAllocationEngine engine = new OptimizingSeatAllocationEngine(new DefaultSeatAllocationEngine(), 100);
+        List<ObjectivePoint> trace = new ArrayList<>();
+
+        SeatAllocation allocation = engine.allocate(builder.build(), rooms(60, 60, 60, 60, 30, 30),
+                new ObjectiveListener() {
+                    @Override
+                    public void improved(ObjectivePoint point) {
+                        trace.add(point);
+                    }
+                });
+
+        assertEquals(60, allocation.placed());
+        ObjectivePoint seated = trace.get(trace.size() - 1);
+        assertTrue(seated.spareSeats() > 0);
+        assertTrue(seated.roomsUsed() > trace.get(0).roomsUsed());
+        assertTrue(seated.roomsUsed() < 6);
+        int roomsUsed = 0;
+        for (int r = 0; r < allocation.roomCount(); r++) {
+            boolean taken = false;
+            for (int seat = allocation.roomStart(r); seat < allocation.roomEnd(r); seat++) {
+                taken |= allocation.studentAt(seat) != SeatAllocation.EMPTY;
+            }
+            roomsUsed += taken ? 1 : 0;
+        }
+        assertEquals(roomsUsed, seated.roomsUsed());
+    }
+
+    private static List<RoomLayout> rooms(int... capacities) {
+        List<RoomLayout> rooms = new ArrayList<>();
+        for (int r = 0; r < capacities.length; r++) {
+            rooms.add(new RoomLayout(100 + r, capacities[r] / 6, 2, 3));
+        }
+        return rooms;
+    }
+}
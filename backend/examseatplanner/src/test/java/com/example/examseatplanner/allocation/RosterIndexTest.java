@@ -0,0 +1,84 @@
+package com.example.examseatplanner.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.dto.StudentDTO;
+
+/**
+ * Buckets follow the exam's program order and then semester order, keep the students of a
+ * group in their input order, and drop empty buckets and students outside the exam.
+ */
+class RosterIndexTest {
+
+    @Test
+    void groupsByProgramOrderThenSemester() {
+        RosterIndex index = RosterIndex.build(List.of(1002, 1001), List.of(
+                student(1001, 3, 1), student(1002, 3, 7), student(1001, 1, 4),
+                student(1001, 3, 2), student(1002, 3, 5), student(1001, 1, 3)));
+
+        assertEquals(List.of(
+                List.of(student(1002, 3, 7), student(1002, 3, 5)),
+                List.of(student(1001, 1, 4), student(1001, 1, 3)),
+                List.of(student(1001, 3, 1), student(1001, 3, 2))), groups(index));
+        assertEquals(1001, index.groupProgram(2));
+        assertEquals(3, index.groupSemester(2));
+        assertEquals(2, index.groupSize(1));
+    }
+
+    @Test
+    void dropsEmptyBucketsAndStudentsOutsideTheExam() {
+        RosterIndex index = RosterIndex.build(List.of(1001, 1002, 1001), List.of(
+                student(1001, 2, 1), student(9999, 2, 1), student(1001, 0, 1), student(1001, 9, 1),
+                student(1001, 8, 2)));
+
+        assertEquals(2, index.groupCount());
+        assertEquals(2, index.roster().size());
+        assertEquals(0, index.groupOf(1001, 2));
+        assertEquals(1, index.groupOf(1001, 8));
+        assertEquals(-1, index.groupOf(1001, 1));
+        assertEquals(-1, index.groupOf(1002, 2));
+        assertEquals(-1, index.groupOf(9999, 2));
+        assertEquals(-1, index.groupOf(1001, 0));
+    }
+
+    @Test
+    void matchesTheQueuePerProgramWhenEachProgramSitsOneSemester() {
+        List<Integer> programs = List.of(1003, 1001, 1002);
+        List<StudentDTO> students = new ArrayList<>();
+        for (int roll = 1; roll <= 5; roll++) {
+            for (int program : new int[]{1001, 1002, 1003}) {
+                if (program != 1002 || roll <= 2) {
+                    students.add(student(program, 4, roll * 10 + program % 10));
+                }
+            }
+        }
+
+        List<List<StudentDTO>> queues = new ArrayList<>();
+        for (Integer program : programs) {
+            queues.add(students.stream().filter(s -> s.programCode().equals(program)).toList());
+        }
+        assertEquals(queues, groups(RosterIndex.build(programs, students)));
+    }
+
+    private static List<List<StudentDTO>> groups(RosterIndex index) {
+        Roster roster = index.roster();
+        List<List<StudentDTO>> groups = new ArrayList<>();
+        for (int g = 0; g < index.groupCount(); g++) {
+            List<StudentDTO> group = new ArrayList<>();
+            for (int s = roster.groupStart(g); s < roster.groupEnd(g); s++) {
+                group.add(student(roster.program(s), roster.semester(s), roster.roll(s)));
+            }
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private static StudentDTO student(int programCode, int semester, int roll) {
+        return new StudentDTO(programCode, semester, roll);
+    }
+}
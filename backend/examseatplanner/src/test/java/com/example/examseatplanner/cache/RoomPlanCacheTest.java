@@ -0,0 +1,111 @@
+package com.example.examseatplanner.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.dto.CacheStatsDTO;
+import com.example.examseatplanner.dto.RoomPlanDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.event.RoomUpdatedEvent;
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+
+/**
+ * Room plans are served from the cache until they expire, are evicted least recently used,
+ * or an event drops them; a load that overlaps an invalidation is returned but not kept.
+ */
+class RoomPlanCacheTest {
+
+    private final List<Integer> loads = new ArrayList<>();
+    private final Function<Integer, List<RoomPlanDTO>> loader = examId -> {
+        loads.add(examId);
+        return List.of(new RoomPlanDTO(Integer.toString(100 + examId), List.of()));
+    };
+
+    @Test
+    void servesARepeatedReadFromTheCache() {
+        RoomPlanCache cache = new RoomPlanCache(4, 600);
+
+        List<RoomPlanDTO> first = cache.get(1, loader);
+        assertSame(first, cache.get(1, loader));
+
+        assertEquals(List.of(1), loads);
+        assertEquals(new CacheStatsDTO(1, 1, 0, 1, 0.5), cache.stats());
+    }
+
+    @Test
+    void reloadsAnExpiredEntry() {
+        RoomPlanCache cache = new RoomPlanCache(4, 0);
+
+        cache.get(1, loader);
+        cache.get(1, loader);
+
+        assertEquals(List.of(1, 1), loads);
+        assertEquals(new CacheStatsDTO(0, 2, 1, 1, 0.0), cache.stats());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedExam() {
+        RoomPlanCache cache = new RoomPlanCache(2, 600);
+
+        cache.get(1, loader);
+        cache.get(2, loader);
+        cache.get(1, loader);
+        cache.get(3, loader);
+        cache.get(1, loader);
+        cache.get(2, loader);
+
+        assertEquals(List.of(1, 2, 3, 2), loads);
+        assertEquals(new CacheStatsDTO(2, 4, 2, 2, 2 / 6.0), cache.stats());
+    }
+
+    @Test
+    void dropsPlansOnEvents() {
+        RoomPlanCache cache = new RoomPlanCache(4, 600);
+        cache.get(1, loader);
+        cache.get(2, loader);
+        cache.get(3, loader);
+
+        cache.onSeatPlanChanged(new SeatPlanChangedEvent(1));
+        cache.onExamDeleted(new ExamDeletedEvent(2));
+        cache.onRoomUpdated(new RoomUpdatedEvent(103));
+        for (int examId = 1; examId <= 3; examId++) {
+            cache.get(examId, loader);
+        }
+
+        assertEquals(List.of(1, 2, 3, 1, 2, 3), loads);
+    }
+
+    @Test
+    void doesNotKeepALoadThatOverlapsAnInvalidation() {
+        RoomPlanCache cache = new RoomPlanCache(4, 600);
+
+        List<RoomPlanDTO> stale = cache.get(1, examId -> {
+            // the plan changes while this read is still loading the old one
+            cache.invalidate(examId);
+            return loader.apply(examId);
+        });
+        List<RoomPlanDTO> fresh = cache.get(1, loader);
+
+        assertEquals(List.of(1, 1), loads);
+        assertEquals(0, cache.stats().hits());
+        assertSame(fresh, cache.get(1, loader));
+        assertEquals(1, stale.size());
+    }
+
+    @Test
+    void cachesNothingWithoutEntries() {
+        RoomPlanCache cache = new RoomPlanCache(0, 600);
+
+        cache.get(1, loader);
+        cache.get(1, loader);
+
+        assertEquals(List.of(1, 1), loads);
+        assertEquals(0, cache.stats().size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.examseatplanner.controller;
+
+import static com.example.examseatplanner.support.TestData.START;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * PUT /api/exams/{id} rewrites an exam in place: kept program-semesters keep their rows,
+ * dropped ones are deleted and new ones inserted, without tripping the unique keys, and
+ * repeating the same update changes nothing.
+ */
+@IntegrationTest
+class ExamUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void updatesProgramSemestersRoomsAndDatesInPlace() throws Exception {
+        List<ProgramSemesterDTO> groups = List.of(group(1001), group(1002), group(1003));
+        testData.students(groups, 1);
+        testData.rooms(821, 822);
+        Integer examId = testData.exam(0, 2, groups.subList(0, 2), List.of(821));
+        Long kept = jdbcTemplate.queryForObject(
+                "SELECT id FROM exam_program_semesters WHERE exam_id = ? AND program_code = 1002", Long.class, examId);
+
+        String body = "{\"startDate\":\"" + START.plusDays(7) + "\",\"endDate\":\"" + START.plusDays(8) + "\","
+                + "\"programSemesters\":[{\"programCode\":1002,\"semester\":3},{\"programCode\":1003,\"semester\":3}],"
+                + "\"roomNumbers\":[822]}";
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(put("/api/exams/" + examId).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+
+            assertEquals(List.of(1002, 1003), jdbcTemplate.queryForList(
+                    "SELECT program_code FROM exam_program_semesters WHERE exam_id = ? ORDER BY program_code",
+                    Integer.class, examId));
+            assertEquals(kept, jdbcTemplate.queryForObject(
+                    "SELECT id FROM exam_program_semesters WHERE exam_id = ? AND program_code = 1002", Long.class, examId));
+            assertEquals(List.of(822), jdbcTemplate.queryForList(
+                    "SELECT room_no FROM exam_rooms WHERE exam_id = ?", Integer.class, examId));
+            assertEquals(START.plusDays(7), jdbcTemplate.queryForObject(
+                    "SELECT start_date FROM exam WHERE exam_id = ?", LocalDate.class, examId));
+        }
+    }
+
+    private static ProgramSemesterDTO group(int programCode) {
+        return new ProgramSemesterDTO(programCode, 3);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.examseatplanner.controller;
+
+import static com.example.examseatplanner.support.TestData.groups;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/** Generating a plan that cannot seat everyone saves what fits and reports who was left out. */
+@IntegrationTest
+class PartialSeatPlanTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private Integer examId;
+
+    @BeforeEach
+    void seed() {
+        testData.students(groups(6), 3);
+        testData.rooms(851);
+        examId = testData.exam(0, 1, groups(6), List.of(851));
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void seatsEveryoneWhenTheRoomsFit() throws Exception {
+        mockMvc.perform(post("/api/seating/generate/" + examId).param("mode", "CHECKERBOARD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.placed").value(6))
+                .andExpect(jsonPath("$.unplaced").value(0));
+        assertEquals(6, seats());
+    }
+
+    @Test
+    void reportsUnplacedStudents() throws Exception {
+        // One bench of two seats left: one student of each group.
+        testData.room(851, 1, 2, 1);
+
+        mockMvc.perform(post("/api/seating/generate/" + examId).param("mode", "CHECKERBOARD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.placed").value(2))
+                .andExpect(jsonPath("$.unplaced").value(4))
+                .andExpect(jsonPath("$.changes.inserted").value(2));
+        assertEquals(2, seats());
+    }
+
+    @Test
+    void reportsUnplacedStudentsInTheDefaultMode() throws Exception {
+        testData.room(851, 1, 2, 1);
+
+        mockMvc.perform(post("/api/seating/generate/" + examId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.placed").value(2))
+                .andExpect(jsonPath("$.unplaced").value(4));
+        assertEquals(2, seats());
+    }
+
+    private int seats() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seating_plan WHERE exam_id = ?", Integer.class, examId);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.examseatplanner.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.example.examseatplanner.dto.ExamRequestDTO;
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.model.Room;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.EnrollmentCountRepository;
+import com.example.examseatplanner.repository.ProgramRepository;
+import com.example.examseatplanner.repository.RoomRepository;
+import com.example.examseatplanner.repository.StudentRepository;
+import com.example.examseatplanner.service.ExamService;
+import com.example.examseatplanner.service.SeatPlanService;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.StatementRecorder;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * Counts the JDBC statements each endpoint runs for one request, once against a small data
+ * set and once after it has grown several times over. A count above the endpoint's bound,
+ * or one that grows with the data, means a query is running per row.
+ */
+@IntegrationTest
+class QueryCountTest {
+
+    private static final int[] PROGRAMS = {1001, 1002};
+    private static final int ROOM_COLUMNS = 2;
+    private static final int SEATS_PER_BENCH = 3;
+
+    /** The data one growth step added: an exam with a saved plan, its groups and rooms. */
+    private record Seed(int semester, int examId, LocalDate start, LocalDate end, List<Integer> rooms, int students,
+                        int studentId) {}
+
+    private record Endpoint(String name, int maxQueries, Function<Seed, RequestBuilder> request) {}
+
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("GET /api/exams", 3, s -> get("/api/exams")),
+            new Endpoint("GET /api/exams/{id}", 3, s -> get("/api/exams/" + s.examId())),
+            new Endpoint("GET /api/exams/rooms/{id}", 1, s -> get("/api/exams/rooms/" + s.examId())),
+            new Endpoint("GET /api/exams/booked-rooms", 0, s -> get("/api/exams/booked-rooms")
+                    .param("startDate", s.start().toString()).param("endDate", s.end().toString())),
+            new Endpoint("GET /api/exams/{roomNo}/is-booked", 0, s -> get("/api/exams/" + s.rooms().get(0) + "/is-booked")
+                    .param("startDate", s.start().toString()).param("endDate", s.end().toString())),
+            new Endpoint("GET /api/exams/students/{id}", 1, s -> get("/api/exams/students/" + s.examId())),
+            new Endpoint("GET /api/exams/programNames/{id}", 2, s -> get("/api/exams/programNames/" + s.examId())),
+            new Endpoint("GET /api/exams/program/{code}", 3, s -> get("/api/exams/program/" + PROGRAMS[0])),
+            new Endpoint("GET /api/exams/date-range", 3, s -> get("/api/exams/date-range")
+                    .param("startDate", s.start().toString()).param("endDate", s.end().toString())),
+            new Endpoint("GET /api/exam-data/{id}/data", 4, s -> get("/api/exam-data/" + s.examId() + "/data")),
+            new Endpoint("GET /api/students", 1, s -> get("/api/students")),
+            new Endpoint("GET /api/students/program/{code}/semester/{sem}", 1,
+                    s -> get("/api/students/program/" + PROGRAMS[0] + "/semester/" + s.semester())),
+            new Endpoint("GET /api/students/semester/{sem}", 1, s -> get("/api/students/semester/" + s.semester())),
+            new Endpoint("GET /api/rooms", 1, s -> get("/api/rooms")),
+            new Endpoint("GET /api/rooms/free", 1, s -> get("/api/rooms/free")
+                    .param("startDate", s.start().toString()).param("endDate", s.end().toString())),
+            new Endpoint("GET /api/rooms/booked/{roomNo}", 2, s -> get("/api/rooms/booked/" + s.rooms().get(0))),
+            new Endpoint("GET /api/programs", 1, s -> get("/api/programs")),
+            new Endpoint("GET /api/seating/{id}", 2, s -> get("/api/seating/" + s.examId())),
+            new Endpoint("GET /api/seating/{id}/rooms/{roomNo}", 2,
+                    s -> get("/api/seating/" + s.examId() + "/rooms/" + s.rooms().get(0))),
+            new Endpoint("GET /api/seating/{id}/stream", 2, s -> get("/api/seating/" + s.examId() + "/stream")),
+            new Endpoint("GET /api/seating/search", 1, s -> get("/api/seating/search")
+                    .param("startDate", s.start().toString()).param("endDate", s.end().toString())
+                    .param("programCode", Integer.toString(PROGRAMS[0]))
+                    .param("semester", Integer.toString(s.semester())).param("roll", "1")),
+            new Endpoint("POST /api/seating/simulate", 2, s -> post("/api/seating/simulate")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(simulation(s))),
+            new Endpoint("POST /api/seating/generate/{id}", 8, s -> post("/api/seating/generate/" + s.examId())),
+            new Endpoint("POST /api/seating/generate?startDate&endDate", 9, s -> post("/api/seating/generate")
+                    .param("startDate", s.start().toString()).param("endDate", s.end().toString())),
+            new Endpoint("POST /api/students", 13, s -> post("/api/students")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"programCode\":" + PROGRAMS[1] + ",\"semester\":" + s.semester()
+                            + ",\"roll\":" + (s.students() + 1) + "}")),
+            new Endpoint("POST /api/students/upload-excel", 11, s -> multipart("/api/students/upload-excel")
+                    .file(workbook(s))),
+            new Endpoint("POST /api/students/bulk", 11, s -> post("/api/students/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + student(s.semester(), s.students() + 10) + "," + student(s.semester(), s.students() + 11)
+                            + "," + student(s.semester(), s.students() + 12) + "," + student(s.semester(), 1) + "]")),
+            new Endpoint("DELETE /api/students/{id}", 10, s -> delete("/api/students/" + s.studentId())),
+            new Endpoint("POST /api/upload", 0, s -> multipart("/api/upload").file(workbook(s))),
+            new Endpoint("POST /api/exams", 8, s -> post("/api/exams")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(exam(s, 3))),
+            new Endpoint("POST /api/exams/bulk", 6, s -> post("/api/exams/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"exams\":[" + exam(s, 10) + "," + exam(s, 20) + "]}")),
+            new Endpoint("PUT /api/rooms/{roomNo}", 12, s -> put("/api/rooms/" + s.rooms().get(0))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"roomNo\":" + s.rooms().get(0) + ",\"numRow\":" + rows(s.students())
+                            + ",\"seatsPerBench\":" + SEATS_PER_BENCH + ",\"roomColumn\":" + ROOM_COLUMNS + "}")),
+            new Endpoint("PUT /api/exams/{id}", 7, s -> put("/api/exams/" + s.examId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(exam(s.semester(), s.start(), s.end(), s.rooms()))),
+            new Endpoint("POST /api/seating/{id}/pack", 7, s -> post("/api/seating/" + s.examId() + "/pack")),
+            new Endpoint("DELETE /api/exams/{id}", 9, s -> delete("/api/exams/" + s.examId())));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentCountRepository enrollmentCountRepository;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private SeatPlanService seatPlanService;
+
+    @Autowired
+    private TestData testData;
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void queryCountsAreBoundedAndDoNotGrowWithData() throws Exception {
+        Map<String, Long> small = countAll(seed(1));
+        for (int semester = 2; semester < 5; semester++) {
+            seed(semester);
+        }
+        Map<String, Long> large = countAll(seed(5));
+
+        List<Executable> checks = new ArrayList<>();
+        for (Endpoint endpoint : ENDPOINTS) {
+            long before = small.get(endpoint.name());
+            long after = large.get(endpoint.name());
+            checks.add(() -> assertTrue(after <= endpoint.maxQueries(),
+                    () -> endpoint.name() + " ran " + after + " statements, bound is " + endpoint.maxQueries()));
+            checks.add(() -> assertEquals(before, after,
+                    () -> endpoint.name() + " grew from " + before + " to " + after + " statements with the data"));
+        }
+        assertAll(checks);
+    }
+
+    private Map<String, Long> countAll(Seed seed) throws Exception {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Endpoint endpoint : ENDPOINTS) {
+            // The recorder sees every thread, so statements of streamed responses count too.
+            StatementRecorder.start();
+            MvcResult result;
+            try {
+                result = mockMvc.perform(endpoint.request().apply(seed)).andReturn();
+                if (result.getRequest().isAsyncStarted()) {
+                    result = mockMvc.perform(asyncDispatch(result)).andReturn();
+                }
+            } finally {
+                counts.put(endpoint.name(), (long) StatementRecorder.stop().size());
+            }
+            int status = result.getResponse().getStatus();
+            assertTrue(status < 300, () -> endpoint.name() + " answered " + status);
+        }
+        return counts;
+    }
+
+    /**
+     * Adds two groups of {@code 10 * semester} students, a room deep enough for each and one
+     * planned exam. Later seeds are larger, so counts that depend on the data drift upwards.
+     */
+    private Seed seed(int semester) {
+        int students = 10 * semester;
+        int rows = rows(students);
+        List<Integer> rooms = new ArrayList<>();
+        for (int r = 1; r <= PROGRAMS.length; r++) {
+            Room room = new Room(semester * 100 + r, rows, SEATS_PER_BENCH, ROOM_COLUMNS);
+            rooms.add(roomRepository.save(room).getRoomNo());
+        }
+
+        List<Student> roster = new ArrayList<>();
+        for (int code : PROGRAMS) {
+            Program program = programRepository.findByProgramCode(code).orElseThrow();
+            for (int roll = 1; roll <= students; roll++) {
+                roster.add(new Student(program, Student.Semester.values()[semester - 1], roll));
+            }
+        }
+        List<Student> saved = studentRepository.saveAll(roster);
+        enrollmentCountRepository.addedAll(saved);
+
+        LocalDate start = LocalDate.now().plusYears(1).plusDays(10L * semester);
+        LocalDate end = start.plusDays(2);
+        int examId = examService.createExamFromDto(new ExamRequestDTO(start.toString(), end.toString(),
+                groups(semester), rooms)).id();
+        seatPlanService.generateAndSaveSeatingPlan(examId);
+        return new Seed(semester, examId, start, end, rooms, students, saved.get(saved.size() - 1).getStudentId());
+    }
+
+    /** Two groups fill two of the three seats on a bench; a few spare rows for the students the endpoints add. */
+    private static int rows(int students) {
+        return students / ROOM_COLUMNS + 2;
+    }
+
+    private static String student(int semester, int roll) {
+        return "{\"programCode\":" + PROGRAMS[1] + ",\"semester\":" + semester + ",\"roll\":" + roll + "}";
+    }
+
+    private static List<ProgramSemesterDTO> groups(int semester) {
+        List<ProgramSemesterDTO> groups = new ArrayList<>();
+        for (int code : PROGRAMS) {
+            groups.add(new ProgramSemesterDTO(code, semester));
+        }
+        return groups;
+    }
+
+    private static String simulation(Seed seed) {
+        return "{\"programSemesters\":[{\"programCode\":" + PROGRAMS[0] + ",\"semester\":" + seed.semester() + "}],"
+                + "\"roomNumbers\":" + seed.rooms() + "}";
+    }
+
+    private static String exam(Seed seed, int daysAfter) {
+        LocalDate start = seed.end().plusDays(daysAfter);
+        return exam(seed.semester(), start, start.plusDays(1), seed.rooms());
+    }
+
+    private static String exam(int semester, LocalDate start, LocalDate end, List<Integer> rooms) {
+        return "{\"startDate\":\"" + start + "\",\"endDate\":\"" + end + "\","
+                + "\"programSemesters\":[{\"programCode\":" + PROGRAMS[0] + ",\"semester\":" + semester + "},"
+                + "{\"programCode\":" + PROGRAMS[1] + ",\"semester\":" + semester + "}],"
+                + "\"roomNumbers\":" + rooms + "}";
+    }
+
+    private static MockMultipartFile workbook(Seed seed) {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("Program");
+            for (int i = 1; i <= 3; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Bachelor in Information Management");
+                row.createCell(1).setCellValue(seed.semester());
+                row.createCell(2).setCellValue(seed.students() + i);
+            }
+            workbook.write(out);
+            return new MockMultipartFile("file", "students.xlsx", null, out.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.examseatplanner.controller;
+
+import static com.example.examseatplanner.support.TestData.groups;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * A room plan answers a repeated request carrying its ETag with 304 until the exam's plan
+ * changes, by regeneration or by a room update that moves seats, and then with 200 and a new tag.
+ */
+@IntegrationTest
+class RoomPlanETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    private Integer examId;
+
+    @BeforeEach
+    void seed() throws Exception {
+        // 10 students: room 871 full, two in room 872
+        testData.students(groups(7), 5);
+        examId = testData.exam(0, 1, groups(7), testData.rooms(871, 872));
+        mockMvc.perform(post("/api/seating/generate/" + examId)).andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void repeatedRequestIsNotModified() throws Exception {
+        String etag = roomPlan(null);
+
+        mockMvc.perform(get(roomUrl()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void regeneratingThePlanChangesTheTag() throws Exception {
+        String etag = roomPlan(null);
+
+        mockMvc.perform(post("/api/seating/generate/" + examId)).andExpect(status().isOk());
+
+        String regenerated = roomPlan(etag);
+        assertNotEquals(etag, regenerated);
+        mockMvc.perform(get(roomUrl()).header(HttpHeaders.IF_NONE_MATCH, regenerated))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shrinkingARoomChangesTheTag() throws Exception {
+        String etag = roomPlan(null);
+
+        // One row left: four of the eight students move to room 872
+        mockMvc.perform(put("/api/rooms/871")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roomNo\":871,\"numRow\":1,\"seatsPerBench\":2,\"roomColumn\":2}"))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, roomPlan(etag));
+        mockMvc.perform(get(roomUrl()))
+                .andExpect(jsonPath("$.seats.length()").value(1));
+    }
+
+    /** Requests room 871, expecting a full response, and returns its tag. */
+    private String roomPlan(String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get(roomUrl());
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.roomNo").value("871"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String roomUrl() {
+        return "/api/seating/" + examId + "/rooms/871";
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.examseatplanner.controller;
+
+import static com.example.examseatplanner.support.TestData.groups;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.examseatplanner.service.SeatPlanStore;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The NDJSON stream of a plan is one line per room, each the room the JSON plan holds, read
+ * in a read-only transaction that keeps no seat entities around, from rows or packed rooms.
+ */
+@IntegrationTest
+class SeatPlanStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SeatPlanStore seatPlanStore;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TestData testData;
+
+    private Integer examId;
+
+    @BeforeEach
+    void seed() throws Exception {
+        // 20 students in rooms of 8 seats: two full rooms and one partly filled
+        testData.students(groups(5), 10);
+        examId = testData.exam(0, 1, groups(5), testData.rooms(861, 862, 863));
+        mockMvc.perform(post("/api/seating/generate/" + examId)).andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void streamsOneLinePerRoom() throws Exception {
+        assertStreamMatchesPlan();
+    }
+
+    @Test
+    void streamsPackedRooms() throws Exception {
+        mockMvc.perform(post("/api/seating/" + examId + "/pack")).andExpect(status().isOk());
+
+        assertStreamMatchesPlan();
+    }
+
+    @Test
+    void readsInAReadOnlyTransactionAndDetachesTheSeats() throws Exception {
+        for (boolean packed : new boolean[]{false, true}) {
+            if (packed) {
+                mockMvc.perform(post("/api/seating/" + examId + "/pack")).andExpect(status().isOk());
+            }
+            List<String> rooms = new ArrayList<>();
+            seatPlanStore.streamRooms(examId, room -> {
+                assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                        "entities held while rendering room " + room.getRoomNo());
+                rooms.add(room.getRoomNo());
+            });
+            assertEquals(List.of("861", "862", "863"), rooms, packed ? "packed" : "rows");
+        }
+    }
+
+    private void assertStreamMatchesPlan() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/seating/" + examId + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode plan = objectMapper.readTree(mockMvc.perform(get("/api/seating/" + examId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String[] lines = body.split("\n");
+        assertEquals(3, plan.size());
+        assertEquals(plan.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(plan.get(i), objectMapper.readTree(lines[i]));
+        }
+        assertTrue(body.endsWith("\n"));
+    }
+}
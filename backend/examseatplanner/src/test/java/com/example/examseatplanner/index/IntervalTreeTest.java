@@ -0,0 +1,62 @@
+package com.example.examseatplanner.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.index.IntervalTree.Interval;
+
+class IntervalTreeTest {
+
+    @Test
+    void findsTheSameOverlapsAsAScan() {
+        Random random = new Random(7);
+        for (int size : new int[] {1, 2, 10, 500}) {
+            List<Interval> intervals = new ArrayList<>();
+            for (int id = 0; id < size; id++) {
+                long start = random.nextInt(365);
+                intervals.add(new Interval(id, start, start + random.nextInt(size == 500 ? 5 : 60)));
+            }
+            IntervalTree tree = IntervalTree.build(intervals);
+
+            for (int q = 0; q < 200; q++) {
+                long from = random.nextInt(400) - 20;
+                long to = from + random.nextInt(30);
+                Set<Integer> expected = new TreeSet<>();
+                for (Interval interval : intervals) {
+                    if (interval.start() <= to && interval.end() >= from) {
+                        expected.add(interval.id());
+                    }
+                }
+                Set<Integer> found = new TreeSet<>();
+                List<Integer> reported = new ArrayList<>();
+                tree.forEachOverlap(from, to, id -> {
+                    found.add(id);
+                    reported.add(id);
+                });
+
+                assertEquals(expected, found, () -> "overlaps of [" + from + ", " + to + "]");
+                assertEquals(found.size(), reported.size(), "an interval was reported twice");
+                assertEquals(!expected.isEmpty(), tree.overlaps(from, to));
+            }
+        }
+    }
+
+    @Test
+    void closedIntervalsTouchingAtOneDayOverlap() {
+        IntervalTree tree = IntervalTree.build(List.of(new Interval(1, 10, 12)));
+
+        assertTrue(tree.overlaps(12, 14));
+        assertTrue(tree.overlaps(8, 10));
+        assertFalse(tree.overlaps(13, 20));
+        assertFalse(IntervalTree.build(List.of()).overlaps(0, 100));
+    }
+}
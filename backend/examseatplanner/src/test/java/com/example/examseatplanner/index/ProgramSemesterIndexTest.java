@@ -0,0 +1,81 @@
+package com.example.examseatplanner.index;
+
+import static com.example.examseatplanner.support.TestData.START;
+import static com.example.examseatplanner.support.TestData.groups;
+import static com.example.examseatplanner.support.TestData.request;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.service.ExamService;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * The program-semester index follows exams through creation, a change of dates and groups,
+ * and deletion, and only reports overlaps for the groups an exam covers.
+ */
+@IntegrationTest
+class ProgramSemesterIndexTest {
+
+    private static final List<ProgramSemesterDTO> FIFTH = groups(5);
+    private static final List<ProgramSemesterDTO> SEVENTH = groups(7);
+
+    @Autowired
+    private ProgramSemesterIndex programSemesterIndex;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private TestData testData;
+
+    private Integer examId;
+
+    @BeforeEach
+    void scheduleFifthSemester() {
+        testData.students(FIFTH, 1);
+        testData.students(SEVENTH, 1);
+        testData.rooms(811);
+        examId = testData.exam(0, 3, FIFTH, List.of(811));
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void reportsOverlapsOnlyForTheExamsGroups() {
+        assertTrue(programSemesterIndex.hasConflict(FIFTH, START.plusDays(2), START.plusDays(9)));
+        assertFalse(programSemesterIndex.hasConflict(FIFTH, START.plusDays(3), START.plusDays(9)));
+        assertFalse(programSemesterIndex.hasConflict(SEVENTH, START, START.plusDays(2)));
+        assertTrue(programSemesterIndex.hasConflict(List.of(SEVENTH.get(0), FIFTH.get(1)), START.minusDays(1), START));
+        assertTrue(examService.hasStudentExamConflict(FIFTH.subList(0, 1), START, START));
+    }
+
+    @Test
+    void movesAnUpdatedExamToItsNewDatesAndGroups() {
+        examService.updateExamFromDto(examId, request(10, 3, List.of(FIFTH.get(0), SEVENTH.get(1)), List.of(811)));
+
+        assertFalse(programSemesterIndex.hasConflict(FIFTH, START, START.plusDays(2)));
+        assertFalse(programSemesterIndex.hasConflict(FIFTH.subList(1, 2), START.plusDays(10), START.plusDays(12)));
+        assertTrue(programSemesterIndex.hasConflict(FIFTH.subList(0, 1), START.plusDays(12), START.plusDays(20)));
+        assertTrue(programSemesterIndex.hasConflict(SEVENTH.subList(1, 2), START.plusDays(10), START.plusDays(10)));
+    }
+
+    @Test
+    void forgetsADeletedExam() {
+        examService.deleteExam(examId);
+
+        assertFalse(programSemesterIndex.hasConflict(FIFTH, START, START.plusDays(30)));
+        assertFalse(programSemesterIndex.hasConflict(SEVENTH, START, START.plusDays(30)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.examseatplanner.index;
+
+import static com.example.examseatplanner.support.TestData.START;
+import static com.example.examseatplanner.support.TestData.groups;
+import static com.example.examseatplanner.support.TestData.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.examseatplanner.dto.RoomResponseDTO;
+import com.example.examseatplanner.service.ExamService;
+import com.example.examseatplanner.service.RoomService;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/** The room booking index follows exams through creation, a change of dates and rooms, and deletion. */
+@IntegrationTest
+class RoomBookingIndexTest {
+
+    @Autowired
+    private RoomBookingIndex roomBookingIndex;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private TestData testData;
+
+    private Integer examId;
+
+    @BeforeEach
+    void bookRooms() {
+        testData.students(groups(6), 1);
+        testData.rooms(801, 802, 803);
+        examId = testData.exam(0, 3, groups(6), List.of(801, 802));
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void findsTheRoomsAndExamsOfANewExam() {
+        assertTrue(roomBookingIndex.isBooked(801, START.plusDays(2), START.plusDays(9)));
+        assertFalse(roomBookingIndex.isBooked(801, START.plusDays(3), START.plusDays(9)));
+        assertFalse(roomBookingIndex.isBooked(803, START, START));
+        assertEquals(List.of(801, 802), roomBookingIndex.bookedRooms(START, START));
+        assertEquals(List.of(examId), roomBookingIndex.overlappingExams(START.minusDays(1), START));
+        assertEquals(List.of(803), freeRooms(START, START.plusDays(1)));
+    }
+
+    @Test
+    void movesAnUpdatedExamToItsNewDatesAndRooms() {
+        examService.updateExamFromDto(examId, request(10, 3, groups(6), List.of(803)));
+
+        assertFalse(roomBookingIndex.isBooked(801, START, START.plusDays(2)));
+        assertTrue(roomBookingIndex.isBooked(803, START.plusDays(10), START.plusDays(10)));
+        assertEquals(List.of(801, 802), freeRooms(START.plusDays(10), START.plusDays(11)));
+        assertEquals(List.of(), roomBookingIndex.overlappingExams(START, START.plusDays(2)));
+        assertEquals(List.of(803), roomBookingIndex.bookedRooms(START.plusDays(12), START.plusDays(20)));
+    }
+
+    @Test
+    void forgetsADeletedExam() {
+        examService.deleteExam(examId);
+
+        assertEquals(List.of(), roomBookingIndex.overlappingExams(START, START.plusDays(30)));
+        assertEquals(List.of(801, 802, 803), freeRooms(START, START.plusDays(30)));
+    }
+
+    private List<Integer> freeRooms(LocalDate startDate, LocalDate endDate) {
+        return roomService.getFreeRooms(startDate, endDate, List.of(801, 802, 803)).stream()
+                .map(RoomResponseDTO::roomNo)
+                .toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.examseatplanner.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.dto.SeatAssignmentDTO;
+import com.example.examseatplanner.model.SeatingPlan;
+
+/**
+ * Every stored seat is found again through the open-addressing table, including keys that
+ * share a home slot and probes that wrap around the end, and misses stay misses.
+ */
+class SeatIndexTest {
+
+    @Test
+    void findsEverySeatOfALargeExam() {
+        Random random = new Random(11);
+        List<SeatingPlan> seats = new ArrayList<>();
+        for (int program = 1000; program < 1040; program++) {
+            for (int semester = 1; semester <= 8; semester++) {
+                for (int roll = 1; roll <= 30; roll++) {
+                    seats.add(seat("R" + random.nextInt(20), program, semester, roll,
+                            1 + random.nextInt(40), 1 + random.nextInt(10), 1 + random.nextInt(3)));
+                }
+            }
+        }
+
+        SeatIndex index = SeatIndex.build(9, seats);
+
+        assertEquals(seats.size(), index.size());
+        assertTrue(index.complete());
+        for (SeatingPlan sp : seats) {
+            assertSeat(sp, index.find(sp.getProgramCode(), sp.getSemester(), sp.getRoll()));
+        }
+        assertNull(index.find("1000", 1, 31));
+        assertNull(index.find("1040", 1, 1));
+        assertNull(index.find("1000", 9, 1));
+    }
+
+    @Test
+    void keysSharingASlotProbeAndWrapAround() {
+        // three seats make a table of eight slots; pick keys whose home slot is the last one
+        List<SeatingPlan> seats = new ArrayList<>();
+        int roll = 0;
+        while (seats.size() < 3) {
+            roll = nextRollWithHomeSlot(roll, 7);
+            seats.add(seat("101", 1001, 2, roll, seats.size() + 1, 1, 1));
+        }
+
+        SeatIndex index = SeatIndex.build(1, seats);
+
+        assertEquals(3, index.size());
+        for (SeatingPlan sp : seats) {
+            assertSeat(sp, index.find(sp.getProgramCode(), sp.getSemester(), sp.getRoll()));
+        }
+        // a miss with the same home slot probes past all three and wraps to the empty slot
+        assertNull(index.find("1001", 2, nextRollWithHomeSlot(roll, 7)));
+    }
+
+    @Test
+    void keepsTheFirstSeatOfADuplicateStudent() {
+        SeatIndex index = SeatIndex.build(1, List.of(
+                seat("101", 1001, 1, 5, 1, 1, 1),
+                seat("102", 1001, 1, 5, 2, 2, 2)));
+
+        assertEquals(1, index.size());
+        assertEquals("101", index.find("1001", 1, 5).getRoomNo());
+    }
+
+    @Test
+    void seatsThatCannotBeKeyedMakeMissesInconclusive() {
+        SeatIndex index = SeatIndex.build(1, List.of(
+                seat("101", 1001, 1, 5, 1, 1, 1),
+                new SeatingPlan(null, 1, "101", 1, 2, "BIM", 1, 6, 1)));
+
+        assertFalse(index.complete());
+        assertNotNull(index.find("1001", 1, 5));
+        assertNull(index.find("BIM", 1, 6));
+        assertTrue(SeatIndex.build(1, List.of()).complete());
+        assertNull(SeatIndex.build(1, List.of()).find("1001", 1, 1));
+    }
+
+    private static int nextRollWithHomeSlot(int after, int slot) {
+        int roll = after + 1;
+        while (homeSlot(1001, 2, roll, 8) != slot) {
+            roll++;
+        }
+        return roll;
+    }
+
+    /** Mirrors SeatIndex's key packing and Fibonacci hash for a table of {@code capacity} slots. */
+    private static int homeSlot(int program, int semester, int roll, int capacity) {
+        long key = (long) program << 32 | (long) semester << 28 | roll;
+        int shift = Long.numberOfLeadingZeros(capacity - 1L);
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static void assertSeat(SeatingPlan expected, SeatAssignmentDTO found) {
+        assertNotNull(found, () -> "missing " + expected);
+        assertEquals(List.of(expected.getRoomNo(), expected.getRowNumber(), expected.getColumnNumber()),
+                List.of(found.getRoomNo(), found.getRowNumber(), found.getColumnNumber()));
+    }
+
+    private static SeatingPlan seat(String roomNo, int program, int semester, int roll,
+                                    int row, int column, int seatIndex) {
+        return new SeatingPlan(null, 1, roomNo, row, column, Integer.toString(program), semester, roll, seatIndex);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.examseatplanner.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.event.SeatPlanChangedEvent;
+import com.example.examseatplanner.model.Exam;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.repository.ExamRepository;
+import com.example.examseatplanner.service.SeatPlanStore;
+
+/**
+ * The seat lookup keeps at most its configured number of exams and date ranges, dropping
+ * the least recently used, and reloads an exam once its plan changes.
+ */
+class SeatLookupIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    private final ExamRepository examRepository = mock(ExamRepository.class);
+    private final SeatPlanStore seatPlanStore = mock(SeatPlanStore.class);
+    private final SeatLookupIndex index = new SeatLookupIndex(examRepository, seatPlanStore, 2, 2);
+
+    @Test
+    void evictsTheLeastRecentlyUsedExam() {
+        for (int examId = 1; examId <= 3; examId++) {
+            int id = examId;
+            when(seatPlanStore.readSeats(id)).thenReturn(List.of(
+                    new SeatingPlan(null, id, "101", 1, 1, "1001", 1, id, 1)));
+        }
+
+        index.findSeat(1, "1001", 1, 1);
+        index.findSeat(2, "1001", 1, 2);
+        index.findSeat(1, "1001", 1, 1);
+        index.findSeat(3, "1001", 1, 3);
+        index.findSeat(1, "1001", 1, 1);
+        index.findSeat(2, "1001", 1, 2);
+
+        verify(seatPlanStore, times(1)).readSeats(1);
+        verify(seatPlanStore, times(2)).readSeats(2);
+        verify(seatPlanStore, times(1)).readSeats(3);
+
+        index.onSeatPlanChanged(new SeatPlanChangedEvent(1));
+        assertEquals("101", index.findSeat(1, "1001", 1, 1).orElseThrow().getRoomNo());
+        verify(seatPlanStore, times(2)).readSeats(1);
+    }
+
+    @Test
+    void keepsABoundedNumberOfDateRanges() {
+        when(examRepository.findExamIdByStartDateAndEndDate(any(), any())).thenAnswer(call -> {
+            Exam exam = new Exam();
+            exam.setId(((LocalDate) call.getArgument(0)).getDayOfMonth());
+            return Optional.of(exam);
+        });
+
+        for (int day = 0; day < 100; day++) {
+            index.findExamId(DAY.plusDays(day), DAY.plusDays(day));
+        }
+        assertEquals(Optional.of(DAY.plusDays(99).getDayOfMonth()), index.findExamId(DAY.plusDays(99), DAY.plusDays(99)));
+        index.findExamId(DAY, DAY);
+
+        verify(examRepository, times(1)).findExamIdByStartDateAndEndDate(DAY.plusDays(99), DAY.plusDays(99));
+        verify(examRepository, times(2)).findExamIdByStartDateAndEndDate(DAY, DAY);
+    }
+}
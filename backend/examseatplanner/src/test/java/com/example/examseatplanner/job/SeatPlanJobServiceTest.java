@@ -0,0 +1,58 @@
+package com.example.examseatplanner.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.allocation.SeatAllocationEngines;
+import com.example.examseatplanner.dto.SeatPlanJobDTO;
+import com.example.examseatplanner.exception.SeatPlanJobConflictException;
+import com.example.examseatplanner.service.SeatPlanService;
+
+/** A second request for an exam joins its running job only when it asks for the same mode. */
+class SeatPlanJobServiceTest {
+
+    private final SeatPlanService seatPlanService = mock(SeatPlanService.class);
+    private final SeatAllocationEngines seatAllocationEngines = mock(SeatAllocationEngines.class);
+    private final SeatPlanJobService jobService = new SeatPlanJobService(seatPlanService, seatAllocationEngines, 4, 10);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.shutdown();
+    }
+
+    @Test
+    void joinsOnlyARunningJobOfTheSameMode() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        when(seatAllocationEngines.defaultMode()).thenReturn(AllocationMode.SEQUENTIAL);
+        when(seatPlanService.generateAndSaveSeatingPlan(eq(1), any(), any())).thenAnswer(call -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+
+        SeatPlanJobDTO first = jobService.submit(1, null);
+        started.await(5, TimeUnit.SECONDS);
+
+        assertEquals(first.id(), jobService.submit(1, AllocationMode.SEQUENTIAL).id());
+        assertThrows(SeatPlanJobConflictException.class, () -> jobService.submit(1, AllocationMode.CHECKERBOARD));
+
+        release.countDown();
+        for (int i = 0; i < 100 && !jobService.get(first.id()).orElseThrow().phase().finished(); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(AllocationMode.CHECKERBOARD, jobService.submit(1, AllocationMode.CHECKERBOARD).mode());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.examseatplanner.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.model.PackedRoomPlan;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.model.Student;
+
+/**
+ * Packs rooms and decodes them again, seat for seat, across empty runs, large rolls, wide
+ * program dictionaries and every semester.
+ */
+class PackedRoomPlanMapperTest {
+
+    private static final int SEMESTERS = Student.Semester.values().length;
+
+    @Test
+    void anEmptyRoomIsOneRun() {
+        RoomLayout room = new RoomLayout(101, 4, 3, 2);
+        Seats seats = new Seats(room);
+
+        PackedRoomPlan packed = seats.pack();
+
+        assertEquals(0, packed.getSeatCount());
+        assertEquals("", packed.getProgramCodes());
+        assertArrayEquals(new byte[]{0, 24}, packed.getSeatData());
+        assertEquals(List.of(), PackedRoomPlanMapper.toSeatingPlans(packed));
+    }
+
+    @Test
+    void emptyRunsAtTheEdgesAndInBetweenKeepSeatPositions() {
+        RoomLayout room = new RoomLayout(102, 20, 5, 3);
+        Seats seats = new Seats(room);
+        // a run longer than one varint byte, one-seat gaps and a trailing run
+        seats.put(200, "1001", 1, 1);
+        seats.put(202, "1001", 1, 2);
+        seats.put(203, "1002", 2, 1);
+        seats.put(250, "1002", 2, 2);
+
+        assertRoundTrip(seats);
+    }
+
+    @Test
+    void largeRollsSurvive() {
+        RoomLayout room = new RoomLayout(103, 2, 2, 2);
+        Seats seats = new Seats(room);
+        int[] rolls = {0, 127, 128, 16_383, 16_384, 2_097_152, Integer.MAX_VALUE, 1};
+        for (int seat = 0; seat < rolls.length; seat++) {
+            seats.put(seat, "1001", 3, rolls[seat]);
+        }
+
+        assertRoundTrip(seats);
+    }
+
+    @Test
+    void manyProgramsAndEverySemesterSurvive() {
+        RoomLayout room = new RoomLayout(104, 40, 10, 3);
+        Seats seats = new Seats(room);
+        Random random = new Random(7);
+        for (int seat = 0; seat < room.capacity(); seat++) {
+            if (random.nextInt(5) == 0) continue;
+            // 300 programs push tags well past two varint bytes
+            seats.put(seat, Integer.toString(2000 + random.nextInt(300)), 1 + seat % SEMESTERS, random.nextInt(5000));
+        }
+
+        PackedRoomPlan packed = assertRoundTrip(seats);
+        assertTrue(packed.getProgramCodes().split(",").length > 250);
+    }
+
+    @Test
+    void rejectsSemestersOutsideTheEnum() {
+        RoomLayout room = new RoomLayout(105, 1, 1, 2);
+        Seats seats = new Seats(room);
+        seats.put(0, "1001", SEMESTERS + 1, 1);
+
+        assertThrows(IllegalArgumentException.class, seats::pack);
+    }
+
+    @Test
+    void findsOneSeatWithoutDecodingTheRoom() {
+        RoomLayout room = new RoomLayout(106, 3, 2, 2);
+        Seats seats = new Seats(room);
+        seats.put(1, "1001", 1, 5);
+        seats.put(7, "1002", 1, 5);
+        seats.put(9, "1001", 2, 5);
+        PackedRoomPlan packed = seats.pack();
+
+        SeatingPlan found = PackedRoomPlanMapper.findSeat(packed, "1002", 1, 5).orElseThrow();
+        assertEquals(List.of(room.rowOf(7) + 1, room.columnOf(7) + 1, room.benchSeatOf(7) + 1),
+                List.of(found.getRowNumber(), found.getColumnNumber(), found.getSeatIndex()));
+        assertEquals(Optional.empty(), PackedRoomPlanMapper.findSeat(packed, "1002", 2, 5));
+        assertEquals(Optional.empty(), PackedRoomPlanMapper.findSeat(packed, "1001", 1, 6));
+        assertEquals(Optional.empty(), PackedRoomPlanMapper.findSeat(packed, "9999", 1, 5));
+    }
+
+    private static PackedRoomPlan assertRoundTrip(Seats seats) {
+        PackedRoomPlan packed = seats.pack();
+        RoomLayout layout = PackedRoomPlanMapper.toLayout(packed);
+        assertEquals(seats.room, layout);
+
+        Seats decoded = new Seats(layout);
+        for (SeatingPlan sp : PackedRoomPlanMapper.toSeatingPlans(packed)) {
+            int seat = layout.seatAt(sp.getRowNumber() - 1, sp.getColumnNumber() - 1, sp.getSeatIndex() - 1);
+            decoded.put(seat, sp.getProgramCode(), sp.getSemester(), sp.getRoll());
+        }
+        assertArrayEquals(seats.programCodes, decoded.programCodes);
+        assertArrayEquals(seats.semesters, decoded.semesters);
+        assertArrayEquals(seats.rolls, decoded.rolls);
+        assertEquals(seats.occupied(), packed.getSeatCount());
+        assertEquals(seats.occupied(), PackedRoomPlanMapper.toDTOs(packed).size());
+        return packed;
+    }
+
+    private static final class Seats {
+
+        final RoomLayout room;
+        final String[] programCodes;
+        final int[] semesters;
+        final int[] rolls;
+
+        Seats(RoomLayout room) {
+            this.room = room;
+            this.programCodes = new String[room.capacity()];
+            this.semesters = new int[room.capacity()];
+            this.rolls = new int[room.capacity()];
+        }
+
+        void put(int seat, String programCode, int semester, int roll) {
+            programCodes[seat] = programCode;
+            semesters[seat] = semester;
+            rolls[seat] = roll;
+        }
+
+        int occupied() {
+            int occupied = 0;
+            for (String programCode : programCodes) {
+                if (programCode != null) occupied++;
+            }
+            return occupied;
+        }
+
+        PackedRoomPlan pack() {
+            return PackedRoomPlanMapper.toEntity(1, room, programCodes, semesters, rolls);
+        }
+    }
+}
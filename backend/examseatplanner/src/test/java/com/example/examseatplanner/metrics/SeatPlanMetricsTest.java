@@ -0,0 +1,81 @@
+package com.example.examseatplanner.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.examseatplanner.allocation.AllocationMode;
+import com.example.examseatplanner.cache.RoomPlanCache;
+import com.example.examseatplanner.cache.RosterCache;
+import com.example.examseatplanner.dto.SeatPlanChangesDTO;
+import com.example.examseatplanner.event.ExamDeletedEvent;
+import com.example.examseatplanner.repository.StudentRepository;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SeatPlanMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsEachPhaseWithoutAnExamTag() {
+        SeatPlanMetrics metrics = metrics(false);
+        Tags tags = metrics.tags(7, AllocationMode.SEQUENTIAL, 2);
+
+        metrics.loaded(tags, 30, 5_000_000);
+        metrics.allocated(tags, 28, 2, 1_000_000);
+        metrics.saved(tags, new SeatPlanChangesDTO(20, 3, 1, 5), 2_000_000);
+
+        assertEquals(5, phase("load").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, phase("allocate").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2, phase("save").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, phase("save").count());
+        assertEquals(30, registry.get("seatplan.roster.students").tags(tags).summary().totalAmount());
+        assertEquals(28, registry.get("seatplan.seats.placed").tags(tags).counter().count());
+        assertEquals(2, registry.get("seatplan.seats.unplaced").tags(tags).counter().count());
+        assertEquals(28_000, registry.get("seatplan.allocation.rate").tags(tags).summary().max(), 1e-6);
+        assertEquals(20, rowsWritten("inserted"));
+        assertEquals(3, rowsWritten("updated"));
+        assertEquals(1, rowsWritten("deleted"));
+        assertEquals(Tags.of("mode", "SEQUENTIAL", "rooms", "2"), tags);
+    }
+
+    @Test
+    void deletingAnExamRemovesItsMeters() {
+        SeatPlanMetrics metrics = metrics(true);
+        for (int examId : new int[]{7, 8}) {
+            Tags tags = metrics.tags(examId, AllocationMode.CHECKERBOARD, 1);
+            metrics.loaded(tags, 4, 1_000);
+            metrics.allocated(tags, 4, 0, 1_000);
+            metrics.saved(tags, new SeatPlanChangesDTO(4, 0, 0, 0), 1_000);
+        }
+
+        metrics.onExamDeleted(new ExamDeletedEvent(7));
+
+        assertNull(registry.find("seatplan.generation.phase").tag("exam", "7").meter());
+        assertEquals(0, registry.find("seatplan.rows.written").tag("exam", "7").meters().size());
+        assertEquals(3, registry.find("seatplan.generation.phase").tag("exam", "8").meters().size());
+        assertEquals(3, registry.find("seatplan.rows.written").tag("exam", "8").meters().size());
+        assertNotNull(registry.find("seatplan.cache.size").tag("cache", "rosters").gauge());
+    }
+
+    private SeatPlanMetrics metrics(boolean examTag) {
+        return new SeatPlanMetrics(registry, new RoomPlanCache(4, 600),
+                new RosterCache(mock(StudentRepository.class)), examTag);
+    }
+
+    private Timer phase(String phase) {
+        return registry.get("seatplan.generation.phase").tag("phase", phase).timer();
+    }
+
+    private double rowsWritten(String operation) {
+        return registry.get("seatplan.rows.written").tag("operation", operation).counter().count();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.examseatplanner.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Databases created by hibernate.ddl-auto=update before the migrations existed
+ * (db/legacy_schema.sql) are baselined at V1 and migrated from there. V1 has to describe
+ * exactly that schema, and V2 has to cope with the duplicates those releases could write.
+ */
+class MigrationTest {
+
+    private static final String COLUMNS = """
+            SELECT table_name || '.' || column_name || ' ' || data_type
+                   || COALESCE('(' || character_maximum_length || ')', '')
+                   || ' nullable=' || is_nullable || ' identity=' || is_identity
+            FROM information_schema.columns
+            WHERE table_schema = 'PUBLIC' AND table_name <> 'flyway_schema_history'
+            ORDER BY 1""";
+
+    private static final String CONSTRAINTS = """
+            SELECT tc.table_name || ' ' || tc.constraint_type
+                   || ' (' || LISTAGG(k.column_name, ',') WITHIN GROUP (ORDER BY k.ordinal_position) || ')'
+                   || COALESCE(' -> ' || MAX(u.table_name), '')
+            FROM information_schema.table_constraints tc
+            JOIN information_schema.key_column_usage k
+                ON k.constraint_schema = tc.constraint_schema AND k.constraint_name = tc.constraint_name
+            LEFT JOIN information_schema.referential_constraints r
+                ON r.constraint_schema = tc.constraint_schema AND r.constraint_name = tc.constraint_name
+            LEFT JOIN information_schema.table_constraints u
+                ON u.constraint_schema = r.unique_constraint_schema AND u.constraint_name = r.unique_constraint_name
+            WHERE tc.table_schema = 'PUBLIC' AND tc.table_name <> 'flyway_schema_history'
+            GROUP BY tc.constraint_schema, tc.constraint_name, tc.table_name, tc.constraint_type
+            ORDER BY 1""";
+
+    @Test
+    void v1IsTheSchemaHibernateGenerated() {
+        DataSource legacy = legacyDatabase("v1-legacy");
+        DataSource migrated = database("v1-migrated");
+        flyway(migrated).target("1").load().migrate();
+
+        assertSameSchema(legacy, migrated);
+    }
+
+    @Test
+    void legacyDatabaseIsBaselinedAndMigrated() {
+        DataSource legacy = legacyDatabase("baseline-legacy");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        jdbc.update("INSERT INTO program (program_code, program_name) VALUES (1001, 'BIM')");
+        jdbc.update("INSERT INTO room (room_no, num_row, room_column, seats_per_bench) VALUES (101, 2, 2, 2)");
+        jdbc.update("INSERT INTO exam (exam_id, start_date, end_date) VALUES (1, DATE '2030-01-01', DATE '2030-01-02')");
+        for (int i = 0; i < 2; i++) {
+            jdbc.update("INSERT INTO exam_rooms (exam_id, room_no) VALUES (1, 101)");
+            jdbc.update("INSERT INTO exam_program_semesters (exam_id, program_code, semester) VALUES (1, 1001, 'FIRST')");
+            jdbc.update("INSERT INTO student (roll, semester, program_code) VALUES (7, 'FIRST', 1001)");
+        }
+        jdbc.update("INSERT INTO student (roll, semester, program_code) VALUES (8, 'FIRST', 1001)");
+        // A plan generated twice: the second run's seat is the one to keep
+        insertSeat(jdbc, 1, 1, 7);
+        insertSeat(jdbc, 1, 1, 8);
+        insertSeat(jdbc, 1, 2, 7);
+
+        flyway(legacy).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(List.of("1 BASELINE", "2 SQL", "3 SQL", "4 SQL"), jdbc.queryForList("""
+                SELECT "version" || ' ' || "type" FROM "flyway_schema_history"
+                WHERE "version" IS NOT NULL ORDER BY "installed_rank\"""", String.class));
+        assertEquals(1, count(jdbc, "exam_rooms"));
+        assertEquals(1, count(jdbc, "exam_program_semesters"));
+        assertEquals(2, count(jdbc, "student"));
+        assertEquals(List.of(8, 7), jdbc.queryForList(
+                "SELECT roll FROM seating_plan ORDER BY column_number", Integer.class));
+        assertThrows(DuplicateKeyException.class, () -> insertSeat(jdbc, 1, 2, 8));
+        assertEquals(2, jdbc.queryForObject(
+                "SELECT student_count FROM enrollment_count WHERE semester = 'FIRST'", Integer.class));
+        assertEquals(8, count(jdbc, "enrollment_count"));
+
+        DataSource fresh = database("baseline-fresh");
+        flyway(fresh).load().migrate();
+        assertSameSchema(fresh, legacy);
+    }
+
+    /** As configured in application.properties, with the H2 baseline. */
+    private static FluentConfiguration flyway(DataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations("db/baseline/h2", "db/migration");
+    }
+
+    private static void assertSameSchema(DataSource expected, DataSource actual) {
+        JdbcTemplate expectedJdbc = new JdbcTemplate(expected);
+        JdbcTemplate actualJdbc = new JdbcTemplate(actual);
+        assertEquals(expectedJdbc.queryForList(COLUMNS, String.class), actualJdbc.queryForList(COLUMNS, String.class));
+        assertEquals(expectedJdbc.queryForList(CONSTRAINTS, String.class),
+                actualJdbc.queryForList(CONSTRAINTS, String.class));
+    }
+
+    private static void insertSeat(JdbcTemplate jdbc, int examId, int column, int roll) {
+        jdbc.update("INSERT INTO seating_plan (exam_id, room_id, row_number, column_number, seat_index, "
+                + "program_code, semester, roll) VALUES (?, '101', 1, ?, 0, '1001', 1, ?)", examId, column, roll);
+    }
+
+    private static DataSource legacyDatabase(String name) {
+        DataSource dataSource = database(name);
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy_schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static int count(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
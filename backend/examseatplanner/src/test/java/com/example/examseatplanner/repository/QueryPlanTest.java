@@ -0,0 +1,177 @@
+package com.example.examseatplanner.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.StatementRecorder;
+import com.example.examseatplanner.support.StatementRecorder.Statement;
+
+/**
+ * Calls each filtered repository query, records the SQL it actually sends, and runs EXPLAIN
+ * on every statement with its parameters bound. Fails when H2 plans a full scan of any
+ * table. Unfiltered reads (findAll, room capacity expressions, program name search, the
+ * index loads) are left out on purpose. Writes roll back with the test transaction.
+ */
+@IntegrationTest
+@Transactional
+class QueryPlanTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 10);
+
+    @FunctionalInterface
+    private interface Call {
+        void run(QueryPlanTest test);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SeatingPlanRepository seatingPlanRepository;
+
+    @Autowired
+    private SeatingPlanBatchRepository seatingPlanBatchRepository;
+
+    @Autowired
+    private PackedRoomPlanRepository packedRoomPlanRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentCountRepository enrollmentCountRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                query("SeatingPlanRepository.findByExamId", t -> t.seatingPlanRepository.findByExamId(1)),
+                query("SeatingPlanRepository.findByExamIdAndRoomNo",
+                        t -> t.seatingPlanRepository.findByExamIdAndRoomNo(1, "101")),
+                query("SeatingPlanRepository.findByExamIdAndProgramCodeAndSemesterAndRoll",
+                        t -> t.seatingPlanRepository.findByExamIdAndProgramCodeAndSemesterAndRoll(1, "1001", 1, 5)),
+                query("SeatingPlanBatchRepository.findSeats",
+                        t -> t.seatingPlanBatchRepository.findSeats(List.of(1, 2))),
+                query("SeatingPlanBatchRepository.deleteByStudents",
+                        t -> t.seatingPlanBatchRepository.deleteByStudents(List.of(
+                                new SeatingPlan(null, 1, "101", 1, 1, "1001", 1, 5, 1)))),
+                query("SeatingPlanBatchRepository.deleteByExamId",
+                        t -> t.seatingPlanBatchRepository.deleteByExamId(1)),
+
+                query("PackedRoomPlanRepository.findByExamIdOrderByRoomNo",
+                        t -> t.packedRoomPlanRepository.findByExamIdOrderByRoomNo(1)),
+                query("PackedRoomPlanRepository.findByExamIdAndRoomNo",
+                        t -> t.packedRoomPlanRepository.findByExamIdAndRoomNo(1, "101")),
+                query("PackedRoomPlanRepository.existsByExamId",
+                        t -> t.packedRoomPlanRepository.existsByExamId(1)),
+                query("PackedRoomPlanRepository.sumSeatCountByExamIdIn",
+                        t -> t.packedRoomPlanRepository.sumSeatCountByExamIdIn(List.of(1, 2))),
+
+                query("ExamRepository.findBookedRoomNumbersByDateRange",
+                        t -> t.examRepository.findBookedRoomNumbersByDateRange(START, END)),
+                query("ExamRepository.findByProgramCode", t -> t.examRepository.findByProgramCode(1001)),
+                query("ExamRepository.findByProgramCodes",
+                        t -> t.examRepository.findByProgramCodes(List.of(1001, 1002))),
+                query("ExamRepository.findByRoomNumbers",
+                        t -> t.examRepository.findByRoomNumbers(List.of(101, 102))),
+                query("ExamRepository.findOverlappingExams", t -> t.examRepository.findOverlappingExams(START, END)),
+                query("ExamRepository.findExamsForProgramSemesterBetweenDates",
+                        t -> t.examRepository.findExamsForProgramSemesterBetweenDates(
+                                1001, Student.Semester.FIRST, START, END)),
+                query("ExamRepository.findOtherRoomBookings",
+                        t -> t.examRepository.findOtherRoomBookings(List.of(101, 102), START, END, List.of(1, 2))),
+                query("ExamRepository.isRoomOccupied", t -> t.examRepository.isRoomOccupied(101, START, END)),
+                query("ExamRepository.findRoomNumbersByExamId", t -> t.examRepository.findRoomNumbersByExamId(1)),
+                query("ExamRepository.findUnfinishedExamIdsForProgramSemester",
+                        t -> t.examRepository.findUnfinishedExamIdsForProgramSemester(1001, Student.Semester.FIRST)),
+                query("ExamRepository.findUnfinishedExamIdsByRoomNo",
+                        t -> t.examRepository.findUnfinishedExamIdsByRoomNo(101)),
+                query("ExamRepository.findExamIdByStartDateAndEndDate",
+                        t -> t.examRepository.findExamIdByStartDateAndEndDate(START, END)),
+                query("ExamRepository.existsByProgramCodeCustom", t -> t.examRepository.existsByProgramCodeCustom(1001)),
+
+                query("StudentRepository.findByExamId", t -> t.studentRepository.findByExamId(1)),
+                query("StudentRepository.findByProgramIn",
+                        t -> t.studentRepository.findByProgramIn(List.of(t.program(1001), t.program(1002)))),
+                query("StudentRepository.findWithProgramByProgramCodeIn",
+                        t -> t.studentRepository.findWithProgramByProgramCodeIn(List.of(1001, 1002))),
+                query("StudentRepository.findBySemester",
+                        t -> t.studentRepository.findBySemester(Student.Semester.FIRST)),
+                query("StudentRepository.findByProgramCodeAndSemester",
+                        t -> t.studentRepository.findByProgramCodeAndSemester(1001, Student.Semester.FIRST)),
+                query("StudentRepository.findByProgramAndSemesterAndRoll",
+                        t -> t.studentRepository.findByProgramAndSemesterAndRoll(
+                                t.program(1001), Student.Semester.FIRST, 5)),
+                query("StudentRepository.findByRoll", t -> t.studentRepository.findByRoll(5)),
+                query("StudentRepository.findByRollBetween", t -> t.studentRepository.findByRollBetween(1, 10)),
+                query("StudentRepository.findMaxRollByProgramAndSemester",
+                        t -> t.studentRepository.findMaxRollByProgramAndSemester(
+                                t.program(1001), Student.Semester.FIRST)),
+
+                query("EnrollmentCountRepository.find",
+                        t -> t.enrollmentCountRepository.find(List.of(
+                                new ProgramSemesterDTO(1001, 1), new ProgramSemesterDTO(1002, 3)))),
+                query("EnrollmentCountRepository.countForExam", t -> t.enrollmentCountRepository.countForExam(1)),
+                query("EnrollmentCountRepository.recount",
+                        t -> t.enrollmentCountRepository.recount(new ProgramSemesterDTO(1001, 1))),
+
+                query("ProgramRepository.hasUpcomingExams", t -> t.programRepository.hasUpcomingExams(1001)),
+                query("RoomRepository.hasUpcomingExams", t -> t.roomRepository.hasUpcomingExams(101)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void usesAnIndex(String query, Call call) {
+        StatementRecorder.start();
+        List<Statement> statements;
+        try {
+            call.run(this);
+        } finally {
+            statements = StatementRecorder.stop();
+        }
+
+        assertFalse(statements.isEmpty(), () -> query + " ran no statement");
+        for (Statement statement : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement.sql(), String.class,
+                    statement.parameters().toArray());
+            assertFalse(plan.contains("tableScan"), () -> query + " scans a table:\n" + plan);
+        }
+    }
+
+    private static Arguments query(String name, Call call) {
+        return Arguments.of(name, call);
+    }
+
+    /** A reference that loads nothing, so only the query under test is recorded. */
+    private Program program(int programCode) {
+        return entityManager.getReference(Program.class, programCode);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.examseatplanner.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.transaction.Transactional;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.StatementRecorder;
+import com.example.examseatplanner.support.StatementRecorder.Statement;
+
+/**
+ * Rows are written 500 to an INSERT statement: a full statement per 500 rows sent as one
+ * batch, and one shorter statement for the rest. Writes roll back with the test transaction.
+ */
+@IntegrationTest
+@Transactional
+class SeatingPlanBatchRepositoryTest {
+
+    @Autowired
+    private SeatingPlanBatchRepository seatingPlanBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0} rows")
+    @CsvSource({"0, ''", "1, 1", "500, 500", "501, 500 1", "1001, 500 1"})
+    void insertsRowsInStatementsOfFiveHundred(int rows, String rowsPerStatement) {
+        List<SeatingPlan> seats = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            seats.add(new SeatingPlan(null, 1, "701", i + 1, 1, "1001", 1, i + 1, 1));
+        }
+
+        StatementRecorder.start();
+        int inserted;
+        try {
+            inserted = seatingPlanBatchRepository.insert(seats);
+        } finally {
+            assertEquals(rowsPerStatement, rowsPerStatement(StatementRecorder.stop()));
+        }
+
+        assertEquals(rows, inserted);
+        // every row kept its own values, including the last one of the last statement
+        assertEquals(rows, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM seating_plan WHERE exam_id = 1 AND row_number = roll", Integer.class));
+    }
+
+    @ParameterizedTest(name = "{0} seats")
+    @CsvSource({"0, ''", "1, 1", "500, 500", "501, 500 1"})
+    void writesEveryPlacedSeatOfAnAllocation(int placed, String rowsPerStatement) {
+        // one room of 501 rows, one bench seat each; the first seats are taken
+        RoomLayout room = new RoomLayout(702, 501, 1, 1);
+        Roster.Builder roster = Roster.builder(placed);
+        int[] seats = new int[room.capacity()];
+        for (int seat = 0; seat < seats.length; seat++) {
+            if (seat < placed) {
+                roster.add(1002, 3, seat + 1);
+            }
+            seats[seat] = seat < placed ? seat : SeatAllocation.EMPTY;
+        }
+        List<RoomLayout> rooms = List.of(room);
+        SeatAllocation allocation = new SeatAllocation(roster.endGroup().build(), rooms,
+                SeatAllocation.roomOffsets(rooms), seats, placed);
+
+        StatementRecorder.start();
+        try {
+            assertEquals(placed, seatingPlanBatchRepository.insert(2, allocation));
+        } finally {
+            assertEquals(rowsPerStatement, rowsPerStatement(StatementRecorder.stop()));
+        }
+
+        assertEquals(placed, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM seating_plan WHERE exam_id = 2 AND room_id = '702' AND row_number = roll",
+                Integer.class));
+    }
+
+    /** Rows per recorded INSERT, a batch counted once, separated by spaces. */
+    private static String rowsPerStatement(List<Statement> statements) {
+        List<String> rows = new ArrayList<>();
+        for (Statement statement : statements) {
+            rows.add(Integer.toString(statement.parameters().size() / 8));
+        }
+        return String.join(" ", rows);
+    }
+}
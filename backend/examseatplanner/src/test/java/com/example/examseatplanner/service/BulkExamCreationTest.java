@@ -0,0 +1,102 @@
+package com.example.examseatplanner.service;
+
+import static com.example.examseatplanner.support.TestData.groups;
+import static com.example.examseatplanner.support.TestData.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.examseatplanner.dto.BulkExamResultDTO;
+import com.example.examseatplanner.dto.ExamCreationResultDTO;
+import com.example.examseatplanner.dto.ExamCreationStatus;
+import com.example.examseatplanner.dto.ExamRequestDTO;
+import com.example.examseatplanner.dto.ExamResponseDTO;
+import com.example.examseatplanner.repository.ExamRepository;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * Bulk exam creation writes every exam of a valid batch, and nothing when any exam fails,
+ * reporting each exam's outcome.
+ */
+@IntegrationTest
+class BulkExamCreationTest {
+
+    private static final List<Integer> ROOMS = List.of(901, 902);
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeEach
+    void seed() {
+        testData.students(groups(1), 2);
+        testData.rooms(901, 902);
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void createsEveryExamOfAValidBatch() {
+        BulkExamResultDTO result = examService.createExams(List.of(exam(0, ROOMS), exam(5, ROOMS)));
+
+        assertTrue(result.created());
+        assertEquals(List.of(ExamCreationStatus.CREATED, ExamCreationStatus.CREATED), statuses(result));
+        List<ExamResponseDTO> all = examService.getAllExams();
+        for (ExamCreationResultDTO created : result.exams()) {
+            ExamResponseDTO stored = all.stream().filter(e -> e.id().equals(created.exam().id())).findFirst().orElseThrow();
+            assertEquals(created.exam().startDate(), stored.startDate());
+            assertEquals(2, stored.programSemesters().size());
+            assertEquals(List.of("901", "902"), stored.roomNames());
+        }
+    }
+
+    @Test
+    void writesNothingWhenAnyExamFails() {
+        BulkExamResultDTO result = examService.createExams(List.of(
+                exam(0, ROOMS),
+                exam(1, ROOMS),
+                exam(10, List.of(901, 999)),
+                request(10, 3, groups(3), ROOMS)));
+
+        assertFalse(result.created());
+        assertEquals(List.of(ExamCreationStatus.VALID, ExamCreationStatus.STUDENT_CONFLICT, ExamCreationStatus.INVALID,
+                ExamCreationStatus.NO_STUDENTS), statuses(result));
+        assertNull(result.exams().get(0).exam());
+        assertEquals(0, examRepository.count());
+    }
+
+    @Test
+    void checksAgainstExistingExams() {
+        testData.exam(0, 3, groups(1), ROOMS);
+
+        BulkExamResultDTO result = examService.createExams(List.of(exam(10, ROOMS), exam(2, ROOMS)));
+
+        assertFalse(result.created());
+        assertEquals(List.of(ExamCreationStatus.VALID, ExamCreationStatus.STUDENT_CONFLICT), statuses(result));
+    }
+
+    private static ExamRequestDTO exam(int daysFromStart, List<Integer> rooms) {
+        return request(daysFromStart, 3, groups(1), rooms);
+    }
+
+    private static List<ExamCreationStatus> statuses(BulkExamResultDTO result) {
+        return result.exams().stream().map(ExamCreationResultDTO::status).toList();
+    }
+}
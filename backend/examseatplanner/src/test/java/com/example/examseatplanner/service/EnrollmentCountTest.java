@@ -0,0 +1,177 @@
+package com.example.examseatplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.examseatplanner.dto.ProgramRequestDTO;
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.dto.StudentRequestDTO;
+import com.example.examseatplanner.model.Program;
+import com.example.examseatplanner.model.Student;
+import com.example.examseatplanner.repository.EnrollmentCountRepository;
+import com.example.examseatplanner.repository.ProgramRepository;
+import com.example.examseatplanner.repository.StudentRepository;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * Checks after each kind of student change that the enrollment counts equal a grouped
+ * count of the student table, that concurrent first students of a group are all counted,
+ * and that the reconciler repairs a write that bypassed them.
+ */
+@IntegrationTest
+class EnrollmentCountTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private EnrollmentCountRepository enrollmentCountRepository;
+
+    @Autowired
+    private EnrollmentCountReconciler enrollmentCountReconciler;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private SeatPlanService seatPlanService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+        assertCounts(Map.of());
+    }
+
+    @Test
+    void countsCreatedStudents() {
+        for (int roll = 1; roll <= 3; roll++) {
+            testData.student(1001, 2, roll);
+        }
+        testData.student(1002, 2, 1);
+
+        assertCounts(Map.of(group(1001, 2), 3L, group(1002, 2), 1L));
+        assertEquals(Map.of(group(1001, 2), 3L, group(1002, 2), 1L, group(1003, 1), 0L),
+                enrollmentCountRepository.find(List.of(group(1001, 2), group(1002, 2), group(1003, 1))));
+    }
+
+    @Test
+    void movesTheCountOfAnEditedStudent() {
+        testData.student(1001, 2, 1);
+        Integer moved = testData.student(1002, 2, 1);
+
+        studentService.updateStudent(moved.toString(), new StudentRequestDTO(1001, 2, 4));
+
+        assertCounts(Map.of(group(1001, 2), 2L));
+    }
+
+    @Test
+    void dropsTheCountOfADeletedStudent() {
+        testData.student(1001, 2, 1);
+        Integer deleted = testData.student(1001, 2, 2);
+
+        studentService.deleteStudent(deleted.toString());
+
+        assertCounts(Map.of(group(1001, 2), 1L));
+        assertEquals(0, enrollmentCountReconciler.reconcile());
+    }
+
+    @Test
+    void countsAndSeatsBulkCreatedStudents() {
+        testData.student(1003, 5, 1);
+        testData.student(1001, 5, 1);
+        Integer examId = testData.exam(0, 1, List.of(group(1003, 5), group(1001, 5)), testData.rooms(891));
+        seatPlanService.generateAndSaveSeatingPlan(examId);
+        Program program = programRepository.findByProgramCode(1003).orElseThrow();
+
+        studentService.createBulkStudents(program, "2024", 5, 6);
+
+        assertCounts(Map.of(group(1003, 5), 7L, group(1001, 5), 1L));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), jdbcTemplate.queryForList(
+                "SELECT roll FROM seating_plan WHERE exam_id = ? AND program_code = '1003' ORDER BY roll",
+                Integer.class, examId));
+    }
+
+    @Test
+    void deletingAllStudentsKeepsTheRowsAtZero() {
+        int rows = enrollmentCountRepository.findAll().size();
+        testData.student(1001, 2, 1);
+        testData.student(1002, 3, 1);
+
+        studentService.deleteAllStudents();
+
+        assertEquals(rows, enrollmentCountRepository.findAll().size());
+        assertEquals(8 * programRepository.count(), rows);
+        assertCounts(Map.of());
+    }
+
+    @Test
+    void newProgramsStartWithARowPerSemester() throws Exception {
+        programService.saveProgram(new ProgramRequestDTO("BCA", 1005));
+        assertEquals(Map.of(group(1005, 1), 0L, group(1005, 8), 0L),
+                enrollmentCountRepository.find(List.of(group(1005, 1), group(1005, 8))));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> creates = IntStream.rangeClosed(1, 8)
+                    .mapToObj(roll -> executor.submit(() -> testData.student(1005, 4, roll)))
+                    .collect(Collectors.toList());
+            for (Future<?> create : creates) {
+                create.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertCounts(Map.of(group(1005, 4), 8L));
+    }
+
+    @Test
+    void reconcilerRecountsGroupsWrittenBehindItsBack() {
+        Program program = programRepository.findByProgramCode(1004).orElseThrow();
+        studentRepository.save(new Student(program, Student.Semester.SEVENTH, 1));
+
+        assertEquals(1, enrollmentCountReconciler.reconcile());
+        assertEquals(enrollmentCountRepository.countStudents(), stored());
+        assertEquals(0, enrollmentCountReconciler.reconcile());
+    }
+
+    private void assertCounts(Map<ProgramSemesterDTO, Long> expected) {
+        assertEquals(expected, enrollmentCountRepository.countStudents());
+        assertEquals(expected, stored());
+    }
+
+    /** Stored counts without the groups left at zero. */
+    private Map<ProgramSemesterDTO, Long> stored() {
+        return enrollmentCountRepository.findAll().entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static ProgramSemesterDTO group(int programCode, int semester) {
+        return new ProgramSemesterDTO(programCode, semester);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.examseatplanner.service;
+
+import static com.example.examseatplanner.support.TestData.groups;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.examseatplanner.dto.RoomRequestDTO;
+import com.example.examseatplanner.dto.StudentRequestDTO;
+import com.example.examseatplanner.dto.StudentResponseDTO;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * Late students, withdrawals, student edits and room resizes change only the stored
+ * seating_plan rows they concern; everyone else keeps their seat.
+ */
+@IntegrationTest
+class IncrementalSeatPlannerTest {
+
+    @Autowired
+    private SeatPlanService seatPlanService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private Integer examId;
+    private Map<String, String> before;
+
+    @BeforeEach
+    void generatePlan() {
+        for (int program : new int[]{1001, 1002}) {
+            for (int roll = 1; roll <= 3; roll++) {
+                ids.put(program + "/" + roll, testData.student(program, 5, roll));
+            }
+        }
+        testData.rooms(841, 842);
+        examId = testData.exam(0, 1, groups(5), List.of(841, 842));
+        seatPlanService.generateAndSaveSeatingPlan(examId);
+        before = seats();
+        assertEquals(6, before.size());
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void seatsALateStudent() {
+        testData.student(1001, 5, 4);
+
+        Map<String, String> after = seats();
+        assertEquals(7, after.size());
+        assertTrue(after.containsKey("1001/4"));
+        assertUnmoved(before, after);
+    }
+
+    @Test
+    void freesTheSeatOfAWithdrawnStudent() {
+        studentService.deleteStudent(ids.get("1002/1").toString());
+
+        Map<String, String> after = seats();
+        assertEquals(5, after.size());
+        assertFalse(after.containsKey("1002/1"));
+        assertUnmoved(before, after);
+    }
+
+    @Test
+    void reseatsAStudentUnderTheirNewRoll() {
+        StudentResponseDTO edited = studentService.updateStudent(ids.get("1001/2").toString(),
+                new StudentRequestDTO(1001, 5, 9));
+
+        assertEquals(9, edited.roll());
+        Map<String, String> after = seats();
+        assertEquals(6, after.size());
+        assertFalse(after.containsKey("1001/2"));
+        assertTrue(after.containsKey("1001/9"));
+        assertUnmoved(before, after);
+    }
+
+    @Test
+    void movesOnlyTheStudentsAShrunkRoomLost() {
+        // Shrink to a single bench: students outside it move, the rest stay put.
+        roomService.updateRoom(841, new RoomRequestDTO(841, 1, 2, 1));
+
+        Map<String, String> after = seats();
+        assertEquals(before.keySet(), after.keySet());
+        for (Map.Entry<String, String> seat : after.entrySet()) {
+            String was = before.get(seat.getKey());
+            if (seat.getValue().startsWith("841:")) {
+                assertTrue(seat.getValue().startsWith("841:1:1:"), seat.getKey());
+            }
+            if (was.startsWith("842:") || was.startsWith("841:1:1:")) {
+                assertEquals(was, seat.getValue(), seat.getKey());
+            }
+        }
+    }
+
+    /** Every student of {@code after} that was seated in {@code before} still sits there. */
+    private static void assertUnmoved(Map<String, String> before, Map<String, String> after) {
+        for (Map.Entry<String, String> seat : after.entrySet()) {
+            if (before.containsKey(seat.getKey())) {
+                assertEquals(before.get(seat.getKey()), seat.getValue(), seat.getKey());
+            }
+        }
+    }
+
+    /** program/roll to room:row:column:seat for the exam's stored rows. */
+    private Map<String, String> seats() {
+        Map<String, String> seats = new HashMap<>();
+        jdbcTemplate.query("SELECT * FROM seating_plan WHERE exam_id = ?", rs -> {
+            String previous = seats.put(rs.getString("program_code") + "/" + rs.getInt("roll"),
+                    rs.getString("room_id") + ":" + rs.getInt("row_number") + ":" + rs.getInt("column_number")
+                            + ":" + rs.getInt("seat_index"));
+            assertEquals(null, previous);
+        }, examId);
+        return seats;
+    }
+}
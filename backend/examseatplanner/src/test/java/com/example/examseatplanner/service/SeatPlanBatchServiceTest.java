@@ -0,0 +1,75 @@
+package com.example.examseatplanner.service;
+
+import static com.example.examseatplanner.support.TestData.START;
+import static com.example.examseatplanner.support.TestData.groups;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.examseatplanner.dto.BatchGenerationDTO;
+import com.example.examseatplanner.dto.ExamBatchResultDTO;
+import com.example.examseatplanner.dto.ExamBatchStatus;
+import com.example.examseatplanner.dto.RoomConflictDTO;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/**
+ * Batch generation leaves out an exam whose room is also booked by an overlapping exam
+ * that starts after the window, and generates the rest.
+ */
+@IntegrationTest
+class SeatPlanBatchServiceTest {
+
+    @Autowired
+    private SeatPlanBatchService seatPlanBatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeEach
+    void seed() {
+        testData.students(groups(4), 1);
+        testData.rooms(831, 832);
+    }
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void reportsRoomsBookedByExamsOutsideTheWindow() {
+        Integer reaching = testData.exam(0, 3, groups(4), List.of(831));
+        // Written behind the service's back, as data from before the room checks could be.
+        jdbcTemplate.update("INSERT INTO exam (exam_id, start_date, end_date) VALUES (900, ?, ?)",
+                START.plusDays(2), START.plusDays(3));
+        jdbcTemplate.update("INSERT INTO exam_rooms (exam_id, room_no) VALUES (900, 831)");
+
+        BatchGenerationDTO result = seatPlanBatchService.generateForDateRange(START, START.plusDays(1), null);
+
+        assertEquals(List.of(new RoomConflictDTO(831, reaching, 900)), result.conflicts());
+        assertEquals(List.of(new ExamBatchResultDTO(reaching, ExamBatchStatus.ROOM_CONFLICT, 0, 0, null)),
+                result.exams());
+    }
+
+    @Test
+    void generatesExamsWhoseRoomsAreFree() {
+        Integer contained = testData.exam(10, 1, groups(4), List.of(832));
+
+        BatchGenerationDTO result = seatPlanBatchService.generateForDateRange(START.plusDays(10), START.plusDays(10), null);
+
+        assertEquals(List.of(), result.conflicts());
+        assertEquals(contained, result.exams().get(0).examId());
+        assertEquals(ExamBatchStatus.GENERATED, result.exams().get(0).status());
+        assertEquals(2, result.exams().get(0).placed());
+    }
+}
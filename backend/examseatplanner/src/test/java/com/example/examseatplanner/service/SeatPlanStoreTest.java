@@ -0,0 +1,170 @@
+package com.example.examseatplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.examseatplanner.allocation.RoomLayout;
+import com.example.examseatplanner.allocation.Roster;
+import com.example.examseatplanner.allocation.SeatAllocation;
+import com.example.examseatplanner.dto.SeatPlanChangesDTO;
+import com.example.examseatplanner.model.SeatingPlan;
+import com.example.examseatplanner.repository.SeatingPlanRepository;
+import com.example.examseatplanner.support.IntegrationTest;
+
+import jakarta.transaction.Transactional;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+/**
+ * Saving a plan over a stored one writes only the seats whose occupant changed: an
+ * unchanged plan writes nothing, a new occupant is one update and seats that no longer
+ * exist are deleted. Each test rolls back and uses its own exam ids.
+ */
+@IntegrationTest
+@Transactional
+class SeatPlanStoreTest {
+
+    /** Two groups of six, plus a seventh student of the first group seated only by some plans. */
+    private static final Roster ROSTER = roster();
+    private static final RoomLayout ROOM = new RoomLayout(701, 2, 2, 3);
+    private static final RoomLayout SHRUNK = new RoomLayout(701, 1, 2, 3);
+
+    @Autowired
+    private SeatPlanStore seatPlanStore;
+
+    @Autowired
+    private SeatingPlanRepository seatingPlanRepository;
+
+    @Test
+    void savingAnUnchangedPlanWritesNothing() {
+        assertEquals(new SeatPlanChangesDTO(12, 0, 0, 0), seatPlanStore.save(1, full()));
+
+        QueryCountHolder.clear();
+        assertEquals(new SeatPlanChangesDTO(0, 0, 0, 12), seatPlanStore.save(1, full()));
+        assertEquals(0, writes());
+        assertEquals(12, seatingPlanRepository.findByExamId(1).size());
+    }
+
+    @Test
+    void aNewOccupantIsOneUpdate() {
+        seatPlanStore.save(2, full());
+        int[] seats = seats(full());
+        seats[0] = 6;
+
+        QueryCountHolder.clear();
+        assertEquals(new SeatPlanChangesDTO(0, 1, 0, 11), seatPlanStore.save(2, allocation(ROOM, seats)));
+        assertEquals(1, QueryCountHolder.getGrandTotal().getUpdate());
+        assertEquals(1, writes());
+
+        SeatingPlan first = seat(2, 1, 1, 1);
+        assertEquals(List.of("1001", 1, 7), List.of(first.getProgramCode(), first.getSemester(), first.getRoll()));
+    }
+
+    @Test
+    void aShrunkRoomDeletesTheSeatsItLost() {
+        seatPlanStore.save(3, full());
+        int[] seats = new int[SHRUNK.capacity()];
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat] = seats(full())[ROOM.seatAt(SHRUNK.rowOf(seat), SHRUNK.columnOf(seat), SHRUNK.benchSeatOf(seat))];
+        }
+
+        assertEquals(new SeatPlanChangesDTO(0, 0, 6, 6), seatPlanStore.save(3, allocation(SHRUNK, seats)));
+        List<SeatingPlan> stored = seatingPlanRepository.findByExamId(3);
+        assertEquals(6, stored.size());
+        assertEquals(List.of(1), stored.stream().map(SeatingPlan::getRowNumber).distinct().toList());
+    }
+
+    @Test
+    void saveAllDiffsStoredExamsAndInsertsNewOnes() {
+        seatPlanStore.save(4, full());
+        int[] moved = seats(full());
+        moved[0] = 6;
+        moved[11] = SeatAllocation.EMPTY;
+
+        Map<Integer, SeatAllocation> allocations = new LinkedHashMap<>();
+        allocations.put(4, allocation(ROOM, moved));
+        allocations.put(5, full());
+        allocations.put(6, allocation(SHRUNK, Arrays.copyOf(seats(full()), SHRUNK.capacity())));
+
+        QueryCountHolder.clear();
+        Map<Integer, SeatPlanChangesDTO> changes = seatPlanStore.saveAll(allocations);
+
+        assertEquals(Map.of(
+                4, new SeatPlanChangesDTO(0, 1, 1, 10),
+                5, new SeatPlanChangesDTO(12, 0, 0, 0),
+                6, new SeatPlanChangesDTO(6, 0, 0, 0)), changes);
+        // the packed-plan totals and one read of the stored rows, for all three exams together
+        assertEquals(2, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals(List.of(11, 12, 6), List.of(seatingPlanRepository.findByExamId(4).size(),
+                seatingPlanRepository.findByExamId(5).size(), seatingPlanRepository.findByExamId(6).size()));
+    }
+
+    @Test
+    void packedPlansAreSearchedRoomByRoom() {
+        seatPlanStore.save(7, full());
+        assertEquals(1, seatPlanStore.pack(7));
+        assertEquals(List.of(), seatingPlanRepository.findByExamId(7));
+
+        assertEquals(12, seatPlanStore.readSeats(7).size());
+        SeatingPlan found = seatPlanStore.findSeat(7, "1002", 1, 3).orElseThrow();
+        assertEquals(List.of("701", 1, 2, 3), List.of(found.getRoomNo(), found.getRowNumber(),
+                found.getColumnNumber(), found.getSeatIndex()));
+        assertEquals(Optional.empty(), seatPlanStore.findSeat(7, "1001", 1, 7));
+    }
+
+    private static long writes() {
+        QueryCount count = QueryCountHolder.getGrandTotal();
+        return count.getInsert() + count.getUpdate() + count.getDelete();
+    }
+
+    private SeatingPlan seat(Integer examId, int row, int column, int seatIndex) {
+        return seatingPlanRepository.findByExamId(examId).stream()
+                .filter(sp -> sp.getRowNumber() == row && sp.getColumnNumber() == column && sp.getSeatIndex() == seatIndex)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /** The first twelve students in roster order; the seventh of the first group stays unplaced. */
+    private static SeatAllocation full() {
+        int[] seats = new int[ROOM.capacity()];
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat] = seat < 6 ? seat : seat + 1;
+        }
+        return allocation(ROOM, seats);
+    }
+
+    private static int[] seats(SeatAllocation allocation) {
+        int[] seats = new int[allocation.seatCount()];
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat] = allocation.studentAt(seat);
+        }
+        return seats;
+    }
+
+    private static SeatAllocation allocation(RoomLayout room, int[] seats) {
+        List<RoomLayout> rooms = List.of(room);
+        int placed = (int) Arrays.stream(seats).filter(s -> s != SeatAllocation.EMPTY).count();
+        return new SeatAllocation(ROSTER, rooms, SeatAllocation.roomOffsets(rooms), seats, placed);
+    }
+
+    private static Roster roster() {
+        Roster.Builder roster = Roster.builder(13);
+        for (int roll = 1; roll <= 7; roll++) {
+            roster.add(1001, 1, roll);
+        }
+        roster.endGroup();
+        for (int roll = 1; roll <= 6; roll++) {
+            roster.add(1002, 1, roll);
+        }
+        roster.endGroup();
+        return roster.build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.examseatplanner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.dto.SimulationRequestDTO;
+import com.example.examseatplanner.dto.StudentRequestDTO;
+import com.example.examseatplanner.support.IntegrationTest;
+import com.example.examseatplanner.support.TestData;
+
+/** Dry runs see a student edit in both the group the student left and the one they joined. */
+@IntegrationTest
+class SimulationRosterTest {
+
+    @Autowired
+    private SeatPlanSimulationService seatPlanSimulationService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private TestData testData;
+
+    @AfterEach
+    void clear() {
+        testData.clear();
+    }
+
+    @Test
+    void dropsBothGroupsOfAnEditedStudent() {
+        Integer moving = testData.student(1001, 7, 1);
+        testData.student(1001, 7, 2);
+        testData.student(1001, 7, 3);
+        testData.student(1002, 7, 1);
+        testData.student(1002, 7, 2);
+        testData.rooms(861);
+
+        assertEquals(3, students(1001));
+        assertEquals(2, students(1002));
+
+        studentService.updateStudent(moving.toString(), new StudentRequestDTO(1002, 7, 9));
+
+        assertEquals(2, students(1001));
+        assertEquals(3, students(1002));
+    }
+
+    private int students(int programCode) {
+        return seatPlanSimulationService.simulate(new SimulationRequestDTO(
+                List.of(new ProgramSemesterDTO(programCode, 7)), List.of(861), null, false)).students();
+    }
+}
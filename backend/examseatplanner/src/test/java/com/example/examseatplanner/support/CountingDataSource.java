@@ -0,0 +1,34 @@
+package com.example.examseatplanner.support;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the datasource in a proxy that counts statements into
+ * {@link net.ttddyy.dsproxy.QueryCountHolder} and hands them to {@link StatementRecorder}.
+ * Tests pull it in with {@code @Import}.
+ */
+@TestConfiguration
+public class CountingDataSource {
+
+    @Bean
+    static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource).name(beanName)
+                            .countQuery()
+                            .afterQuery(StatementRecorder::record)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.examseatplanner.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The one application context the database-backed tests share: MockMvc, the counting
+ * datasource and {@link TestData}. Tests either roll back with {@code @Transactional} or,
+ * when they need commits for the after-commit listeners, call {@link TestData#clear()}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({CountingDataSource.class, TestData.class})
+public @interface IntegrationTest {
+}
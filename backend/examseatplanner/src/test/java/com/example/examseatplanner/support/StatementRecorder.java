@@ -0,0 +1,49 @@
+package com.example.examseatplanner.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Keeps the SQL and bound parameters of every statement run through {@link CountingDataSource}
+ * between {@link #start()} and {@link #stop()}. A batch is recorded with its first parameter set.
+ */
+public final class StatementRecorder {
+
+    public record Statement(String sql, List<Object> parameters) {}
+
+    private static List<Statement> recorded;
+
+    private StatementRecorder() {}
+
+    public static synchronized void start() {
+        recorded = new ArrayList<>();
+    }
+
+    public static synchronized List<Statement> stop() {
+        List<Statement> statements = recorded;
+        recorded = null;
+        return statements == null ? List.of() : statements;
+    }
+
+    static synchronized void record(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (recorded == null) {
+            return;
+        }
+        for (QueryInfo query : queries) {
+            List<Object> parameters = new ArrayList<>();
+            if (!query.getParametersList().isEmpty()) {
+                query.getParametersList().get(0).stream()
+                        .sorted(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]))
+                        .forEach(op -> parameters.add(ParameterSetOperation.isSetNullParameterOperation(op)
+                                ? null
+                                : op.getArgs()[1]));
+            }
+            recorded.add(new Statement(query.getQuery(), parameters));
+        }
+    }
+}
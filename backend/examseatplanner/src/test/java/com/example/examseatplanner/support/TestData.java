@@ -0,0 +1,89 @@
+package com.example.examseatplanner.support;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.examseatplanner.dto.ExamRequestDTO;
+import com.example.examseatplanner.dto.ProgramSemesterDTO;
+import com.example.examseatplanner.dto.StudentRequestDTO;
+import com.example.examseatplanner.model.Room;
+import com.example.examseatplanner.repository.RoomRepository;
+import com.example.examseatplanner.service.ExamService;
+import com.example.examseatplanner.service.StudentService;
+
+/**
+ * Students, rooms and exams for the {@link IntegrationTest} classes, created through the
+ * services so the indexes and caches see them, and {@link #clear()} to remove them again.
+ */
+public class TestData {
+
+    /** Far enough ahead that every exam counts as upcoming. */
+    public static final LocalDate START = LocalDate.now().plusYears(1);
+
+    private final StudentService studentService;
+    private final ExamService examService;
+    private final RoomRepository roomRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(StudentService studentService, ExamService examService, RoomRepository roomRepository,
+                    JdbcTemplate jdbcTemplate) {
+        this.studentService = studentService;
+        this.examService = examService;
+        this.roomRepository = roomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Integer student(int programCode, int semester, int roll) {
+        return studentService.createStudent(new StudentRequestDTO(programCode, semester, roll)).studentId();
+    }
+
+    /** Rolls 1 to {@code rolls} in each of the groups. */
+    public void students(List<ProgramSemesterDTO> groups, int rolls) {
+        for (ProgramSemesterDTO group : groups) {
+            for (int roll = 1; roll <= rolls; roll++) {
+                student(group.programCode(), group.semester(), roll);
+            }
+        }
+    }
+
+    /** Rooms of two rows and two columns of benches for two. */
+    public List<Integer> rooms(Integer... roomNumbers) {
+        List<Integer> rooms = new ArrayList<>();
+        for (Integer roomNo : roomNumbers) {
+            rooms.add(room(roomNo, 2, 2, 2));
+        }
+        return rooms;
+    }
+
+    public Integer room(int roomNo, int rows, int seatsPerBench, int columns) {
+        return roomRepository.save(new Room(roomNo, rows, seatsPerBench, columns)).getRoomNo();
+    }
+
+    public Integer exam(int daysFromStart, int days, List<ProgramSemesterDTO> groups, List<Integer> rooms) {
+        return examService.createExamFromDto(request(daysFromStart, days, groups, rooms)).id();
+    }
+
+    /** Programs 1001 and 1002 in the given semester. */
+    public static List<ProgramSemesterDTO> groups(int semester) {
+        return List.of(new ProgramSemesterDTO(1001, semester), new ProgramSemesterDTO(1002, semester));
+    }
+
+    /** An exam of {@code days} days starting {@code daysFromStart} days after {@link #START}. */
+    public static ExamRequestDTO request(int daysFromStart, int days, List<ProgramSemesterDTO> groups,
+                                         List<Integer> rooms) {
+        LocalDate start = START.plusDays(daysFromStart);
+        return new ExamRequestDTO(start.toString(), start.plusDays(days - 1).toString(), groups, rooms);
+    }
+
+    /** Deletes every exam, student and room, exams through the service so their listeners run. */
+    public void clear() {
+        for (Integer examId : jdbcTemplate.queryForList("SELECT exam_id FROM exam", Integer.class)) {
+            examService.deleteExam(examId);
+        }
+        studentService.deleteAllStudents();
+        roomRepository.deleteAll();
+    }
+}
@@ -0,0 +1,62 @@
+-- Schema hibernate.ddl-auto=update created on H2 from the entities before the Flyway
+-- migrations (the baseline release), as dumped by org.h2.tools.Script.
+
+CREATE TABLE "PUBLIC"."EXAM"(
+    "EXAM_ID" INTEGER GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "END_DATE" DATE NOT NULL,
+    "START_DATE" DATE NOT NULL
+);
+ALTER TABLE "PUBLIC"."EXAM" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_2" PRIMARY KEY("EXAM_ID");
+
+CREATE TABLE "PUBLIC"."EXAM_PROGRAM_SEMESTERS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "SEMESTER" ENUM('EIGHTH', 'FIFTH', 'FIRST', 'FOURTH', 'SECOND', 'SEVENTH', 'SIXTH', 'THIRD') NOT NULL,
+    "EXAM_ID" INTEGER,
+    "PROGRAM_CODE" INTEGER NOT NULL
+);
+ALTER TABLE "PUBLIC"."EXAM_PROGRAM_SEMESTERS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_4" PRIMARY KEY("ID");
+
+CREATE TABLE "PUBLIC"."EXAM_ROOMS"(
+    "EXAM_ID" INTEGER NOT NULL,
+    "ROOM_NO" INTEGER NOT NULL
+);
+
+CREATE TABLE "PUBLIC"."PROGRAM"(
+    "PROGRAM_CODE" INTEGER NOT NULL,
+    "PROGRAM_NAME" CHARACTER VARYING(255)
+);
+ALTER TABLE "PUBLIC"."PROGRAM" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_1" PRIMARY KEY("PROGRAM_CODE");
+
+CREATE TABLE "PUBLIC"."ROOM"(
+    "ROOM_NO" INTEGER NOT NULL,
+    "NUM_ROW" INTEGER NOT NULL,
+    "ROOM_COLUMN" INTEGER NOT NULL,
+    "SEATS_PER_BENCH" INTEGER NOT NULL
+);
+ALTER TABLE "PUBLIC"."ROOM" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_26" PRIMARY KEY("ROOM_NO");
+
+CREATE TABLE "PUBLIC"."SEATING_PLAN"(
+    "ID" INTEGER GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "COLUMN_NUMBER" INTEGER,
+    "EXAM_ID" INTEGER,
+    "PROGRAM_CODE" CHARACTER VARYING(255),
+    "ROLL" INTEGER,
+    "ROOM_ID" CHARACTER VARYING(255),
+    "ROW_NUMBER" INTEGER,
+    "SEAT_INDEX" INTEGER,
+    "SEMESTER" INTEGER
+);
+ALTER TABLE "PUBLIC"."SEATING_PLAN" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_8" PRIMARY KEY("ID");
+
+CREATE TABLE "PUBLIC"."STUDENT"(
+    "STUDENT_ID" INTEGER GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "ROLL" INTEGER NOT NULL,
+    "SEMESTER" ENUM('EIGHTH', 'FIFTH', 'FIRST', 'FOURTH', 'SECOND', 'SEVENTH', 'SIXTH', 'THIRD'),
+    "PROGRAM_CODE" INTEGER
+);
+ALTER TABLE "PUBLIC"."STUDENT" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_B" PRIMARY KEY("STUDENT_ID");
+ALTER TABLE "PUBLIC"."EXAM_ROOMS" ADD CONSTRAINT "PUBLIC"."FKG31DBBRIJI9F96X0DK6ITNWU9" FOREIGN KEY("EXAM_ID") REFERENCES "PUBLIC"."EXAM"("EXAM_ID");
+ALTER TABLE "PUBLIC"."STUDENT" ADD CONSTRAINT "PUBLIC"."FKRH0WCY6IA6RN23FIW4YQD2RMN" FOREIGN KEY("PROGRAM_CODE") REFERENCES "PUBLIC"."PROGRAM"("PROGRAM_CODE");
+ALTER TABLE "PUBLIC"."EXAM_PROGRAM_SEMESTERS" ADD CONSTRAINT "PUBLIC"."FKFMTUIGD08BX57ABV24SQBRNVM" FOREIGN KEY("EXAM_ID") REFERENCES "PUBLIC"."EXAM"("EXAM_ID");
+ALTER TABLE "PUBLIC"."EXAM_PROGRAM_SEMESTERS" ADD CONSTRAINT "PUBLIC"."FKDGCLD8YA7WW6BL39GV2YN7JA9" FOREIGN KEY("PROGRAM_CODE") REFERENCES "PUBLIC"."PROGRAM"("PROGRAM_CODE");
+ALTER TABLE "PUBLIC"."EXAM_ROOMS" ADD CONSTRAINT "PUBLIC"."FKB132HXXILMKX5CMNB6ESNYEOI" FOREIGN KEY("ROOM_NO") REFERENCES "PUBLIC"."ROOM"("ROOM_NO");